@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el22;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.el.ELContext;
+import javax.el.ELException;
+import javax.el.ELResolver;
+import javax.el.ExpressionFactory;
+import javax.el.PropertyNotFoundException;
+import javax.el.VariableMapper;
+
+/**
+ * Opt-in accelerated evaluation of simple property chains like <code>#{bean.address.street}</code>
+ * whose root is a CDI bean. The root gets resolved via the {@link WebBeansELResolver},
+ * the properties then get read via generated {@link PropertyAccessor}s
+ * instead of the reflective BeanELResolver of the EL implementation.
+ *
+ * <p>
+ * All other expressions, e.g. expressions whose root is not a CDI bean name, are evaluated
+ * by the wrapped EL implementation as usual. If the properties of a CDI bean cannot be compiled
+ * the already resolved root gets passed to the ELResolver of the ELContext and the
+ * {@link PropertyChain} remembers this, further evaluations go to the EL implementation directly.
+ * </p>
+ *
+ * <p>
+ * Note that the root name is resolved as CDI bean name even if another ELResolver
+ * of the ELContext would have resolved it before the WebBeansELResolver.
+ * </p>
+ *
+ * @see WrappedExpressionFactory#COMPILED_PROPERTY_ACCESS
+ */
+public class CompiledPropertyAccess
+{
+    /**
+     * Returned by {@link PropertyChain#getValue(ELContext, Class)} if the expression
+     * must get evaluated by the EL implementation.
+     */
+    public static final Object NOT_HANDLED = new Object();
+
+    private static final String IDENTIFIER = "\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*";
+
+    private static final Pattern PROPERTY_CHAIN
+        = Pattern.compile("[#$]\\{\\s*(" + IDENTIFIER + "(?:\\s*\\.\\s*" + IDENTIFIER + ")+)\\s*\\}");
+
+    private final ExpressionFactory expressionFactory;
+    private final PropertyAccessorFactory accessorFactory = new PropertyAccessorFactory();
+    private final WebBeansELResolver beanResolver = new WebBeansELResolver();
+
+    public CompiledPropertyAccess(ExpressionFactory expressionFactory)
+    {
+        this.expressionFactory = expressionFactory;
+    }
+
+    /**
+     * @param expression the expression string
+     * @return the root name followed by all properties or <code>null</code> if the
+     *         expression is not a simple property chain
+     */
+    public static String[] parse(String expression)
+    {
+        if (expression == null)
+        {
+            return null;
+        }
+
+        Matcher matcher = PROPERTY_CHAIN.matcher(expression);
+        if (!matcher.matches())
+        {
+            return null;
+        }
+
+        String[] chain = matcher.group(1).split("\\.");
+        for (int i = 0; i < chain.length; i++)
+        {
+            chain[i] = chain[i].trim();
+        }
+        return chain;
+    }
+
+    /**
+     * @param expression the expression string
+     * @return the chain to evaluate the expression with or <code>null</code> if the
+     *         expression is not a simple property chain
+     */
+    public PropertyChain createPropertyChain(String expression)
+    {
+        String[] chain = parse(expression);
+        if (chain == null)
+        {
+            return null;
+        }
+
+        String[] properties = new String[chain.length - 1];
+        System.arraycopy(chain, 1, properties, 0, properties.length);
+        return new PropertyChain(chain[0], properties);
+    }
+
+    /**
+     * A parsed property chain of a single expression.
+     */
+    public final class PropertyChain
+    {
+        private final String rootName;
+        private final String[] properties;
+
+        /**
+         * Set once the properties of the root bean turned out to be not compilable.
+         * It doesn't matter if it gets set concurrently.
+         */
+        private volatile boolean notCompilable;
+
+        private PropertyChain(String rootName, String[] properties)
+        {
+            this.rootName = rootName;
+            this.properties = properties;
+        }
+
+        /**
+         * @param context the current ELContext
+         * @param expectedType the type the result gets coerced to, may be <code>null</code>
+         * @return the value or {@link CompiledPropertyAccess#NOT_HANDLED}
+         */
+        public Object getValue(ELContext context, Class<?> expectedType)
+        {
+            if (notCompilable)
+            {
+                return NOT_HANDLED;
+            }
+
+            VariableMapper variableMapper = context.getVariableMapper();
+            if (variableMapper != null && variableMapper.resolveVariable(rootName) != null)
+            {
+                return NOT_HANDLED;
+            }
+
+            ELResolver elResolver = context.getELResolver();
+            if (elResolver == null)
+            {
+                return NOT_HANDLED;
+            }
+
+            // only CDI beans get handled, all other names are left to the EL implementation
+            context.setPropertyResolved(false);
+            Object value = beanResolver.getValue(context, null, rootName);
+            if (!context.isPropertyResolved() || value == null)
+            {
+                return NOT_HANDLED;
+            }
+
+            PropertyAccessor[] accessors = accessorFactory.getAccessors(value.getClass(), properties);
+            if (accessors == null)
+            {
+                notCompilable = true;
+
+                // the root got already resolved, don't let the EL implementation resolve it again
+                value = resolveProperties(context, elResolver, value);
+            }
+            else
+            {
+                value = invokeAccessors(accessors, value);
+            }
+
+            if (expectedType != null)
+            {
+                value = expressionFactory.coerceToType(value, expectedType);
+            }
+            return value;
+        }
+
+        private Object invokeAccessors(PropertyAccessor[] accessors, Object root)
+        {
+            Object value = root;
+            try
+            {
+                for (int i = 0; i < accessors.length && value != null; i++)
+                {
+                    value = accessors[i].getValue(value);
+                }
+            }
+            catch (ELException e)
+            {
+                throw e;
+            }
+            catch (RuntimeException e)
+            {
+                throw new ELException(e);
+            }
+            return value;
+        }
+
+        private Object resolveProperties(ELContext context, ELResolver elResolver, Object root)
+        {
+            Object value = root;
+            for (int i = 0; i < properties.length && value != null; i++)
+            {
+                Object base = value;
+                context.setPropertyResolved(false);
+                value = elResolver.getValue(context, base, properties[i]);
+                if (!context.isPropertyResolved())
+                {
+                    throw new PropertyNotFoundException("Property '" + properties[i] + "' not found on type "
+                                                        + base.getClass().getName());
+                }
+            }
+            return value;
+        }
+    }
+}
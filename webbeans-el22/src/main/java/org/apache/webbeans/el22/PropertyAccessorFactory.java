@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el22;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.exception.ProxyGenerationException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.proxy.OwbInterceptorProxy;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.proxy.Unsafe;
+import org.apache.xbean.asm7.ClassWriter;
+import org.apache.xbean.asm7.MethodVisitor;
+import org.apache.xbean.asm7.Opcodes;
+import org.apache.xbean.asm7.Type;
+
+/**
+ * Generates and caches {@link PropertyAccessor}s for simple property chains
+ * like <code>#{bean.address.street}</code>.
+ *
+ * <p>
+ * For each (class, property) pair a tiny class gets generated which directly invokes
+ * the getter. Whole chains get cached per (root class, property chain). Chains which
+ * cannot be compiled, e.g. because a property is not a public JavaBean getter or
+ * the intermediate type is a Map, List, array or ResourceBundle, get cached as well
+ * and are left to the EL implementation.
+ * </p>
+ */
+public class PropertyAccessorFactory
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(PropertyAccessorFactory.class);
+
+    private static final String ACCESSOR_SUFFIX = "$$OwbELAccessor$";
+
+    /**
+     * marker for chains which cannot be compiled
+     */
+    private static final PropertyAccessor[] NOT_COMPILABLE = new PropertyAccessor[0];
+
+    private final Unsafe unsafe = new Unsafe();
+
+    private final ConcurrentMap<ChainKey, PropertyAccessor[]> chains = new ConcurrentHashMap<>();
+
+    /**
+     * @param rootClass the runtime class of the root object
+     * @param properties the property chain
+     * @return the accessors for each property or <code>null</code> if the chain cannot be compiled
+     */
+    public PropertyAccessor[] getAccessors(Class<?> rootClass, String[] properties)
+    {
+        ChainKey key = new ChainKey(rootClass, properties);
+        PropertyAccessor[] accessors = chains.get(key);
+        if (accessors == null)
+        {
+            accessors = compile(rootClass, properties);
+            PropertyAccessor[] old = chains.putIfAbsent(key, accessors);
+            if (old != null)
+            {
+                accessors = old;
+            }
+        }
+
+        return accessors == NOT_COMPILABLE ? null : accessors;
+    }
+
+    private PropertyAccessor[] compile(Class<?> rootClass, String[] properties)
+    {
+        PropertyAccessor[] accessors = new PropertyAccessor[properties.length];
+        Class<?> type = rootClass;
+        for (int i = 0; i < properties.length; i++)
+        {
+            if (!isBeanType(type))
+            {
+                return NOT_COMPILABLE;
+            }
+
+            Method getter = findGetter(type, properties[i]);
+            if (getter == null)
+            {
+                return NOT_COMPILABLE;
+            }
+
+            try
+            {
+                accessors[i] = createAccessor(getter.getDeclaringClass().isInterface() ? getter.getDeclaringClass() : ownerClass(type),
+                                              getter, properties[i]);
+            }
+            catch (ProxyGenerationException | LinkageError | ReflectiveOperationException | ClassCastException e)
+            {
+                if (logger.isLoggable(Level.FINE))
+                {
+                    logger.log(Level.FINE, "Cannot compile EL property " + properties[i] + " of " + type.getName(), e);
+                }
+                return NOT_COMPILABLE;
+            }
+
+            type = getter.getReturnType();
+        }
+
+        return accessors;
+    }
+
+    /**
+     * Properties of those types are handled by other ELResolvers than the BeanELResolver.
+     */
+    private boolean isBeanType(Class<?> type)
+    {
+        return !type.isPrimitive() && !type.isArray()
+                && !Map.class.isAssignableFrom(type)
+                && !List.class.isAssignableFrom(type)
+                && !ResourceBundle.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @return the first public class in the hierarchy which is not an OWB proxy
+     */
+    private Class<?> ownerClass(Class<?> type)
+    {
+        Class<?> owner = type;
+        while (owner != null && (!Modifier.isPublic(owner.getModifiers())
+                                 || OwbNormalScopeProxy.class.isAssignableFrom(owner)
+                                 || OwbInterceptorProxy.class.isAssignableFrom(owner)))
+        {
+            owner = owner.getSuperclass();
+        }
+        return owner;
+    }
+
+    private Method findGetter(Class<?> type, String property)
+    {
+        Class<?> owner = type.isInterface() ? type : ownerClass(type);
+        if (owner == null)
+        {
+            return null;
+        }
+
+        String capitalized = capitalize(property);
+        Method getter = findPublicMethod(owner, "is" + capitalized);
+        if (getter == null || getter.getReturnType() != boolean.class)
+        {
+            getter = findPublicMethod(owner, "get" + capitalized);
+        }
+
+        if (getter == null || getter.getReturnType() == void.class || Modifier.isStatic(getter.getModifiers())
+            || !Modifier.isPublic(getter.getDeclaringClass().getModifiers()))
+        {
+            return null;
+        }
+        return getter;
+    }
+
+    private Method findPublicMethod(Class<?> type, String name)
+    {
+        try
+        {
+            return type.getMethod(name);
+        }
+        catch (NoSuchMethodException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * JavaBeans capitalization, a property 'URL' is read via 'getURL'.
+     */
+    private String capitalize(String property)
+    {
+        if (property.length() > 1 && Character.isUpperCase(property.charAt(1)))
+        {
+            return property;
+        }
+        return Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    }
+
+    private PropertyAccessor createAccessor(Class<?> owner, Method getter, String property)
+            throws ReflectiveOperationException, ProxyGenerationException
+    {
+        ClassLoader classLoader = owner.getClassLoader();
+        if (classLoader == null)
+        {
+            classLoader = PropertyAccessor.class.getClassLoader();
+        }
+
+        String accessorClassName = fixPreservedPackages(owner.getName() + ACCESSOR_SUFFIX + property);
+
+        Class<?> accessorClass;
+        try
+        {
+            // maybe another factory in the same ClassLoader already created it
+            accessorClass = Class.forName(accessorClassName, true, classLoader);
+        }
+        catch (ClassNotFoundException cnfe)
+        {
+            accessorClass = unsafe.defineAndLoadClass(classLoader, accessorClassName,
+                    generateAccessor(accessorClassName.replace('.', '/'), owner, getter));
+        }
+
+        if (!PropertyAccessor.class.isAssignableFrom(accessorClass))
+        {
+            // the ClassLoader of the owner does not see our PropertyAccessor
+            throw new ClassCastException(accessorClass.getName() + " is not a " + PropertyAccessor.class.getName());
+        }
+        return (PropertyAccessor) accessorClass.getConstructor().newInstance();
+    }
+
+    private String fixPreservedPackages(String className)
+    {
+        if (className.startsWith("java.") || className.startsWith("javax.") || className.startsWith("sun."))
+        {
+            return "org.apache.webbeans.custom." + className;
+        }
+        return className;
+    }
+
+    private byte[] generateAccessor(String accessorClassFileName, Class<?> owner, Method getter)
+    {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC + Opcodes.ACC_FINAL + Opcodes.ACC_SUPER + Opcodes.ACC_SYNTHETIC,
+                accessorClassFileName, null, Type.getInternalName(Object.class),
+                new String[]{Type.getInternalName(PropertyAccessor.class)});
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        String ownerName = Type.getInternalName(owner);
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "getValue",
+                Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(Object.class)), null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, ownerName);
+        mv.visitMethodInsn(owner.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL,
+                ownerName, getter.getName(), Type.getMethodDescriptor(getter), owner.isInterface());
+
+        Class<?> returnType = getter.getReturnType();
+        if (returnType.isPrimitive())
+        {
+            Type wrapperType = Type.getType(wrapperType(returnType));
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapperType.getInternalName(), "valueOf",
+                    Type.getMethodDescriptor(wrapperType, Type.getType(returnType)), false);
+        }
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private Class<?> wrapperType(Class<?> primitive)
+    {
+        if (primitive == int.class)
+        {
+            return Integer.class;
+        }
+        if (primitive == boolean.class)
+        {
+            return Boolean.class;
+        }
+        if (primitive == long.class)
+        {
+            return Long.class;
+        }
+        if (primitive == double.class)
+        {
+            return Double.class;
+        }
+        if (primitive == float.class)
+        {
+            return Float.class;
+        }
+        if (primitive == char.class)
+        {
+            return Character.class;
+        }
+        if (primitive == short.class)
+        {
+            return Short.class;
+        }
+        if (primitive == byte.class)
+        {
+            return Byte.class;
+        }
+        throw new IllegalStateException("Type: " + primitive.getName() + " is not a primitive type");
+    }
+
+    private static final class ChainKey
+    {
+        private final Class<?> rootClass;
+        private final String[] properties;
+        private final int hashCode;
+
+        private ChainKey(Class<?> rootClass, String[] properties)
+        {
+            this.rootClass = rootClass;
+            this.properties = properties;
+
+            int hash = rootClass.hashCode();
+            for (String property : properties)
+            {
+                hash = 31 * hash + property.hashCode();
+            }
+            hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof ChainKey))
+            {
+                return false;
+            }
+            ChainKey other = (ChainKey) o;
+            return rootClass == other.rootClass && Arrays.equals(properties, other.properties);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -31,7 +31,11 @@ import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
 import java.beans.FeatureDescriptor;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -55,6 +59,14 @@ public class WebBeansELResolver extends ELResolver
 {
     private WebBeansContext webBeansContext;
 
+    /**
+     * Immutable index of all EL names to their resolved {@link Bean}.
+     * It gets built once the container finished its deployment. A name which is
+     * not contained is not a CDI name and gets rejected without touching the
+     * {@link ELContextStore} or the BeanManager.
+     */
+    private volatile Map<String, Bean<?>> beanNameIndex;
+
     public WebBeansELResolver()
     {
         webBeansContext = WebBeansContext.getInstance();
@@ -105,8 +117,20 @@ public class WebBeansELResolver extends ELResolver
         //Name of the bean
         String beanName = (String) property;
 
+        Bean<?> bean = null;
+        Map<String, Bean<?>> names = getBeanNameIndex(beanManager);
+        if (names != null)
+        {
+            bean = names.get(beanName);
+            if (bean == null)
+            {
+                // not a CDI name, leave it to the other resolvers
+                return null;
+            }
+        }
+
         //Local store, create if not exist
-        ELContextStore elContextStore = ELContextStore.getInstance(true);
+        ELContextStore elContextStore = ELContextStore.getInstance(webBeansContext, true);
 
         Object contextualInstance = elContextStore.findBeanByName(beanName);
 
@@ -117,26 +141,61 @@ public class WebBeansELResolver extends ELResolver
             return contextualInstance;
         }
 
-        //Get beans
-        Set<Bean<?>> beans = beanManager.getBeans(beanName);
-
-        //Found?
-        if(beans != null && !beans.isEmpty())
+        if (bean == null)
         {
+            //Get beans
+            Set<Bean<?>> beans = beanManager.getBeans(beanName);
+
+            //Found?
+            if (beans == null || beans.isEmpty())
+            {
+                return null;
+            }
+
             //Managed bean
-            Bean<?> bean = beanManager.resolve(beans);
+            bean = beanManager.resolve(beans);
+        }
 
-            if(bean.getScope().equals(Dependent.class))
+        if(bean.getScope().equals(Dependent.class))
+        {
+            contextualInstance = getDependentContextualInstance(beanManager, elContextStore, context, bean);
+        }
+        else
+        {
+            // now we check for NormalScoped beans
+            contextualInstance = getNormalScopedContextualInstance(beanManager, elContextStore, context, bean, beanName);
+        }
+        return contextualInstance;
+    }
+
+    /**
+     * @return the index of EL names to resolved beans or <code>null</code> if the
+     *         container did not yet finish the deployment.
+     */
+    private Map<String, Bean<?>> getBeanNameIndex(BeanManagerImpl beanManager)
+    {
+        Map<String, Bean<?>> names = beanNameIndex;
+        if (names == null && beanManager.isAfterDeploymentValidationFired())
+        {
+            Set<String> beanNames = new HashSet<>();
+            for (Bean<?> bean : beanManager.getBeans())
             {
-                contextualInstance = getDependentContextualInstance(beanManager, elContextStore, context, bean);
+                if (bean.getName() != null)
+                {
+                    beanNames.add(bean.getName());
+                }
             }
-            else
+
+            names = new HashMap<>(beanNames.size() * 2);
+            for (String beanName : beanNames)
             {
-                // now we check for NormalScoped beans
-                contextualInstance = getNormalScopedContextualInstance(beanManager, elContextStore, context, bean, beanName);
+                // ambiguous EL names are a deployment error, so this always resolves
+                names.put(beanName, beanManager.resolve(beanManager.getBeans(beanName)));
             }
+            names = Collections.unmodifiableMap(names);
+            beanNameIndex = names;
         }
-        return contextualInstance;
+        return names;
     }
 
     protected Object getNormalScopedContextualInstance(BeanManagerImpl manager, ELContextStore store, ELContext context, Bean<?> bean, String beanName)
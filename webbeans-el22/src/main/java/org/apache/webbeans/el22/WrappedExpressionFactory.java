@@ -24,13 +24,38 @@ import javax.el.ExpressionFactory;
 import javax.el.MethodExpression;
 import javax.el.ValueExpression;
 
+import org.apache.webbeans.config.WebBeansContext;
+
 public class WrappedExpressionFactory extends ExpressionFactory
 {
+    /**
+     * If set to <code>true</code> simple property chains like <code>#{bean.address.street}</code>
+     * whose root is a CDI bean get evaluated via generated accessors instead of the
+     * reflective BeanELResolver of the EL implementation.
+     * Default is <code>false</code>.
+     */
+    public static final String COMPILED_PROPERTY_ACCESS = "org.apache.webbeans.el22.compiledPropertyAccess";
+
     private ExpressionFactory expressionFactory;
 
+    private WebBeansContext webBeansContext;
+
+    private CompiledPropertyAccess compiledPropertyAccess;
+
     public WrappedExpressionFactory(ExpressionFactory expressionFactory)
+    {
+        this(expressionFactory, Boolean.parseBoolean(WebBeansContext.getInstance().getOpenWebBeansConfiguration()
+                .getProperty(COMPILED_PROPERTY_ACCESS)));
+    }
+
+    public WrappedExpressionFactory(ExpressionFactory expressionFactory, boolean compiledPropertyAccess)
     {
         this.expressionFactory = expressionFactory;
+        webBeansContext = WebBeansContext.getInstance();
+        if (compiledPropertyAccess)
+        {
+            this.compiledPropertyAccess = new CompiledPropertyAccess(expressionFactory);
+        }
     }
     
     @Override
@@ -42,7 +67,7 @@ public class WrappedExpressionFactory extends ExpressionFactory
     @Override
     public MethodExpression createMethodExpression(ELContext arg0, String arg1, Class<?> arg2, Class<?>[] arg3) throws ELException, NullPointerException
     {
-        return new WrappedMethodExpression(expressionFactory.createMethodExpression(arg0, arg1, arg2, arg3));
+        return new WrappedMethodExpression(expressionFactory.createMethodExpression(arg0, arg1, arg2, arg3), webBeansContext);
     }
 
     @Override
@@ -58,6 +83,6 @@ public class WrappedExpressionFactory extends ExpressionFactory
     {   
         ValueExpression wrapped = expressionFactory.createValueExpression(arg0, arg1, arg2);
                 
-        return new WrappedValueExpression(wrapped);
+        return new WrappedValueExpression(wrapped, webBeansContext, compiledPropertyAccess);
     }
 }
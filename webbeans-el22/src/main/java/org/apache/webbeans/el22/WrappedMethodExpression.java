@@ -18,6 +18,7 @@
  */
 package org.apache.webbeans.el22;
 
+import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.el.ELContextStore;
 
 import javax.el.ELContext;
@@ -29,11 +30,22 @@ public class WrappedMethodExpression extends MethodExpression
 {
     private final MethodExpression delegate;
 
+    private transient WebBeansContext webBeansContext;
+
     public WrappedMethodExpression(MethodExpression methodExpression)
     {
         delegate = methodExpression;
     }
 
+    /**
+     * @param webBeansContext used to lookup the ELContextStore of the current request
+     */
+    public WrappedMethodExpression(MethodExpression methodExpression, WebBeansContext webBeansContext)
+    {
+        this(methodExpression);
+        this.webBeansContext = webBeansContext;
+    }
+
     @Override
     public MethodInfo getMethodInfo(ELContext context)
             throws NullPointerException, ELException
@@ -51,7 +63,12 @@ public class WrappedMethodExpression extends MethodExpression
         }
         finally
         {
-            ELContextStore store = ELContextStore.getInstance(false);
+            if (webBeansContext == null)
+            {
+                // not passed in or got deserialized, look it up only once
+                webBeansContext = WebBeansContext.currentInstance();
+            }
+            ELContextStore store = ELContextStore.getInstance(webBeansContext, false);
             if (store != null)
             {
                 store.destroyDependents();
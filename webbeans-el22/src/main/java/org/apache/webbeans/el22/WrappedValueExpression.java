@@ -23,6 +23,7 @@ import javax.el.ELException;
 import javax.el.ValueExpression;
 import javax.el.ValueReference;
 
+import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.el.ELContextStore;
 
 public class WrappedValueExpression extends ValueExpression
@@ -30,11 +31,30 @@ public class WrappedValueExpression extends ValueExpression
     private static final long serialVersionUID = 1L;
 
     private ValueExpression valueExpression;
-    
+
+    private transient WebBeansContext webBeansContext;
+    private transient CompiledPropertyAccess.PropertyChain propertyChain;
+
     public WrappedValueExpression(ValueExpression valueExpression)
     {
         this.valueExpression = valueExpression;
     }
+
+    /**
+     * @param webBeansContext used to lookup the ELContextStore of the current request
+     * @param compiledPropertyAccess if not <code>null</code> simple property chains
+     *                               on CDI beans get evaluated via compiled accessors
+     */
+    public WrappedValueExpression(ValueExpression valueExpression, WebBeansContext webBeansContext,
+                                  CompiledPropertyAccess compiledPropertyAccess)
+    {
+        this(valueExpression);
+        this.webBeansContext = webBeansContext;
+        if (compiledPropertyAccess != null)
+        {
+            propertyChain = compiledPropertyAccess.createPropertyChain(valueExpression.getExpressionString());
+        }
+    }
     
     
 
@@ -65,13 +85,26 @@ public class WrappedValueExpression extends ValueExpression
         Object value = null;
         try
         {
-           value = valueExpression.getValue(context);
-            
+            if (propertyChain != null)
+            {
+                value = propertyChain.getValue(context, valueExpression.getExpectedType());
+                if (value != CompiledPropertyAccess.NOT_HANDLED)
+                {
+                    return value;
+                }
+            }
+
+            value = valueExpression.getValue(context);
         }
         finally
         {
             //Destroy dependent store
-            ELContextStore store = ELContextStore.getInstance(false);
+            if (webBeansContext == null)
+            {
+                // not passed in or got deserialized, look it up only once
+                webBeansContext = WebBeansContext.currentInstance();
+            }
+            ELContextStore store = ELContextStore.getInstance(webBeansContext, false);
             if(store != null)
             {
                 store.destroyDependents();
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el.test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.el.BeanELResolver;
+import javax.el.CompositeELResolver;
+import javax.el.ELContext;
+import javax.el.ExpressionFactory;
+import javax.el.MapELResolver;
+import javax.el.ValueExpression;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.inject.Named;
+
+import org.apache.el.ExpressionFactoryImpl;
+import org.apache.webbeans.el.ELContextStore;
+import org.apache.webbeans.el22.CompiledPropertyAccess;
+import org.apache.webbeans.el22.WebBeansELResolver;
+import org.apache.webbeans.el22.WrappedExpressionFactory;
+import org.apache.webbeans.spi.ContextsService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompiledPropertyAccessTest extends AbstractUnitTest
+{
+    private CountingWebBeansELResolver rootResolver;
+    private CountingBeanELResolver beanResolver;
+    private ELContext elContext;
+
+    @Before
+    public void start()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        classes.add(MapBean.class);
+        startContainer(classes);
+
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        contextsService.startContext(RequestScoped.class, null);
+        contextsService.startContext(SessionScoped.class, null);
+
+        rootResolver = new CountingWebBeansELResolver();
+        beanResolver = new CountingBeanELResolver();
+        CompositeELResolver elResolver = new CompositeELResolver();
+        elResolver.add(rootResolver);
+        elResolver.add(new CustomRootELResolver());
+        elResolver.add(new MapELResolver());
+        elResolver.add(beanResolver);
+        elContext = new MockELContext(elResolver);
+    }
+
+    @After
+    public void stop()
+    {
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        contextsService.endContext(RequestScoped.class, null);
+        contextsService.endContext(SessionScoped.class, null);
+        ELContextStore store = ELContextStore.getInstance(false);
+        if (store != null)
+        {
+            store.destroyELContextStore();
+        }
+        shutDownContainer();
+    }
+
+    @Test
+    public void testCompiledAccessDoesNotUseTheBeanELResolver()
+    {
+        ExpressionFactory compiled = new WrappedExpressionFactory(new ExpressionFactoryImpl(), true);
+
+        Assert.assertEquals(121, compiled.createValueExpression(elContext, "#{sampleBean.x}", Object.class).getValue(elContext));
+        Assert.assertEquals(323, compiled.createValueExpression(elContext, "#{sampleBean.rb.y}", Object.class).getValue(elContext));
+        Assert.assertEquals("323", compiled.createValueExpression(elContext, "#{sampleBean.rb.y}", String.class).getValue(elContext));
+        Assert.assertEquals(0, beanResolver.propertyReads);
+        Assert.assertEquals(0, rootResolver.rootResolutions);
+    }
+
+    @Test
+    public void testReflectiveAccessUsesTheBeanELResolver()
+    {
+        ExpressionFactory reflective = new WrappedExpressionFactory(new ExpressionFactoryImpl(), false);
+
+        Assert.assertEquals(323, reflective.createValueExpression(elContext, "#{sampleBean.rb.y}", Object.class).getValue(elContext));
+        Assert.assertEquals(2, beanResolver.propertyReads);
+    }
+
+    @Test
+    public void testRootResolvedByCustomELResolverIsNotHandled()
+    {
+        ExpressionFactory compiled = new WrappedExpressionFactory(new ExpressionFactoryImpl(), true);
+
+        // only CDI beans are handled, all other roots are left to the EL implementation
+        Assert.assertEquals("Main Street", compiled.createValueExpression(elContext, "#{custom.street}", Object.class).getValue(elContext));
+        Assert.assertEquals(1, beanResolver.propertyReads);
+    }
+
+    @Test
+    public void testFallbackForNotCompilableChains()
+    {
+        ExpressionFactory compiled = new WrappedExpressionFactory(new ExpressionFactoryImpl(), true);
+        ValueExpression expression = compiled.createValueExpression(elContext, "#{mapBean.values.a}", Object.class);
+
+        // Map properties are resolved by the MapELResolver, the already resolved root gets reused
+        Assert.assertEquals("b", expression.getValue(elContext));
+        Assert.assertEquals(1, beanResolver.propertyReads);
+        Assert.assertEquals(0, rootResolver.rootResolutions);
+
+        // the expression remembers that it is not compilable and goes to the EL implementation directly
+        Assert.assertEquals("b", expression.getValue(elContext));
+        Assert.assertEquals(2, beanResolver.propertyReads);
+        Assert.assertEquals(1, rootResolver.rootResolutions);
+    }
+
+    @Test
+    public void testUnresolvableRootIsNotHandled()
+    {
+        CompiledPropertyAccess access = new CompiledPropertyAccess(new ExpressionFactoryImpl());
+
+        Assert.assertNull(access.createPropertyChain("#{sampleBean}"));
+        Assert.assertSame(CompiledPropertyAccess.NOT_HANDLED, access.createPropertyChain("#{unknown.x}").getValue(elContext, null));
+        Assert.assertSame(CompiledPropertyAccess.NOT_HANDLED, access.createPropertyChain("#{custom.street}").getValue(elContext, null));
+        Assert.assertSame(CompiledPropertyAccess.NOT_HANDLED, access.createPropertyChain("#{sampleBean.x}").getValue(new MockELContext(), null));
+        Assert.assertEquals(121, access.createPropertyChain("#{sampleBean.x}").getValue(elContext, null));
+    }
+
+
+    public static class Address
+    {
+        public String getStreet()
+        {
+            return "Main Street";
+        }
+    }
+
+    @Named("mapBean")
+    @RequestScoped
+    public static class MapBean
+    {
+        public Map<String, String> getValues()
+        {
+            return Collections.singletonMap("a", "b");
+        }
+    }
+
+    private static class CustomRootELResolver extends BeanELResolver
+    {
+        private final Address address = new Address();
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property)
+        {
+            if (base == null && "custom".equals(property))
+            {
+                context.setPropertyResolved(true);
+                return address;
+            }
+            return null;
+        }
+    }
+
+    private static class CountingWebBeansELResolver extends WebBeansELResolver
+    {
+        private int rootResolutions;
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property)
+        {
+            Object value = super.getValue(context, base, property);
+            if (context.isPropertyResolved())
+            {
+                rootResolutions++;
+            }
+            return value;
+        }
+    }
+
+    private static class CountingBeanELResolver extends BeanELResolver
+    {
+        private int propertyReads;
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property)
+        {
+            if (base != null)
+            {
+                propertyReads++;
+            }
+            return super.getValue(context, base, property);
+        }
+    }
+}
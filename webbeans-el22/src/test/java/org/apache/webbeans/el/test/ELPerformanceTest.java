@@ -25,14 +25,22 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.el.ExpressionFactoryImpl;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.el22.WebBeansELResolver;
+import org.apache.webbeans.el22.WrappedExpressionFactory;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.ContextsService;
 import org.junit.Assert;
+import org.junit.Ignore;
 import org.junit.Test;
 
+import javax.el.BeanELResolver;
+import javax.el.CompositeELResolver;
 import javax.el.ELContext;
+import javax.el.ExpressionFactory;
+import javax.el.ValueExpression;
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.SessionScoped;
 
@@ -41,6 +49,9 @@ public class ELPerformanceTest extends AbstractUnitTest
     private static final int THREADS = 100;
     private static final int ITERATIONS = 200;
 
+    private static final int BENCHMARK_WARMUP = 20000;
+    private static final int BENCHMARK_ITERATIONS = 200000;
+
 
     private static Logger logger = WebBeansLoggerFacade.getLogger(ELPerformanceTest.class);
 
@@ -82,6 +93,84 @@ public class ELPerformanceTest extends AbstractUnitTest
         
         shutDownContainer();
     }
+
+    /**
+     * Compares the reflective property access of the EL implementation
+     * with the compiled property access of our WrappedValueExpression.
+     */
+    @Test
+    @Ignore("only for manual performance testing and debugging")
+    public void testCompiledPropertyAccess() throws Exception
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        startContainer(classes);
+
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        contextsService.startContext(RequestScoped.class, null);
+        contextsService.startContext(SessionScoped.class, null);
+
+        try
+        {
+            CompositeELResolver elResolver = new CompositeELResolver();
+            elResolver.add(new WebBeansELResolver());
+            elResolver.add(new BeanELResolver());
+            ELContext elContext = new MockELContext(elResolver);
+
+            ExpressionFactory elImpl = new ExpressionFactoryImpl();
+            ValueExpression[] reflective = createExpressions(new WrappedExpressionFactory(elImpl, false), elContext);
+            ValueExpression[] compiled = createExpressions(new WrappedExpressionFactory(elImpl, true), elContext);
+
+            for (int i = 0; i < reflective.length; i++)
+            {
+                Assert.assertEquals(reflective[i].getValue(elContext), compiled[i].getValue(elContext));
+            }
+
+            benchmark(reflective, elContext, BENCHMARK_WARMUP);
+            benchmark(compiled, elContext, BENCHMARK_WARMUP);
+
+            long reflectiveTime = benchmark(reflective, elContext, BENCHMARK_ITERATIONS);
+            long compiledTime = benchmark(compiled, elContext, BENCHMARK_ITERATIONS);
+
+            logger.log(Level.INFO, "Evaluating {0} expressions took {1} ns via reflection and {2} ns via compiled property access",
+                    WebBeansLoggerFacade.args(BENCHMARK_ITERATIONS * reflective.length, reflectiveTime, compiledTime));
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, null);
+            contextsService.endContext(SessionScoped.class, null);
+            ELContextStore store = ELContextStore.getInstance(false);
+            if (store != null)
+            {
+                store.destroyELContextStore();
+            }
+            shutDownContainer();
+        }
+    }
+
+    private ValueExpression[] createExpressions(ExpressionFactory expressionFactory, ELContext elContext)
+    {
+        return new ValueExpression[]
+        {
+            expressionFactory.createValueExpression(elContext, "#{sampleBean.x}", Object.class),
+            expressionFactory.createValueExpression(elContext, "#{sampleBean.rb.y}", Object.class),
+            expressionFactory.createValueExpression(elContext, "#{sampleBean.rb.y}", String.class)
+        };
+    }
+
+    private long benchmark(ValueExpression[] expressions, ELContext elContext, int iterations)
+    {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+        {
+            for (ValueExpression expression : expressions)
+            {
+                Assert.assertNotNull(expression.getValue(elContext));
+            }
+        }
+        return System.nanoTime() - start;
+    }
     
     private static class ParallelBeanStarter extends Thread
     {
@@ -25,11 +25,22 @@ import javax.el.VariableMapper;
 
 public class MockELContext extends ELContext
 {
+    private final ELResolver elResolver;
+
+    public MockELContext()
+    {
+        this(null);
+    }
+
+    public MockELContext(ELResolver elResolver)
+    {
+        this.elResolver = elResolver;
+    }
 
     @Override
     public ELResolver getELResolver()
     {
-        return null;
+        return elResolver;
     }
 
     @Override
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el.test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.el.ELContext;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+
+import org.apache.webbeans.el.ELContextStore;
+import org.apache.webbeans.el22.WebBeansELResolver;
+import org.apache.webbeans.spi.ContextsService;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WebBeansELResolverTest extends AbstractUnitTest
+{
+    @Test
+    public void testNameResolution()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        startContainer(classes);
+
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        contextsService.startContext(RequestScoped.class, null);
+        contextsService.startContext(SessionScoped.class, null);
+        try
+        {
+            WebBeansELResolver resolver = new WebBeansELResolver();
+
+            ELContext elContext = new MockELContext();
+            Assert.assertNull(resolver.getValue(elContext, null, "facesContext"));
+            Assert.assertFalse(elContext.isPropertyResolved());
+            Assert.assertNull("non CDI names must not create an ELContextStore", ELContextStore.getInstance(false));
+
+            elContext = new MockELContext();
+            SampleBean sampleBean = (SampleBean) resolver.getValue(elContext, null, "sampleBean");
+            Assert.assertNotNull(sampleBean);
+            Assert.assertTrue(elContext.isPropertyResolved());
+            Assert.assertEquals(121, sampleBean.getX());
+
+            elContext = new MockELContext();
+            Assert.assertSame(sampleBean, resolver.getValue(elContext, null, "sampleBean"));
+            Assert.assertTrue(elContext.isPropertyResolved());
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, null);
+            contextsService.endContext(SessionScoped.class, null);
+            ELContextStore store = ELContextStore.getInstance(false);
+            if (store != null)
+            {
+                store.destroyELContextStore();
+            }
+            shutDownContainer();
+        }
+    }
+}
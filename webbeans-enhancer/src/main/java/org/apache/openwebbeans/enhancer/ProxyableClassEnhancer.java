@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.enhancer;
+
+import org.apache.xbean.asm7.ClassReader;
+import org.apache.xbean.asm7.ClassVisitor;
+import org.apache.xbean.asm7.ClassWriter;
+import org.apache.xbean.asm7.MethodVisitor;
+import org.apache.xbean.asm7.Opcodes;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build time enhancement of bean classes which are not proxyable as they got written.
+ *
+ * OpenWebBeans intercepts, decorates and scopes beans by generating a subclass at runtime.
+ * This doesn't work for final classes, final methods and classes which only have a private
+ * no-arg constructor. Such classes get rejected at deployment time unless they are listed
+ * via <i>javax.enterprise.inject.allowProxying.classes</i> resp. &lt;allowProxying&gt;,
+ * in which case their final methods simply do not get intercepted.
+ *
+ * This enhancer rewrites the configured classes so that they become regular proxyable classes:
+ * <ul>
+ *     <li>the final modifier of the class gets removed</li>
+ *     <li>the final modifier of all non-static, non-private methods gets removed</li>
+ *     <li>a private no-arg constructor gets widened to protected</li>
+ * </ul>
+ * Nothing else gets touched, the method bodies stay exactly as they are.
+ *
+ * The classes to enhance are given either by their fully qualified name
+ * or as package pattern like {@code org.acme.service.*} which includes all sub packages.
+ */
+public class ProxyableClassEnhancer
+{
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String CONSTRUCTOR = "<init>";
+    private static final String NO_ARG_CONSTRUCTOR_DESC = "()V";
+
+    private final List<String> classNames = new ArrayList<>();
+    private final List<String> packagePrefixes = new ArrayList<>();
+
+    public ProxyableClassEnhancer(Collection<String> classes)
+    {
+        for (String clazz : classes)
+        {
+            String trimmed = clazz.trim();
+            if (trimmed.isEmpty())
+            {
+                continue;
+            }
+            if (trimmed.endsWith(".*"))
+            {
+                packagePrefixes.add(trimmed.substring(0, trimmed.length() - 1));
+            }
+            else
+            {
+                classNames.add(trimmed);
+            }
+        }
+    }
+
+    /**
+     * @return whether the class with the given fully qualified name is configured to get enhanced
+     */
+    public boolean accepts(String className)
+    {
+        if (classNames.contains(className))
+        {
+            return true;
+        }
+        for (String packagePrefix : packagePrefixes)
+        {
+            if (className.startsWith(packagePrefix))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enhances all the configured classes in the given class output directory in place.
+     *
+     * @return the number of class files which got rewritten
+     */
+    public int enhance(File classesDirectory) throws IOException
+    {
+        return enhance(classesDirectory, classesDirectory);
+    }
+
+    /**
+     * Copies all files of the given class output directory to the target directory
+     * and enhances the configured classes on the way. The source directory doesn't get modified.
+     * If both directories are the same the classes get enhanced in place.
+     *
+     * @return the number of class files which got rewritten
+     */
+    public int enhance(File classesDirectory, File targetDirectory) throws IOException
+    {
+        if (!classesDirectory.isDirectory())
+        {
+            return 0;
+        }
+
+        Path root = classesDirectory.toPath();
+        Path targetRoot = targetDirectory.toPath();
+        boolean inPlace = Files.isDirectory(targetRoot) && Files.isSameFile(root, targetRoot);
+        if (!inPlace)
+        {
+            Files.createDirectories(targetRoot);
+        }
+
+        List<Path> files;
+        try (Stream<Path> tree = Files.walk(root))
+        {
+            files = tree.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+
+        int enhanced = 0;
+        for (Path file : files)
+        {
+            String relativePath = root.relativize(file).toString();
+            Path target = targetRoot.resolve(relativePath);
+
+            byte[] bytecode = null;
+            if (relativePath.endsWith(CLASS_SUFFIX) && accepts(toClassName(relativePath)))
+            {
+                bytecode = enhance(Files.readAllBytes(file));
+            }
+
+            if (bytecode != null)
+            {
+                Files.createDirectories(target.getParent());
+                Files.write(target, bytecode);
+                enhanced++;
+            }
+            else if (!inPlace)
+            {
+                Files.createDirectories(target.getParent());
+                Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            }
+        }
+        return enhanced;
+    }
+
+    /**
+     * @return the enhanced bytecode or {@code null} if the class already is proxyable
+     */
+    public byte[] enhance(byte[] bytecode)
+    {
+        ClassReader reader = new ClassReader(bytecode);
+        int nonProxyableTypes = Opcodes.ACC_INTERFACE | Opcodes.ACC_ENUM | Opcodes.ACC_ANNOTATION;
+        if ((reader.getAccess() & nonProxyableTypes) != 0)
+        {
+            return null;
+        }
+
+        // we only change access flags, so the existing frames and constant pool can get reused
+        ClassWriter writer = new ClassWriter(reader, 0);
+        ProxyableClassVisitor visitor = new ProxyableClassVisitor(writer);
+        reader.accept(visitor, 0);
+
+        return visitor.changed ? writer.toByteArray() : null;
+    }
+
+    private static String toClassName(String relativePath)
+    {
+        return relativePath
+            .substring(0, relativePath.length() - CLASS_SUFFIX.length())
+            .replace(File.separatorChar, '.')
+            .replace('/', '.');
+    }
+
+
+    private static final class ProxyableClassVisitor extends ClassVisitor
+    {
+        private String className;
+        private boolean changed;
+
+        private ProxyableClassVisitor(ClassVisitor classVisitor)
+        {
+            super(Opcodes.ASM7, classVisitor);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces)
+        {
+            className = name;
+            super.visit(version, removeFinal(access), name, signature, superName, interfaces);
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access)
+        {
+            // the modifiers of a nested class as seen via reflection are the ones of its InnerClasses entry
+            super.visitInnerClass(name, outerName, innerName, name.equals(className) ? removeFinal(access) : access);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions)
+        {
+            int newAccess = access;
+            if (CONSTRUCTOR.equals(name))
+            {
+                if (NO_ARG_CONSTRUCTOR_DESC.equals(descriptor) && (access & Opcodes.ACC_PRIVATE) != 0)
+                {
+                    newAccess = (access & ~Opcodes.ACC_PRIVATE) | Opcodes.ACC_PROTECTED;
+                }
+            }
+            else if ((access & (Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE)) == 0)
+            {
+                newAccess = removeFinal(access);
+            }
+
+            changed |= newAccess != access;
+            return super.visitMethod(newAccess, name, descriptor, signature, exceptions);
+        }
+
+        private int removeFinal(int access)
+        {
+            if ((access & Opcodes.ACC_FINAL) != 0)
+            {
+                changed = true;
+                return access & ~Opcodes.ACC_FINAL;
+            }
+            return access;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.enhancer;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.apache.xbean.asm7.ClassReader;
+import org.apache.xbean.asm7.Opcodes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProxyableClassEnhancerTest
+{
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ProxyableClassEnhancer enhancer = new ProxyableClassEnhancer(singletonList(getClass().getPackage().getName() + ".*"));
+
+    @Test
+    public void finalClass() throws Exception
+    {
+        Class<?> enhanced = enhanceAndLoad(FinalClass.class);
+
+        assertFalse(Modifier.isFinal(enhanced.getModifiers()));
+        assertFalse(Modifier.isFinal(enhanced.getMethod("greet").getModifiers()));
+    }
+
+    @Test
+    public void finalMethod() throws Exception
+    {
+        Class<?> enhanced = enhanceAndLoad(FinalMethod.class);
+
+        assertFalse(Modifier.isFinal(enhanced.getModifiers()));
+        Method greet = enhanced.getMethod("greet");
+        assertFalse(Modifier.isFinal(greet.getModifiers()));
+        assertTrue(Modifier.isPublic(greet.getModifiers()));
+
+        // static and private methods can't get proxied anyway, thus they stay as they are
+        assertTrue(Modifier.isFinal(enhanced.getMethod("staticGreet").getModifiers()));
+        assertTrue(Modifier.isFinal(enhanced.getDeclaredMethod("privateGreet").getModifiers()));
+
+        // the method bodies do not get touched
+        Object instance = enhanced.newInstance();
+        assertEquals("hello", greet.invoke(instance));
+    }
+
+    @Test
+    public void privateNoArgConstructor() throws Exception
+    {
+        Class<?> enhanced = enhanceAndLoad(PrivateConstructor.class);
+
+        Constructor<?> constructor = enhanced.getDeclaredConstructor();
+        assertTrue(Modifier.isProtected(constructor.getModifiers()));
+        assertTrue(Modifier.isPrivate(enhanced.getDeclaredConstructor(String.class).getModifiers()));
+    }
+
+    @Test
+    public void proxyableClassIsNotChanged() throws IOException
+    {
+        assertNull(enhancer.enhance(bytecode(AlreadyProxyable.class)));
+        assertNull(enhancer.enhance(bytecode(NotAClass.class)));
+    }
+
+    @Test
+    public void accepts()
+    {
+        ProxyableClassEnhancer configured = new ProxyableClassEnhancer(Arrays.asList("org.acme.Single", " org.acme.service.* ", ""));
+
+        assertTrue(configured.accepts("org.acme.Single"));
+        assertTrue(configured.accepts("org.acme.service.Foo"));
+        assertTrue(configured.accepts("org.acme.service.impl.Bar"));
+        assertFalse(configured.accepts("org.acme.SingleOther"));
+        assertFalse(configured.accepts("org.acme.serviceX.Foo"));
+    }
+
+    @Test
+    public void enhanceInPlace() throws IOException
+    {
+        File classes = temporaryFolder.newFolder("classes");
+        Path finalClass = writeClass(classes, FinalClass.class);
+        Path alreadyProxyable = writeClass(classes, AlreadyProxyable.class);
+
+        assertEquals(1, enhancer.enhance(classes));
+        assertFalse(isFinal(finalClass));
+        assertArrayEquals(bytecode(AlreadyProxyable.class), Files.readAllBytes(alreadyProxyable));
+    }
+
+    @Test
+    public void enhanceIntoTargetDirectory() throws IOException
+    {
+        File classes = temporaryFolder.newFolder("classes");
+        Path finalClass = writeClass(classes, FinalClass.class);
+        writeClass(classes, AlreadyProxyable.class);
+        Path resource = classes.toPath().resolve("META-INF/beans.xml");
+        Files.createDirectories(resource.getParent());
+        Files.write(resource, "<beans/>".getBytes(StandardCharsets.UTF_8));
+
+        File target = temporaryFolder.newFolder("enhanced");
+        assertEquals(1, enhancer.enhance(classes, target));
+
+        // the compiled classes stay untouched, the target contains all files
+        assertTrue(isFinal(finalClass));
+        Path targetRoot = target.toPath();
+        assertFalse(isFinal(targetRoot.resolve(classes.toPath().relativize(finalClass))));
+        assertArrayEquals(bytecode(AlreadyProxyable.class), Files.readAllBytes(targetRoot.resolve(classFile(AlreadyProxyable.class))));
+        assertEquals("<beans/>", new String(Files.readAllBytes(targetRoot.resolve("META-INF/beans.xml")), StandardCharsets.UTF_8));
+    }
+
+    private static Path writeClass(File classes, Class<?> clazz) throws IOException
+    {
+        Path classFile = classes.toPath().resolve(classFile(clazz));
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, bytecode(clazz));
+        return classFile;
+    }
+
+    private static String classFile(Class<?> clazz)
+    {
+        return clazz.getName().replace('.', '/') + ".class";
+    }
+
+    private static boolean isFinal(Path classFile) throws IOException
+    {
+        return (new ClassReader(Files.readAllBytes(classFile)).getAccess() & Opcodes.ACC_FINAL) != 0;
+    }
+
+    private Class<?> enhanceAndLoad(Class<?> clazz) throws IOException
+    {
+        byte[] enhanced = enhancer.enhance(bytecode(clazz));
+        assertNotNull(enhanced);
+        return new EnhancedClassLoader(getClass().getClassLoader()).define(clazz.getName(), enhanced);
+    }
+
+    private static byte[] bytecode(Class<?> clazz) throws IOException
+    {
+        try (InputStream in = clazz.getClassLoader().getResourceAsStream(classFile(clazz)))
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0)
+            {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+
+    public static final class FinalClass
+    {
+        public String greet()
+        {
+            return "hello";
+        }
+    }
+
+    public static class FinalMethod
+    {
+        public final String greet()
+        {
+            return privateGreet();
+        }
+
+        public static final String staticGreet()
+        {
+            return "hello";
+        }
+
+        private final String privateGreet()
+        {
+            return "hello";
+        }
+    }
+
+    public static class PrivateConstructor
+    {
+        private PrivateConstructor()
+        {
+            // no-op
+        }
+
+        private PrivateConstructor(String ignored)
+        {
+            // no-op
+        }
+    }
+
+    public static class AlreadyProxyable
+    {
+        public String greet()
+        {
+            return "hello";
+        }
+    }
+
+    public interface NotAClass
+    {
+        String greet();
+    }
+
+    private static final class EnhancedClassLoader extends ClassLoader
+    {
+        private EnhancedClassLoader(ClassLoader parent)
+        {
+            super(parent);
+        }
+
+        private Class<?> define(String name, byte[] bytecode)
+        {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+}
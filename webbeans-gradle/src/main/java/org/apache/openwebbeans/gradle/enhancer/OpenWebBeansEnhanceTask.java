@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.gradle.enhancer;
+
+import org.apache.openwebbeans.enhancer.ProxyableClassEnhancer;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Makes the configured bean classes proxyable at build time.
+ * See {@link ProxyableClassEnhancer} for what exactly gets changed.
+ *
+ * The compiled classes stay untouched, the task writes a copy of the classes directory
+ * with the enhanced classes to its own output directory. This keeps the up-to-date checks
+ * and the build cache of the compile task intact.
+ *
+ * <pre>
+ * task owbEnhance(type: org.apache.openwebbeans.gradle.enhancer.OpenWebBeansEnhanceTask) {
+ *     dependsOn compileJava
+ *     classesDirectory = sourceSets.main.java.destinationDirectory.get().asFile
+ *     outputDirectory = file("$buildDir/classes/java/owbEnhanced")
+ *     classes = ['org.acme.service.*']
+ * }
+ * jar {
+ *     dependsOn owbEnhance
+ *     // package the enhanced copy instead of the compiled classes
+ *     exclude { it.file.path.startsWith(owbEnhance.classesDirectory.path) }
+ *     from owbEnhance.outputDirectory
+ * }
+ * </pre>
+ */
+// note: it is very important to not bring webbeans-impl in the classpath there cause of gradle dep mecanism
+public class OpenWebBeansEnhanceTask extends DefaultTask
+{
+    private File classesDirectory;
+    private File outputDirectory;
+    private List<String> classes = new ArrayList<>();
+
+    @TaskAction
+    public void enhance()
+    {
+        // remove the classes of a former run which got deleted in the meantime
+        getProject().delete(outputDirectory);
+
+        try
+        {
+            int enhanced = new ProxyableClassEnhancer(classes).enhance(classesDirectory, outputDirectory);
+            getLogger().info("Made " + enhanced + " classes of " + classesDirectory + " proxyable in " + outputDirectory);
+        }
+        catch (IOException ioe)
+        {
+            throw new IllegalStateException(ioe);
+        }
+    }
+
+    @InputDirectory
+    public File getClassesDirectory()
+    {
+        return classesDirectory;
+    }
+
+    public void setClassesDirectory(File classesDirectory)
+    {
+        this.classesDirectory = classesDirectory;
+    }
+
+    @OutputDirectory
+    public File getOutputDirectory()
+    {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(File outputDirectory)
+    {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Input
+    public List<String> getClasses()
+    {
+        return classes;
+    }
+
+    public void setClasses(List<String> classes)
+    {
+        this.classes = classes;
+    }
+}
@@ -111,6 +111,9 @@ public abstract class AbstractOwbBean<T>
     @Override
     public T create(CreationalContext<T> creationalContext)
     {
+        // no-op unless the validation got deferred to the first use
+        webBeansContext.getDeferredBeanValidation().validate(this);
+
         try
         {
             if(!(creationalContext instanceof CreationalContextImpl))
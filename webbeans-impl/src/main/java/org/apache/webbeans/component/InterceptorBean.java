@@ -24,6 +24,9 @@ import javax.enterprise.inject.spi.InterceptionType;
 import javax.enterprise.inject.spi.Interceptor;
 import javax.interceptor.InvocationContext;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -57,6 +60,12 @@ public abstract class InterceptorBean<T> extends InjectionTargetBean<T> implemen
      */
     protected Method aroundInvokeMethod;
 
+    /**
+     * Invokes the {@link #aroundInvokeMethod} without any reflection overhead,
+     * type {@code (Object, InvocationContext)Object}
+     */
+    private MethodHandle aroundInvokeHandle;
+
     protected InterceptorBean(WebBeansContext webBeansContext,
                               AnnotatedType<T> annotatedType,
                               BeanAttributes<T> beanAttributes,
@@ -87,6 +96,28 @@ public abstract class InterceptorBean<T> extends InjectionTargetBean<T> implemen
         if (aroundInvokeMethods != null && aroundInvokeMethods.length == 1)
         {
             aroundInvokeMethod = aroundInvokeMethods[0];
+            aroundInvokeHandle = createAroundInvokeHandle(aroundInvokeMethod);
+        }
+    }
+
+    /**
+     * @return the MethodHandle for the given interceptor method or {@code null} if it must get invoked via reflection
+     */
+    private static MethodHandle createAroundInvokeHandle(Method method)
+    {
+        if (method.getParameterTypes().length != 1 || method.getReturnType() != Object.class)
+        {
+            return null;
+        }
+        try
+        {
+            return MethodHandles.lookup().unreflect(method)
+                    .asType(MethodType.methodType(Object.class, Object.class, InvocationContext.class));
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            // e.g. not accessible for us, simply use reflection
+            return null;
         }
     }
 
@@ -133,6 +164,11 @@ public abstract class InterceptorBean<T> extends InjectionTargetBean<T> implemen
         {
             if (InterceptionType.AROUND_INVOKE == interceptionType && aroundInvokeMethod != null)
             {
+                if (aroundInvokeHandle != null)
+                {
+                    // a direct call, any Exception gets thrown as is
+                    return aroundInvokeHandle.invokeExact((Object) instance, invocationContext);
+                }
                 return aroundInvokeMethod.invoke(instance, invocationContext);
             }
 
@@ -188,7 +224,7 @@ public abstract class InterceptorBean<T> extends InjectionTargetBean<T> implemen
         {
             throw ExceptionUtil.throwAsRuntimeException(ite.getCause());
         }
-        catch (Exception e)
+        catch (Throwable e)
         {
             throw ExceptionUtil.throwAsRuntimeException(e);
         }
@@ -42,6 +42,7 @@ import org.apache.webbeans.configurator.AnnotatedTypeConfiguratorImpl;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.corespi.scanner.AbstractMetaDataDiscovery;
 import org.apache.webbeans.corespi.se.DefaultJndiService;
 import org.apache.webbeans.decorator.DecoratorsManager;
 import org.apache.webbeans.deployment.StereoTypeManager;
@@ -222,12 +223,17 @@ public class BeansDeployer
      */
     public synchronized void deploy(ScannerService scanner)
     {
+        StartupProfiler profiler = webBeansContext.getStartupProfiler();
         try
         {
             if (!deployed)
             {                
+                profiler.begin();
+
                 //Load Extensions
+                long start = profiler.start();
                 webBeansContext.getExtensionLoader().loadExtensionServices();
+                profiler.phase("loadExtensionServices", start);
 
                 // Bind manager
                 JNDIService service = webBeansContext.getService(JNDIService.class);
@@ -249,12 +255,16 @@ public class BeansDeployer
                 webBeansContext.getBeanManagerImpl().addInternalBean(webBeansContext.getWebBeansUtil().getRequestContextControllerBean());
 
                 //Fire Event
+                start = profiler.start();
                 fireBeforeBeanDiscoveryEvent();
+                profiler.phase("fireBeforeBeanDiscoveryEvent", start);
                 
                 //Configure Default Beans
                 configureDefaultBeans();
 
+                start = profiler.start();
                 Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda = annotatedTypesFromClassPath(scanner);
+                profiler.phase("annotatedTypesFromClassPath", start);
 
                 List<AnnotatedType<?>> globalBdaAnnotatedTypes = annotatedTypesPerBda.get(defaultBeanArchiveInformation);
 
@@ -267,17 +277,24 @@ public class BeansDeployer
                 }
 
                 // Also configures deployments, interceptors, decorators.
+                start = profiler.start();
                 deployFromXML(scanner);
+                profiler.phase("deployFromXML", start);
 
+                start = profiler.start();
                 addAdditionalAnnotatedTypes(fireAfterTypeDiscoveryEvent(), globalBdaAnnotatedTypes);
+                profiler.phase("fireAfterTypeDiscoveryEvent", start);
 
 
+                start = profiler.start();
                 Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> beanAttributesPerBda
                     = getBeanAttributes(annotatedTypesPerBda);
+                profiler.phase("getBeanAttributes", start);
 
                 // shouldn't be used anymore, view is now beanAttributes
                 annotatedTypesPerBda.clear();
 
+                start = profiler.start();
                 SpecializationUtil specializationUtil = new SpecializationUtil(webBeansContext);
                 specializationUtil.removeDisabledBeanAttributes(beanAttributesPerBda, null, true);
 
@@ -308,20 +325,29 @@ public class BeansDeployer
                         },
                         false);
 
+                profiler.phase("specialization", start);
+
                 // create beans from the discovered AnnotatedTypes
+                start = profiler.start();
                 deployFromBeanAttributes(beanAttributesPerBda);
+                profiler.phase("deployFromBeanAttributes", start);
 
+                start = profiler.start();
                 configureProducerMethodSpecializations();
 
                 // all beans which got 'overridden' by a Specialized version can be removed now
                 removeDisabledBeans();
+                profiler.phase("specialization", start);
                 
                 // We are finally done with our bean discovery
+                start = profiler.start();
                 fireAfterBeanDiscoveryEvent();
+                profiler.phase("fireAfterBeanDiscoveryEvent", start);
 
                 // activate InjectionResolver cache now
                 webBeansContext.getBeanManagerImpl().getInjectionResolver().setStartup(false);
                 
+                start = profiler.start();
                 validateAlternatives(beanAttributesPerBda);
 
                 validateInjectionPoints();
@@ -331,6 +357,14 @@ public class BeansDeployer
                 validateDecoratorGenericTypes();
 
                 validateNames();
+                profiler.phase("validation", start);
+
+                // beans used by AfterDeploymentValidation observers must already get validated
+                webBeansContext.getDeferredBeanValidation().activate();
+
+                start = profiler.start();
+                createNormalScopeProxyClasses();
+                profiler.phase("proxyGeneration", start);
 
                 if (webBeansContext.getNotificationManager().getObserverMethods().stream()
                         .anyMatch(ObserverMethod::isAsync))
@@ -341,13 +375,18 @@ public class BeansDeployer
                 }
 
                 // fire event
+                start = profiler.start();
                 fireAfterDeploymentValidationEvent();
+                profiler.phase("fireAfterDeploymentValidationEvent", start);
+
+                webBeansContext.getDeferredBeanValidation().startBackgroundValidation();
 
 
                 // do some cleanup after the deployment
                 scanner.release();
                 webBeansContext.getAnnotatedElementFactory().clear();
                 webBeansContext.getNotificationManager().clearCaches();
+                webBeansContext.getNotificationManager().initContextLifecycleObservers();
                 webBeansContext.getAnnotationManager().clearCaches();
             }
         }
@@ -377,6 +416,8 @@ public class BeansDeployer
             //if bootstrapping failed, it doesn't make sense to do it again
             //esp. because #addInternalBean might have been called already and would cause an exception in the next run
             deployed = true;
+
+            profiler.finish();
         }
     }
 
@@ -1083,7 +1124,7 @@ public class BeansDeployer
         logger.fine("Validation of the decorator's injection points has started.");
         
         //Validate Decorators
-        validate(decorators);
+        validate(decorators, null);
         
         //Adding interceptors to validate
         List<javax.enterprise.inject.spi.Interceptor<?>> interceptors = interceptorsManager.getCdiInterceptors();
@@ -1091,14 +1132,15 @@ public class BeansDeployer
         logger.fine("Validation of the interceptor's injection points has started.");
         
         //Validate Interceptors
-        validate(interceptors);
+        validate(interceptors, null);
 
         logger.fine("Validation of the beans' injection points has started.");
 
         Set<Bean<?>> beans = webBeansContext.getBeanManagerImpl().getBeans();
         
         //Validate Others
-        validate(beans);
+        DeferredBeanValidation deferredBeanValidation = webBeansContext.getDeferredBeanValidation();
+        validate(beans, deferredBeanValidation.begin() ? deferredBeanValidation : null);
         
         logger.fine("Validation of the observer methods' injection points has started.");
         
@@ -1112,8 +1154,9 @@ public class BeansDeployer
      * Validates beans.
      * 
      * @param beans deployed beans
+     * @param deferredBeanValidation takes the injection point and passivation checks if not {@code null}
      */
-    private <T, B extends Bean<?>> void validate(Collection<B> beans)
+    private <T, B extends Bean<?>> void validate(Collection<B> beans, DeferredBeanValidation deferredBeanValidation)
     {
         webBeansContext.getBeanManagerImpl().getInjectionResolver().clearCaches();
 
@@ -1181,17 +1224,24 @@ public class BeansDeployer
                         }
                     }
 
-                    //Bean injection points
-                    Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
-
-                    //Check injection points
-                    if (injectionPoints != null)
+                    if (deferredBeanValidation != null)
+                    {
+                        deferredBeanValidation.defer(bean, () ->
+                        {
+                            try
+                            {
+                                validateBean(bean);
+                            }
+                            catch (RuntimeException e)
+                            {
+                                throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                            }
+                        });
+                    }
+                    else
                     {
-                        webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+                        validateBean(bean);
                     }
-
-                    //Check passivation scope
-                    checkPassivationScope(bean);
                 }
                 catch (RuntimeException e)
                 {
@@ -1208,6 +1258,69 @@ public class BeansDeployer
         
     }
     
+    private void validateBean(Bean<?> bean)
+    {
+        //Bean injection points
+        Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
+
+        //Check injection points
+        if (injectionPoints != null)
+        {
+            webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+        }
+
+        //Check passivation scope
+        checkPassivationScope(bean);
+    }
+
+    /**
+     * Generates the proxy classes of all normal scoped beans in parallel if configured.
+     * @see OpenWebBeansConfiguration#PROXY_GENERATION_THREADS
+     */
+    private void createNormalScopeProxyClasses()
+    {
+        int threads = getProxyGenerationThreads();
+        if (threads <= 0)
+        {
+            return;
+        }
+
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        List<Bean<?>> normalScopedBeans = new ArrayList<>();
+        for (Bean<?> bean : beanManager.getBeans())
+        {
+            if ((!(bean instanceof OwbBean) || ((OwbBean<?>) bean).isEnabled()) && beanManager.isNormalScope(bean.getScope()))
+            {
+                normalScopedBeans.add(bean);
+            }
+        }
+
+        webBeansContext.getNormalScopeProxyFactory().createProxyClasses(normalScopedBeans, threads);
+    }
+
+    private int getProxyGenerationThreads()
+    {
+        String threadsCfg = webBeansContext.getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.PROXY_GENERATION_THREADS);
+        if (threadsCfg == null || threadsCfg.trim().isEmpty())
+        {
+            return 0;
+        }
+        if ("auto".equalsIgnoreCase(threadsCfg.trim()))
+        {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        try
+        {
+            return Integer.parseInt(threadsCfg.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            logger.warning("Invalid value for " + OpenWebBeansConfiguration.PROXY_GENERATION_THREADS + ": " + threadsCfg);
+            return 0;
+        }
+    }
+
     private void validateObservers(Collection<ObserverMethod<?>> observerMethods)
     {
         for (ObserverMethod<?> observerMethod: observerMethods)
@@ -1277,26 +1390,30 @@ public class BeansDeployer
         Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda
             = new HashMap<>();
 
+        // resolved once instead of resolving the observers for each type
+        Set<Class<? extends Annotation>> patWithAnnotations
+            = webBeansContext.getNotificationManager().getProcessAnnotatedTypeWithAnnotations();
+
         if (scanner instanceof BdaScannerService)
         {
             Map<BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda = ((BdaScannerService) scanner).getBeanClassesPerBda();
 
             for (Map.Entry<BeanArchiveInformation, Set<Class<?>>> bdaEntry : beanClassesPerBda.entrySet())
             {
-                List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses);
+                List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses, scanner, patWithAnnotations);
                 annotatedTypesPerBda.put(bdaEntry.getKey(), annotatedTypes);
             }
 
             // also add the rest of the class es to the default bda
             // we also need this initialised in case annotatedTypes get added manually at a later step
-            annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses));
+            annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses, scanner, patWithAnnotations));
         }
         else
         {
             // this path is only for backward compat to older ScannerService implementations
 
             Set<Class<?>> classIndex = scanner.getBeanClasses();
-            List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses);
+            List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses, scanner, patWithAnnotations);
 
             annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypes);
         }
@@ -1307,8 +1424,10 @@ public class BeansDeployer
 
     /**
      * @param foundClasses classes which already got processed. To prevent picking up the same class from multiple classpaths
+     * @param patWithAnnotations see {@link org.apache.webbeans.event.NotificationManager#getProcessAnnotatedTypeWithAnnotations()}
      */
-    private List<AnnotatedType<?>> annotatedTypesFromBdaClassPath(Set<Class<?>> classIndex, Set<Class<?>> foundClasses)
+    private List<AnnotatedType<?>> annotatedTypesFromBdaClassPath(Set<Class<?>> classIndex, Set<Class<?>> foundClasses,
+                                                                  ScannerService scanner, Set<Class<? extends Annotation>> patWithAnnotations)
     {
         List<AnnotatedType<?>> annotatedTypes = new ArrayList<>();
 
@@ -1346,6 +1465,7 @@ public class BeansDeployer
                 {
                     //Define annotation type
                     AnnotatedType<?> annotatedType = annotatedElementFactory.getAnnotatedType(implClass);
+                    boolean fromBytecode = annotatedType == null;
                     if (annotatedType == null) // mean no annotation created it (normal case)
                     {
                         annotatedType = annotatedElementFactory.newAnnotatedType(implClass);
@@ -1362,7 +1482,8 @@ public class BeansDeployer
                     annotatedType.getJavaClass().getDeclaredFields();
 
                     // Fires ProcessAnnotatedType
-                    if (!annotatedType.getJavaClass().isAnnotation())
+                    if (!annotatedType.getJavaClass().isAnnotation()
+                        && isProcessAnnotatedTypeObserved(annotatedType, fromBytecode, scanner, patWithAnnotations))
                     {
                         GProcessAnnotatedType processAnnotatedEvent = webBeansContext.getWebBeansUtil().fireProcessAnnotatedTypeEvent(annotatedType);
                         if (!processAnnotatedEvent.isVeto())
@@ -1386,6 +1507,34 @@ public class BeansDeployer
         return annotatedTypes;
     }
 
+    /**
+     * Most types are of no interest for any Extension, we neither need to create nor fire
+     * the ProcessAnnotatedType event for them. If all observers use &#064;WithAnnotations
+     * the bytecode index of the scanner tells which types do not use any of those annotations.
+     *
+     * @param fromBytecode whether the AnnotatedType reflects the plain class and got not provided by an Extension
+     */
+    private boolean isProcessAnnotatedTypeObserved(AnnotatedType<?> annotatedType, boolean fromBytecode,
+                                                   ScannerService scanner, Set<Class<? extends Annotation>> patWithAnnotations)
+    {
+        if (patWithAnnotations == null)
+        {
+            return true;
+        }
+        if (patWithAnnotations.isEmpty())
+        {
+            return false;
+        }
+
+        if (fromBytecode && scanner instanceof AbstractMetaDataDiscovery
+            && Boolean.FALSE.equals(((AbstractMetaDataDiscovery) scanner).isAnnotatedInHierarchy(annotatedType.getJavaClass(), patWithAnnotations)))
+        {
+            return false;
+        }
+
+        return webBeansContext.getNotificationManager().isProcessAnnotatedTypeObserved(annotatedType, patWithAnnotations);
+    }
+
     private boolean isEEComponent(Class<?> impl)
     {
         OpenWebBeansJavaEEPlugin eePlugin = webBeansContext.getPluginLoader().getJavaEEPlugin();
@@ -1498,12 +1647,14 @@ public class BeansDeployer
         logger.fine("Deploying configurations from class files has started.");
 
         BeanManagerImpl bm = webBeansContext.getBeanManagerImpl();
+        StartupProfiler profiler = webBeansContext.getStartupProfiler();
         for (Map<AnnotatedType<?>, ExtendedBeanAttributes<?>> beanAttributesMap : beanAttributesPerBda.values())
         {
 
             // Start from the class
             for (Map.Entry<AnnotatedType<?>, ExtendedBeanAttributes<?>> annotatedType : beanAttributesMap.entrySet())
             {
+                long start = profiler.start();
                 try
                 {
                     deploySingleAnnotatedType(annotatedType.getKey(), annotatedType.getValue(), beanAttributesMap);
@@ -1518,6 +1669,7 @@ public class BeansDeployer
                 // deploy it anymore.
                 bm.removeAdditionalAnnotatedType(annotatedType.getKey());
 
+                profiler.beanType(annotatedType.getKey().getJavaClass(), start);
             }
         }
 
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import javax.enterprise.inject.spi.Bean;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Runs the injection point and passivation checks of a bean on its first use
+ * instead of during the deployment. Optionally all remaining checks get run
+ * on a background thread once the container got started.
+ *
+ * Each check runs exactly once. A failed check gets reported again whenever
+ * the bean gets used, regardless whether it ran on first use or in the background.
+ *
+ * This is only meant to speed up the startup of development and test environments.
+ *
+ * @see OpenWebBeansConfiguration#LAZY_VALIDATION
+ */
+public class DeferredBeanValidation implements Closeable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(DeferredBeanValidation.class);
+
+    private static final String BACKGROUND = "background";
+
+    private final WebBeansContext webBeansContext;
+
+    private final Map<Bean<?>, FutureTask<Void>> pendingChecks = new ConcurrentHashMap<>();
+
+    /**
+     * The deployment order of the beans, used for the background validation
+     */
+    private final List<Bean<?>> beans = new ArrayList<>();
+
+    private boolean enabled;
+    private boolean background;
+
+    private volatile boolean active;
+
+    public DeferredBeanValidation(WebBeansContext webBeansContext)
+    {
+        this.webBeansContext = webBeansContext;
+    }
+
+    /**
+     * Reads the configuration, must be invoked before the bean validation starts.
+     * @return whether the checks shall get deferred
+     */
+    public boolean begin()
+    {
+        String mode = webBeansContext.getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.LAZY_VALIDATION);
+        background = BACKGROUND.equalsIgnoreCase(mode);
+        enabled = background || Boolean.parseBoolean(mode);
+        return enabled;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Registers the checks of the given bean. They do not run before {@link #activate()} got invoked.
+     */
+    public void defer(Bean<?> bean, Runnable check)
+    {
+        if (pendingChecks.put(bean, new FutureTask<Void>(check, null)) == null)
+        {
+            beans.add(bean);
+        }
+    }
+
+    /**
+     * From now on beans get validated on their first use.
+     */
+    public void activate()
+    {
+        active = enabled && !pendingChecks.isEmpty();
+        if (active && logger.isLoggable(Level.INFO))
+        {
+            logger.info("Validation of " + pendingChecks.size() + " beans got deferred to their first use");
+        }
+    }
+
+    /**
+     * Starts to validate all beans which did not get used yet if configured.
+     */
+    public void startBackgroundValidation()
+    {
+        if (!active || !background)
+        {
+            return;
+        }
+
+        List<Bean<?>> remainingBeans = new ArrayList<>(beans);
+        Thread thread = new Thread(() -> validateRemainingBeans(remainingBeans), "OwbDeferredBeanValidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the deferred checks of the given bean if there are any.
+     * @throws RuntimeException the validation failure of the bean
+     */
+    public void validate(Bean<?> bean)
+    {
+        if (!active)
+        {
+            return;
+        }
+
+        FutureTask<Void> check = pendingChecks.get(bean);
+        if (check != null)
+        {
+            runCheck(bean, check);
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        active = false;
+        pendingChecks.clear();
+        beans.clear();
+    }
+
+    private void validateRemainingBeans(List<Bean<?>> remainingBeans)
+    {
+        for (Bean<?> bean : remainingBeans)
+        {
+            if (!active)
+            {
+                // the container got shut down
+                return;
+            }
+
+            FutureTask<Void> check = pendingChecks.get(bean);
+            if (check == null)
+            {
+                continue;
+            }
+
+            try
+            {
+                runCheck(bean, check);
+            }
+            catch (RuntimeException | Error e)
+            {
+                logger.log(Level.SEVERE, "Deferred validation of bean " + bean + " failed", e);
+            }
+        }
+    }
+
+    private void runCheck(Bean<?> bean, FutureTask<Void> check)
+    {
+        // only the first invocation actually runs the check, all others wait for its result
+        check.run();
+        try
+        {
+            check.get();
+            pendingChecks.remove(bean);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new WebBeansException("Interrupted while validating bean " + bean, e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new WebBeansException(cause);
+        }
+    }
+}
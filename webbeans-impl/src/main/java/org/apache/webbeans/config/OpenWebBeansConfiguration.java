@@ -166,6 +166,65 @@ public class OpenWebBeansConfiguration
      */
     public static final String SCAN_ONLY_BEANS_XML_JARS = "org.apache.webbeans.scanBeansXmlOnly";
 
+    /**
+     * Number of threads which are used to load and link the scanned bean classes.
+     * Default is {@code 1} which loads all classes serially on the deploying thread.
+     * &quot;auto&quot; will use one thread per available processor.
+     *
+     * Classes only get loaded in parallel if the ClassLoader is registered as parallel capable.
+     */
+    public static final String SCAN_CLASS_LOADING_THREADS = "org.apache.webbeans.scanClassLoadingThreads";
+
+    /**
+     * Directory in which the result of the class scanning gets stored.
+     * If the scanned jars, class directories and openwebbeans.properties did not change
+     * the next start will pick up the stored bean class candidates instead of scanning the bytecode again.
+     * Disabled by default.
+     */
+    public static final String SCAN_SNAPSHOT_DIRECTORY = "org.apache.webbeans.scanSnapshotDirectory";
+
+    /**
+     * Whether parsed beans.xml files get cached per JVM and reused as long as the jar or
+     * directory containing them did not change, e.g. for redeployments and the modules of an EAR.
+     * Disabled by default.
+     */
+    public static final String BEANS_XML_CACHE = "org.apache.webbeans.beansXmlCache";
+
+    /**
+     * Enables the {@link StartupProfiler} which logs how long each deployment phase,
+     * each Extension observer method, each bean type and each proxy generation took.
+     * Disabled by default.
+     */
+    public static final String STARTUP_PROFILER = "org.apache.webbeans.startupProfiler";
+
+    /**
+     * File the {@link StartupProfiler} writes its JSON report to.
+     * If not set only the text summary gets logged.
+     */
+    public static final String STARTUP_PROFILER_REPORT_FILE = "org.apache.webbeans.startupProfiler.reportFile";
+
+    /**
+     * Share the parsed annotations and generic signatures of the declared constructors, fields and methods
+     * between all WebBeansContexts of the JVM. The reflective members and the AnnotatedTypes stay per WebBeansContext.
+     * Mainly useful if many applications or test containers with the same libraries run in one JVM.
+     * Default is {@code false}.
+     */
+    public static final String SHARED_ANNOTATED_METADATA = "org.apache.webbeans.sharedAnnotatedMetadata";
+
+    /**
+     * Number of threads used to generate the proxy classes of all normal scoped beans at the end of the deployment.
+     * &quot;auto&quot; will use one thread per available processor.
+     * Default is {@code 0} which generates each proxy class lazily on the first use of the bean.
+     */
+    public static final String PROXY_GENERATION_THREADS = "org.apache.webbeans.proxyGenerationThreads";
+
+    /**
+     * Defers the injection point, passivation and proxyability checks of the beans to their first use.
+     * &quot;background&quot; additionally validates all remaining beans on a background thread after the startup.
+     * Default is {@code false}. Not meant for production, deployment problems only show up once the bean gets used.
+     */
+    public static final String LAZY_VALIDATION = "org.apache.webbeans.lazyValidation";
+
     /**
      * a comma-separated list of fully qualified class names that should be ignored
      * when determining if a decorator matches its delegate.  These are typically added by
@@ -202,6 +261,14 @@ public class OpenWebBeansConfiguration
      */
     public static final String GENERATOR_JAVA_VERSION = "org.apache.webbeans.generator.javaVersion";
 
+    /**
+     * Whether intercepted and decorated beans get serialized in a compact format which only contains the
+     * Interceptor and Decorator instances and restores all other metadata from the bean.
+     * Older versions can't read this format, thus only enable it once all nodes got upgraded.
+     * Default is {@code false}.
+     */
+    public static final String COMPACT_PROXY_SERIALIZATION = "org.apache.webbeans.compactProxySerialization";
+
 
     /**Default configuration files*/
     private static final String DEFAULT_CONFIG_PROPERTIES_NAME = "META-INF/openwebbeans/openwebbeans.properties";
@@ -528,6 +595,14 @@ public class OpenWebBeansConfiguration
         return Boolean.parseBoolean(getProperty(PRODUCER_INTERCEPTION_SUPPORT, "true"));
     }
 
+    /**
+     * @see #COMPACT_PROXY_SERIALIZATION
+     */
+    public boolean isCompactProxySerialization()
+    {
+        return Boolean.parseBoolean(getProperty(COMPACT_PROXY_SERIALIZATION, "false"));
+    }
+
     public String getGeneratorJavaVersion()
     {
         String generatorJavaVersion = getProperty(GENERATOR_JAVA_VERSION);
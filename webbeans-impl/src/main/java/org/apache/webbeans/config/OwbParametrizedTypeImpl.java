@@ -38,6 +38,9 @@ public class OwbParametrizedTypeImpl implements ParameterizedType
     /**Actual type arguments*/
     private final Type[] types;
 
+    /**Lazily computed hash code, the instances are used as cache keys*/
+    private int hashCode;
+
     /**
      * New instance.
      * @param owner owner
@@ -76,7 +79,13 @@ public class OwbParametrizedTypeImpl implements ParameterizedType
     @Override
     public int hashCode()
     {
-       return Arrays.hashCode(types) ^ (owner == null ? 0 : owner.hashCode()) ^ (rawType == null ? 0 : rawType.hashCode());
+       int hash = hashCode;
+       if (hash == 0)
+       {
+           hash = Arrays.hashCode(types) ^ (owner == null ? 0 : owner.hashCode()) ^ (rawType == null ? 0 : rawType.hashCode());
+           hashCode = hash;
+       }
+       return hash;
     }
 
     /* (non-Javadoc)
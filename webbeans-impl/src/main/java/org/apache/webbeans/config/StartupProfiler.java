@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import javax.enterprise.inject.spi.ObserverMethod;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.event.ObserverMethodImpl;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Collects timings of the container startup: the deployment phases,
+ * every CDI Extension observer method, the definition of each bean type and the proxy generation.
+ * Once the deployment finished a text summary gets logged and optionally a JSON report gets written.
+ *
+ * The profiler is disabled by default and all methods return immediately in that case.
+ *
+ * @see OpenWebBeansConfiguration#STARTUP_PROFILER
+ * @see OpenWebBeansConfiguration#STARTUP_PROFILER_REPORT_FILE
+ */
+public class StartupProfiler
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(StartupProfiler.class);
+
+    /**
+     * Number of entries listed per category in the report
+     */
+    private static final int TOP_ENTRIES = 20;
+
+    private static final String SPI_PACKAGE = "javax.enterprise.inject.spi.";
+
+    private final WebBeansContext webBeansContext;
+
+    private volatile boolean enabled;
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final ConcurrentMap<String, Timing> extensions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> extensionObservers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> beanTypes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> proxies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, String> eventNames = new ConcurrentHashMap<>();
+
+
+    public StartupProfiler(WebBeansContext webBeansContext)
+    {
+        this.webBeansContext = webBeansContext;
+    }
+
+    /**
+     * Enables the profiler if it got configured.
+     * Invoking this method multiple times before {@link #finish()} has no effect.
+     */
+    public void begin()
+    {
+        if (!enabled)
+        {
+            enabled = Boolean.parseBoolean(
+                webBeansContext.getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.STARTUP_PROFILER));
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * @return the start timestamp to hand over to the recording methods, {@code 0} if the profiler is disabled
+     */
+    public long start()
+    {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void phase(String name, long start)
+    {
+        if (enabled && start != 0L)
+        {
+            long duration = System.nanoTime() - start;
+            synchronized (phases)
+            {
+                Long previous = phases.get(name);
+                phases.put(name, previous == null ? duration : previous + duration);
+            }
+        }
+    }
+
+    public void extensionObserver(ObserverMethod<?> observer, Object event, long start)
+    {
+        if (enabled && start != 0L)
+        {
+            long duration = System.nanoTime() - start;
+
+            String extension = observer.getBeanClass().getName();
+            String method = observer instanceof ObserverMethodImpl
+                ? ((ObserverMethodImpl<?>) observer).getObserverMethod().getJavaMember().getName()
+                : observer.getClass().getSimpleName();
+
+            add(extensions, extension, duration);
+            add(extensionObservers, extension + '#' + method + '(' + getEventName(event.getClass()) + ')', duration);
+        }
+    }
+
+    public void beanType(Class<?> beanClass, long start)
+    {
+        if (enabled && start != 0L)
+        {
+            add(beanTypes, beanClass.getName(), System.nanoTime() - start);
+        }
+    }
+
+    public void proxyGeneration(String proxyClassName, long start)
+    {
+        if (enabled && start != 0L)
+        {
+            add(proxies, proxyClassName, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Reports the collected timings and disables the profiler.
+     */
+    public void finish()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+        enabled = false;
+
+        try
+        {
+            if (logger.isLoggable(Level.INFO))
+            {
+                logger.info(toText());
+            }
+
+            String reportFile = webBeansContext.getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.STARTUP_PROFILER_REPORT_FILE);
+            if (reportFile != null && !reportFile.trim().isEmpty())
+            {
+                writeJson(new File(reportFile.trim()));
+            }
+        }
+        finally
+        {
+            clear();
+        }
+    }
+
+    public String toText()
+    {
+        StringBuilder text = new StringBuilder("OpenWebBeans startup profile, total ")
+            .append(millis(getTotal())).append(" ms");
+
+        text.append("\n  Phases:");
+        for (Map.Entry<String, Long> phase : getPhases().entrySet())
+        {
+            text.append("\n    ").append(phase.getKey()).append(": ").append(millis(phase.getValue())).append(" ms");
+        }
+
+        appendText(text, "Slowest extensions", extensions);
+        appendText(text, "Slowest extension observer methods", extensionObservers);
+        appendText(text, "Slowest bean types", beanTypes);
+        appendText(text, "Slowest proxy generations", proxies);
+        return text.toString();
+    }
+
+    public String toJson()
+    {
+        StringBuilder json = new StringBuilder("{\n  \"totalMillis\": ").append(millis(getTotal()));
+
+        json.append(",\n  \"phases\": [");
+        boolean first = true;
+        for (Map.Entry<String, Long> phase : getPhases().entrySet())
+        {
+            json.append(first ? "\n" : ",\n");
+            json.append("    {\"name\": ").append(quote(phase.getKey()))
+                .append(", \"millis\": ").append(millis(phase.getValue())).append('}');
+            first = false;
+        }
+        json.append("\n  ]");
+
+        appendJson(json, "extensions", extensions);
+        appendJson(json, "extensionObservers", extensionObservers);
+        appendJson(json, "beanTypes", beanTypes);
+        appendJson(json, "proxies", proxies);
+        return json.append("\n}\n").toString();
+    }
+
+    private void writeJson(File file)
+    {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs())
+        {
+            logger.warning("Could not create directory for the startup profile " + directory);
+            return;
+        }
+
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8))
+        {
+            writer.write(toJson());
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Could not write startup profile " + file, e);
+        }
+    }
+
+    private void clear()
+    {
+        synchronized (phases)
+        {
+            phases.clear();
+        }
+        extensions.clear();
+        extensionObservers.clear();
+        beanTypes.clear();
+        proxies.clear();
+        eventNames.clear();
+    }
+
+    private Map<String, Long> getPhases()
+    {
+        synchronized (phases)
+        {
+            return new LinkedHashMap<>(phases);
+        }
+    }
+
+    private long getTotal()
+    {
+        long total = 0;
+        for (Long duration : getPhases().values())
+        {
+            total += duration;
+        }
+        return total;
+    }
+
+    /**
+     * @return the name of the CDI SPI interface of the given container event, e.g. ProcessAnnotatedType
+     */
+    private String getEventName(Class<?> eventClass)
+    {
+        String name = eventNames.get(eventClass);
+        if (name == null)
+        {
+            name = eventClass.getSimpleName();
+            for (Class<?> clazz = eventClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass())
+            {
+                String spiName = findSpiInterface(clazz);
+                if (spiName != null)
+                {
+                    name = spiName;
+                    break;
+                }
+            }
+            eventNames.putIfAbsent(eventClass, name);
+        }
+        return name;
+    }
+
+    private static String findSpiInterface(Class<?> clazz)
+    {
+        for (Class<?> intf : clazz.getInterfaces())
+        {
+            if (intf.getName().startsWith(SPI_PACKAGE))
+            {
+                return intf.getSimpleName();
+            }
+        }
+        return null;
+    }
+
+    private static void add(ConcurrentMap<String, Timing> timings, String key, long duration)
+    {
+        Timing timing = timings.get(key);
+        if (timing == null)
+        {
+            Timing newTiming = new Timing(key);
+            timing = timings.putIfAbsent(key, newTiming);
+            if (timing == null)
+            {
+                timing = newTiming;
+            }
+        }
+        timing.add(duration);
+    }
+
+    private static List<Timing> slowest(ConcurrentMap<String, Timing> timings)
+    {
+        List<Timing> sorted = new ArrayList<>(timings.values());
+        Collections.sort(sorted);
+        return sorted.size() > TOP_ENTRIES ? sorted.subList(0, TOP_ENTRIES) : sorted;
+    }
+
+    private static void appendText(StringBuilder text, String title, ConcurrentMap<String, Timing> timings)
+    {
+        if (timings.isEmpty())
+        {
+            return;
+        }
+
+        text.append("\n  ").append(title).append(':');
+        for (Timing timing : slowest(timings))
+        {
+            text.append("\n    ").append(timing.name).append(": ").append(millis(timing.getTotal())).append(" ms");
+            if (timing.getCount() > 1)
+            {
+                text.append(" (").append(timing.getCount()).append(" calls, max ").append(millis(timing.getMax())).append(" ms)");
+            }
+        }
+    }
+
+    private static void appendJson(StringBuilder json, String name, ConcurrentMap<String, Timing> timings)
+    {
+        json.append(",\n  ").append(quote(name)).append(": [");
+        boolean first = true;
+        for (Timing timing : slowest(timings))
+        {
+            json.append(first ? "\n" : ",\n");
+            json.append("    {\"name\": ").append(quote(timing.name))
+                .append(", \"count\": ").append(timing.getCount())
+                .append(", \"totalMillis\": ").append(millis(timing.getTotal()))
+                .append(", \"maxMillis\": ").append(millis(timing.getMax())).append('}');
+            first = false;
+        }
+        json.append(first ? "]" : "\n  ]");
+    }
+
+    private static String millis(long nanos)
+    {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000000d);
+    }
+
+    private static String quote(String value)
+    {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\')
+            {
+                quoted.append('\\').append(c);
+            }
+            else if (c < 0x20)
+            {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            }
+            else
+            {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+
+    private static final class Timing implements Comparable<Timing>
+    {
+        private final String name;
+        private long count;
+        private long total;
+        private long max;
+
+        private Timing(String name)
+        {
+            this.name = name;
+        }
+
+        private synchronized void add(long duration)
+        {
+            count++;
+            total += duration;
+            max = Math.max(max, duration);
+        }
+
+        private synchronized long getCount()
+        {
+            return count;
+        }
+
+        private synchronized long getTotal()
+        {
+            return total;
+        }
+
+        private synchronized long getMax()
+        {
+            return max;
+        }
+
+        @Override
+        public int compareTo(Timing other)
+        {
+            return Long.compare(other.getTotal(), getTotal());
+        }
+    }
+}
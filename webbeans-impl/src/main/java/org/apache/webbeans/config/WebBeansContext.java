@@ -38,6 +38,7 @@ import org.apache.webbeans.context.creational.CreationalContextFactory;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.decorator.DecoratorsManager;
 import org.apache.webbeans.deployment.StereoTypeManager;
+import org.apache.webbeans.el.ELContextStorePool;
 import org.apache.webbeans.event.NotificationManager;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.inject.AlternativesManager;
@@ -107,6 +108,9 @@ public class WebBeansContext
     private ConversationService conversationService;
     private final ApplicationBoundaryService applicationBoundaryService;
     private final NotificationManager notificationManager;
+    private final StartupProfiler startupProfiler = new StartupProfiler(this);
+    private final DeferredBeanValidation deferredBeanValidation = new DeferredBeanValidation(this);
+    private final ELContextStorePool elContextStorePool = new ELContextStorePool();
 
 
     public WebBeansContext()
@@ -184,6 +188,8 @@ public class WebBeansContext
         managerMap.put(StereoTypeManager.class, stereoTypeManager);
         managerMap.put(InterceptorResolutionService.class, interceptorResolutionService);
         managerMap.put(NotificationManager.class, notificationManager);
+        managerMap.put(StartupProfiler.class, startupProfiler);
+        managerMap.put(DeferredBeanValidation.class, deferredBeanValidation);
 
         beanManagerImpl.getInjectionResolver().setFastMatching(!"false".equalsIgnoreCase(getOpenWebBeansConfiguration()
                 .getProperty(OpenWebBeansConfiguration.FAST_MATCHING)));
@@ -252,6 +258,21 @@ public class WebBeansContext
         return serviceInterface.cast(get(implName));
     }
 
+    public StartupProfiler getStartupProfiler()
+    {
+        return startupProfiler;
+    }
+
+    public DeferredBeanValidation getDeferredBeanValidation()
+    {
+        return deferredBeanValidation;
+    }
+
+    public ELContextStorePool getELContextStorePool()
+    {
+        return elContextStorePool;
+    }
+
     public InterceptorUtil getInterceptorUtil()
     {
         return interceptorUtil;
@@ -70,6 +70,18 @@ public abstract class AbstractContextsService implements ContextsService
         return getCurrentContext(scopeType);
     }
 
+    /**
+     * Check this before creating the payload of a context lifecycle event.
+     * For the built-in scopes this is a precomputed lookup once the container is started.
+     *
+     * @param lifecycleEvent e.g. {@link org.apache.webbeans.annotation.DestroyedLiteral#INSTANCE_REQUEST_SCOPED}
+     * @return whether the given Initialized, BeforeDestroyed or Destroyed event has observer methods
+     */
+    protected boolean hasContextLifecycleObserver(Annotation lifecycleEvent)
+    {
+        return webBeansContext.getNotificationManager().hasContextLifecycleObserver(lifecycleEvent);
+    }
+
     @Override
     public void init(Object initializeObject)
     {
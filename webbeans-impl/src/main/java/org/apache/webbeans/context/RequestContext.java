@@ -23,6 +23,7 @@ import java.util.HashMap;
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.spi.Contextual;
 
+import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 /**
@@ -44,6 +45,11 @@ public class RequestContext extends AbstractContext
      */
     private Object httpSession;
 
+    /**
+     * EL cache of this request, lazily attached by {@link ELContextStore#getInstance(boolean)}
+     */
+    private transient ELContextStore elContextStore;
+
     /*
     * Constructor
     */
@@ -97,6 +103,38 @@ public class RequestContext extends AbstractContext
         this.httpSession = httpSession;
     }
 
+    public ELContextStore getELContextStore()
+    {
+        return elContextStore;
+    }
+
+    public void setELContextStore(ELContextStore elContextStore)
+    {
+        this.elContextStore = elContextStore;
+    }
+
+    @Override
+    public void destroy()
+    {
+        // the store must not be reachable anymore once it got returned to the pool
+        releaseELContextStore();
+
+        super.destroy();
+
+        // @PreDestroy callbacks might have evaluated EL expressions again
+        releaseELContextStore();
+    }
+
+    private void releaseELContextStore()
+    {
+        ELContextStore store = elContextStore;
+        if (store != null)
+        {
+            elContextStore = null;
+            store.destroyELContextStore();
+        }
+    }
+
     @Override
     public void destroy(Contextual<?> contextual)
     {
@@ -40,18 +40,31 @@ import org.apache.xbean.finder.filter.Filter;
 import org.apache.xbean.finder.util.Files;
 
 import javax.decorator.Decorator;
+import javax.enterprise.inject.Vetoed;
 import javax.interceptor.Interceptor;
+import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -89,6 +102,13 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
      */
     private Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda;
 
+    /**
+     * Number of class names which get loaded by a single task during parallel class loading
+     */
+    private static final int CLASS_LOADING_CHUNK_SIZE = 256;
+
+    private static final String PACKAGE_INFO = ".package-info";
+
     protected String[] scanningExcludes;
 
     protected ClassLoader loader;
@@ -98,6 +118,16 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     protected BDABeansXmlScanner bdaBeansXmlScanner;
     protected WebBeansContext webBeansContext;
 
+    /**
+     * @see OpenWebBeansConfiguration#SCAN_SNAPSHOT_DIRECTORY
+     */
+    private ScanSnapshot scanSnapshot;
+
+    /**
+     * candidate class names per bean archive URL restored from the {@link #scanSnapshot}
+     */
+    private Map<String, List<String>> snapshotClassNames;
+
     protected AnnotationFinder initFinder()
     {
         if (finder != null)
@@ -151,7 +181,17 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         try
         {
             configure();
-            initFinder();
+
+            scanSnapshot = createScanSnapshot();
+            if (scanSnapshot != null)
+            {
+                snapshotClassNames = scanSnapshot.load();
+            }
+
+            if (snapshotClassNames == null)
+            {
+                initFinder();
+            }
         }
         catch (Exception e)
         {
@@ -161,6 +201,57 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
 
     protected abstract void configure();
 
+    /**
+     * Whether the result of the class scanning may get stored in and restored from a snapshot,
+     * see {@link OpenWebBeansConfiguration#SCAN_SNAPSHOT_DIRECTORY}.
+     * Only scanners which solely rely on the bean archives found by {@link #registerBeanArchives(ClassLoader)}
+     * and the default {@link #initFinder()} can support this, thus it needs to get enabled explicitly.
+     *
+     * @return {@code true} if the scanning result only depends on the scanned classpath entries
+     */
+    protected boolean isScanSnapshotSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Custom archives and user filters cannot be fingerprinted, thus they disable the snapshots.
+     *
+     * @return the snapshot for the current deployment or {@code null} if snapshots are disabled
+     */
+    private ScanSnapshot createScanSnapshot()
+    {
+        String directory = webBeansContext().getOpenWebBeansConfiguration()
+            .getProperty(OpenWebBeansConfiguration.SCAN_SNAPSHOT_DIRECTORY);
+        if (directory == null || directory.trim().isEmpty() || !isScanSnapshotSupported()
+            || getAdditionalArchive() != null || webBeansContext().getService(Filter.class) != null)
+        {
+            return null;
+        }
+
+        if (beanArchiveService == null)
+        {
+            beanArchiveService = webBeansContext().getBeanArchiveService();
+        }
+
+        // the excludes of a beans.xml depend on the environment, e.g. <if-system-property>,
+        // so we fingerprint the effective excludes of each archive
+        Map<String, URL> deploymentUrls = getBeanDeploymentUrls();
+        StringBuilder discriminator = new StringBuilder();
+        discriminator.append(webBeansContext().getPluginLoader().getJavaEEPlugin() != null);
+        for (URL url : deploymentUrls.values())
+        {
+            BeanArchiveService.BeanArchiveInformation beanArchiveInfo = beanArchiveService.getBeanArchiveInformation(url);
+            discriminator.append('|').append(url.toExternalForm())
+                .append(':').append(beanArchiveInfo.getBeanDiscoveryMode())
+                .append(':').append(beanArchiveInfo.getExcludedClasses())
+                .append(':').append(beanArchiveInfo.getExcludedPackages());
+        }
+
+        return ScanSnapshot.of(new File(directory.trim()), deploymentUrls,
+            WebBeansUtil.getCurrentClassLoader(), discriminator.toString());
+    }
+
     /**
      * Since CDI-1.1 this is actually more a 'findBdaBases' as it also
      * picks up jars without marker file.
@@ -299,6 +390,8 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         finder = null;
         archive = null;
         loader = null;
+        scanSnapshot = null;
+        snapshotClassNames = null;
     }
 
 
@@ -386,58 +479,305 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     {
         if (beanClassesPerBda == null)
         {
-            beanClassesPerBda = new HashMap<>();
+            Map<BeanArchiveService.BeanArchiveInformation, List<String>> classNamesPerBda = snapshotClassNames != null
+                ? getCandidateClassNamesFromSnapshot()
+                : getCandidateClassNames();
+
+            ClassLoader classLoader = WebBeansUtil.getCurrentClassLoader();
+            int threads = getClassLoadingThreads(classLoader);
 
-            for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
+            Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> classesPerBda = new LinkedHashMap<>();
+            if (threads <= 1)
             {
-                Set<Class<?>> classSet = new HashSet<>();
-                boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
-                for (String className : foundClasses.getClassNames())
+                for (Map.Entry<BeanArchiveService.BeanArchiveInformation, List<String>> entry : classNamesPerBda.entrySet())
                 {
-                    try
+                    Set<Class<?>> classSet = new LinkedHashSet<>();
+                    for (String className : entry.getValue())
                     {
-                        if (scanModeAnnotated)
-                        {
-                            // in this case we need to find out whether we should keep this class in the Archive
-                            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
-                            if (classInfo == null || !isBeanAnnotatedClass(classInfo))
-                            {
-                                continue;
-                            }
-                        }
-
-                        Class<?> clazz = ClassUtil.getClassFromName(className);
+                        Class<?> clazz = loadBeanClass(className, null);
                         if (clazz != null)
                         {
-                            // try to provoke a NoClassDefFoundError exception which is thrown
-                            // if some dependencies of the class are missing
-                            clazz.getDeclaredFields();
-
-                            // we can add this class cause it has been loaded completely
                             classSet.add(clazz);
                         }
                     }
-                    catch (NoClassDefFoundError e)
+                    classesPerBda.put(entry.getKey(), classSet);
+                }
+            }
+            else
+            {
+                loadBeanClassesInParallel(classNamesPerBda, classesPerBda, classLoader, threads);
+            }
+
+            beanClassesPerBda = classesPerBda;
+        }
+        return beanClassesPerBda;
+    }
+
+    private Map<BeanArchiveService.BeanArchiveInformation, List<String>> getCandidateClassNames()
+    {
+        Set<String> vetoedClasses = Collections.emptySet();
+        Set<String> vetoedPackages = Collections.emptySet();
+        if (webBeansContext().getPluginLoader().getJavaEEPlugin() == null)
+        {
+            // vetoed EE components still need their injection points to be processed, so we only can do this in SE
+            vetoedClasses = finder.getAnnotatedClassNames(Vetoed.class);
+            vetoedPackages = finder.getAnnotatedPackageNames(Vetoed.class);
+        }
+
+        Map<BeanArchiveService.BeanArchiveInformation, List<String>> classNamesPerBda = new LinkedHashMap<>();
+        Map<String, List<String>> classNamesPerUrl = new LinkedHashMap<>();
+        for (Map.Entry<String, CdiArchive.FoundClasses> entry : archive.classesByUrl().entrySet())
+        {
+            CdiArchive.FoundClasses foundClasses = entry.getValue();
+            List<String> classNames = getCandidateClassNames(foundClasses, vetoedClasses, vetoedPackages);
+            classNamesPerBda.put(foundClasses.getBeanArchiveInfo(), classNames);
+            classNamesPerUrl.put(entry.getKey(), classNames);
+        }
+
+        if (scanSnapshot != null)
+        {
+            scanSnapshot.store(classNamesPerUrl);
+        }
+        return classNamesPerBda;
+    }
+
+    private Map<BeanArchiveService.BeanArchiveInformation, List<String>> getCandidateClassNamesFromSnapshot()
+    {
+        Map<BeanArchiveService.BeanArchiveInformation, List<String>> classNamesPerBda = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : snapshotClassNames.entrySet())
+        {
+            try
+            {
+                classNamesPerBda.put(beanArchiveService.getBeanArchiveInformation(new URL(entry.getKey())), entry.getValue());
+            }
+            catch (MalformedURLException e)
+            {
+                throw new WebBeansDeploymentException(e);
+            }
+        }
+        return classNamesPerBda;
+    }
+
+    /**
+     * Filters the class names of the given archive based on the scanned bytecode information,
+     * so that classes which cannot become beans do not get loaded at all.
+     */
+    private List<String> getCandidateClassNames(CdiArchive.FoundClasses foundClasses,
+                                                Set<String> vetoedClasses, Set<String> vetoedPackages)
+    {
+        boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
+
+        List<String> classNames = new ArrayList<>();
+        for (String className : foundClasses.getClassNames())
+        {
+            if (className.endsWith(PACKAGE_INFO) || isVetoed(className, vetoedClasses, vetoedPackages))
+            {
+                continue;
+            }
+
+            if (scanModeAnnotated)
+            {
+                // in this case we need to find out whether we should keep this class in the Archive
+                AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+                if (classInfo == null || !isBeanAnnotatedClass(classInfo))
+                {
+                    continue;
+                }
+            }
+
+            classNames.add(className);
+        }
+        return classNames;
+    }
+
+    /**
+     * Classes which are not detected as vetoed here will still get checked
+     * after loading, e.g. for packages which are not part of a scanned archive.
+     */
+    private boolean isVetoed(String className, Set<String> vetoedClasses, Set<String> vetoedPackages)
+    {
+        if (vetoedClasses.contains(className))
+        {
+            return true;
+        }
+
+        if (!vetoedPackages.isEmpty())
+        {
+            String packageName = className;
+            int idx;
+            while ((idx = packageName.lastIndexOf('.')) > 0)
+            {
+                packageName = packageName.substring(0, idx);
+                if (vetoedPackages.contains(packageName))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads and links the candidate classes of all bean archives on a bounded pool.
+     * The class names get split into chunks and the results get merged in the original order,
+     * so the resulting bean ordering is the same as with serial class loading.
+     */
+    private void loadBeanClassesInParallel(Map<BeanArchiveService.BeanArchiveInformation, List<String>> classNamesPerBda,
+                                           Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> classesPerBda,
+                                           final ClassLoader classLoader, int threads)
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ClassLoadingThreadFactory());
+        try
+        {
+            Map<BeanArchiveService.BeanArchiveInformation, List<Future<List<Class<?>>>>> futuresPerBda = new LinkedHashMap<>();
+            for (Map.Entry<BeanArchiveService.BeanArchiveInformation, List<String>> entry : classNamesPerBda.entrySet())
+            {
+                List<String> classNames = entry.getValue();
+                List<Future<List<Class<?>>>> futures = new ArrayList<>();
+                for (int i = 0; i < classNames.size(); i += CLASS_LOADING_CHUNK_SIZE)
+                {
+                    final List<String> chunk = classNames.subList(i, Math.min(i + CLASS_LOADING_CHUNK_SIZE, classNames.size()));
+                    futures.add(executor.submit(new Callable<List<Class<?>>>()
                     {
-                        if (isAnonymous(className))
+                        @Override
+                        public List<Class<?>> call()
                         {
-                            if (logger.isLoggable(Level.FINE))
+                            List<Class<?>> classes = new ArrayList<>(chunk.size());
+                            for (String className : chunk)
                             {
-                                logger.log(Level.FINE, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+                                Class<?> clazz = loadBeanClass(className, classLoader);
+                                if (clazz != null)
+                                {
+                                    classes.add(clazz);
+                                }
                             }
+                            return classes;
                         }
-                        else if (logger.isLoggable(Level.WARNING))
-                        {
-                            logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
-                        }
-                    }
+                    }));
+                }
+                futuresPerBda.put(entry.getKey(), futures);
+            }
+
+            for (Map.Entry<BeanArchiveService.BeanArchiveInformation, List<Future<List<Class<?>>>>> entry : futuresPerBda.entrySet())
+            {
+                Set<Class<?>> classSet = new LinkedHashSet<>();
+                for (Future<List<Class<?>>> future : entry.getValue())
+                {
+                    classSet.addAll(future.get());
                 }
+                classesPerBda.put(entry.getKey(), classSet);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new WebBeansDeploymentException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new WebBeansDeploymentException(e.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
 
-                beanClassesPerBda.put(foundClasses.getBeanArchiveInfo(), classSet);
+    /**
+     * @param className the class to load
+     * @param classLoader the ClassLoader to use without initializing the class
+     *                    or {@code null} to load and initialize it via the current ClassLoader
+     * @return the loaded class or {@code null} if the class or one of its dependencies cannot be loaded
+     */
+    private Class<?> loadBeanClass(String className, ClassLoader classLoader)
+    {
+        try
+        {
+            Class<?> clazz = classLoader == null
+                ? ClassUtil.getClassFromName(className)
+                : ClassUtil.getClassFromName(className, classLoader, false);
+            if (clazz != null)
+            {
+                // try to provoke a NoClassDefFoundError exception which is thrown
+                // if some dependencies of the class are missing
+                clazz.getDeclaredFields();
             }
 
+            // we can add this class cause it has been loaded completely
+            return clazz;
+        }
+        catch (NoClassDefFoundError e)
+        {
+            if (isAnonymous(className))
+            {
+                if (logger.isLoggable(Level.FINE))
+                {
+                    logger.log(Level.FINE, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+                }
+            }
+            else if (logger.isLoggable(Level.WARNING))
+            {
+                logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of threads to use for loading the bean classes.
+     * @see OpenWebBeansConfiguration#SCAN_CLASS_LOADING_THREADS
+     */
+    private int getClassLoadingThreads(ClassLoader classLoader)
+    {
+        String threadsCfg = webBeansContext().getOpenWebBeansConfiguration()
+            .getProperty(OpenWebBeansConfiguration.SCAN_CLASS_LOADING_THREADS);
+        if (threadsCfg == null || threadsCfg.trim().isEmpty())
+        {
+            return 1;
+        }
+
+        int threads;
+        if ("auto".equalsIgnoreCase(threadsCfg.trim()))
+        {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        else
+        {
+            try
+            {
+                threads = Integer.parseInt(threadsCfg.trim());
+            }
+            catch (NumberFormatException e)
+            {
+                logger.warning("Invalid value for " + OpenWebBeansConfiguration.SCAN_CLASS_LOADING_THREADS + ": " + threadsCfg);
+                return 1;
+            }
+        }
+
+        if (threads > 1 && !isParallelCapable(classLoader))
+        {
+            // such a ClassLoader would serialize all our threads anyway
+            return 1;
+        }
+        return threads;
+    }
+
+    private static boolean isParallelCapable(ClassLoader classLoader)
+    {
+        try
+        {
+            // only available since Java 9, all ClassLoaders of common containers are parallel capable anyway
+            Method isParallelCapable = ClassLoader.class.getMethod("isRegisteredAsParallelCapable");
+            return (Boolean) isParallelCapable.invoke(classLoader);
+        }
+        catch (NoSuchMethodException e)
+        {
+            return true;
+        }
+        catch (ReflectiveOperationException e)
+        {
+            return false;
         }
-        return beanClassesPerBda;
     }
 
     private boolean isAnonymous(final String className)
@@ -468,6 +808,18 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         return Collections.EMPTY_SET;
     }
 
+    /**
+     * Allows to tell from the scanned bytecode whether a class uses one of the given annotations
+     * without reflecting on the class and its members.
+     *
+     * @return {@code null} if there is no bytecode information for the class or one of its superclasses
+     * @see OwbAnnotationFinder#isAnnotatedInHierarchy(String, Set)
+     */
+    public Boolean isAnnotatedInHierarchy(Class<?> clazz, Set<Class<? extends Annotation>> annotations)
+    {
+        return finder != null ? finder.isAnnotatedInHierarchy(clazz.getName(), annotations) : null;
+    }
+
     /**
      * This method is called for classes from bean archives with
      * bean-discovery-mode 'annotated'.
@@ -541,6 +893,19 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         {
             webBeansContext = WebBeansContext.getInstance();
         }
-        return WebBeansContext.getInstance();
+        return webBeansContext;
+    }
+
+    private static final class ClassLoadingThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "OWB-ClassLoading-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.finder.util.Files;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores the bean class candidates found by the bytecode scanning on disk.
+ * The snapshot file is named after a fingerprint of all scanned classpath entries
+ * (size and last modification of every jar and class file), of the effective
+ * beans.xml excludes and of all {@code META-INF/openwebbeans/openwebbeans.properties} files.
+ * If nothing changed, the next start can skip the bytecode scanning completely.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SCAN_SNAPSHOT_DIRECTORY
+ */
+final class ScanSnapshot
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ScanSnapshot.class);
+
+    private static final String FORMAT_HEADER = "# OpenWebBeans scan snapshot v1";
+    private static final String ARCHIVE_PREFIX = "A ";
+    private static final String CLASS_PREFIX = "C ";
+
+    private final File snapshotFile;
+
+    private ScanSnapshot(File snapshotFile)
+    {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * @param directory the directory to store the snapshots in
+     * @param deploymentUrls all bean deployment URLs keyed by their beans.xml location
+     * @param loader the ClassLoader to look up the openwebbeans.properties files
+     * @param discriminator further information which influences the scanning result
+     * @return the snapshot for the current deployment or {@code null} if the deployment cannot be fingerprinted
+     */
+    static ScanSnapshot of(File directory, Map<String, URL> deploymentUrls, ClassLoader loader, String discriminator)
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, FORMAT_HEADER);
+            update(digest, discriminator);
+
+            for (Map.Entry<String, URL> entry : new TreeMap<>(deploymentUrls).entrySet())
+            {
+                File file;
+                try
+                {
+                    file = Files.toFile(entry.getValue());
+                }
+                catch (IllegalArgumentException e)
+                {
+                    // no file based classpath entry, we cannot tell whether it changed
+                    return null;
+                }
+
+                update(digest, entry.getKey());
+                update(digest, entry.getValue().toExternalForm());
+                fingerprint(digest, file);
+
+                // e.g. WEB-INF/beans.xml is not part of the classpath entry itself
+                if (entry.getKey().startsWith("file:") && entry.getKey().endsWith(".xml"))
+                {
+                    fingerprint(digest, Files.toFile(new URL(entry.getKey())));
+                }
+            }
+
+            Enumeration<URL> configs = loader.getResources("META-INF/openwebbeans/openwebbeans.properties");
+            while (configs.hasMoreElements())
+            {
+                URL config = configs.nextElement();
+                update(digest, config.toExternalForm());
+                try (InputStream in = config.openStream())
+                {
+                    byte[] buffer = new byte[4096];
+                    int read;
+                    while ((read = in.read(buffer)) > 0)
+                    {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+
+            StringBuilder name = new StringBuilder("owb-scan-");
+            for (byte b : digest.digest())
+            {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return new ScanSnapshot(new File(directory, name.append(".snapshot").toString()));
+        }
+        catch (IOException | NoSuchAlgorithmException e)
+        {
+            logger.log(Level.WARNING, "Could not fingerprint the deployment, scan snapshots are disabled", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the candidate class names per bean archive URL or {@code null} if there is no snapshot yet
+     */
+    Map<String, List<String>> load()
+    {
+        if (!snapshotFile.isFile())
+        {
+            return null;
+        }
+
+        Map<String, List<String>> classNamesPerArchive = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(java.nio.file.Files.newInputStream(snapshotFile.toPath()), StandardCharsets.UTF_8)))
+        {
+            if (!FORMAT_HEADER.equals(reader.readLine()))
+            {
+                return null;
+            }
+
+            List<String> classNames = null;
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (line.startsWith(ARCHIVE_PREFIX))
+                {
+                    classNames = new ArrayList<>();
+                    classNamesPerArchive.put(line.substring(ARCHIVE_PREFIX.length()), classNames);
+                }
+                else if (line.startsWith(CLASS_PREFIX) && classNames != null)
+                {
+                    classNames.add(line.substring(CLASS_PREFIX.length()));
+                }
+                else
+                {
+                    return null;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Could not read scan snapshot " + snapshotFile, e);
+            return null;
+        }
+
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.fine("Using scan snapshot " + snapshotFile);
+        }
+        return classNamesPerArchive;
+    }
+
+    /**
+     * @param classNamesPerArchive the candidate class names per bean archive URL
+     */
+    void store(Map<String, List<String>> classNamesPerArchive)
+    {
+        File directory = snapshotFile.getParentFile();
+        if (!directory.mkdirs() && !directory.isDirectory())
+        {
+            logger.warning("Could not create scan snapshot directory " + directory);
+            return;
+        }
+
+        Path tmpFile = null;
+        try
+        {
+            // a unique file, other instances might write the same snapshot concurrently
+            tmpFile = java.nio.file.Files.createTempFile(directory.toPath(), snapshotFile.getName(), ".tmp");
+            try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(java.nio.file.Files.newOutputStream(tmpFile), StandardCharsets.UTF_8)))
+            {
+                writer.write(FORMAT_HEADER);
+                writer.write('\n');
+                for (Map.Entry<String, List<String>> entry : classNamesPerArchive.entrySet())
+                {
+                    writer.write(ARCHIVE_PREFIX);
+                    writer.write(entry.getKey());
+                    writer.write('\n');
+                    for (String className : entry.getValue())
+                    {
+                        writer.write(CLASS_PREFIX);
+                        writer.write(className);
+                        writer.write('\n');
+                    }
+                }
+            }
+
+            // other instances might start concurrently, they must never see a half written snapshot
+            java.nio.file.Files.move(tmpFile, snapshotFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Could not write scan snapshot " + snapshotFile, e);
+            if (tmpFile != null)
+            {
+                try
+                {
+                    java.nio.file.Files.deleteIfExists(tmpFile);
+                }
+                catch (IOException ioe)
+                {
+                    // nothing we can do about it
+                }
+            }
+        }
+    }
+
+    private static void fingerprint(final MessageDigest digest, File file) throws IOException
+    {
+        if (file.isDirectory())
+        {
+            final Path root = file.toPath();
+            final Map<String, String> entries = new TreeMap<>();
+            java.nio.file.Files.walkFileTree(root, new SimpleFileVisitor<Path>()
+            {
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attributes)
+                {
+                    entries.put(root.relativize(path).toString(), attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+
+            for (Map.Entry<String, String> entry : entries.entrySet())
+            {
+                update(digest, entry.getKey());
+                update(digest, entry.getValue());
+            }
+        }
+        else
+        {
+            update(digest, file.length() + ":" + file.lastModified());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value)
+    {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
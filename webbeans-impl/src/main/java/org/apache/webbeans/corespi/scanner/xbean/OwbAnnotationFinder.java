@@ -18,6 +18,14 @@
  */
 package org.apache.webbeans.corespi.scanner.xbean;
 
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.apache.xbean.finder.AnnotationFinder;
 import org.apache.xbean.finder.archive.Archive;
 
@@ -27,6 +35,14 @@ import org.apache.xbean.finder.archive.Archive;
  */
 public class OwbAnnotationFinder extends AnnotationFinder
 {
+    private static final String PACKAGE_INFO = ".package-info";
+
+    /**
+     * Whether an annotation name matches the {@link #matchingAnnotationsKey}, either directly or as meta-annotation
+     */
+    private final Map<String, Boolean> matchingAnnotations = new HashMap<>();
+    private Set<Class<? extends Annotation>> matchingAnnotationsKey;
+
     public OwbAnnotationFinder(Archive archive, boolean checkRuntimeAnnotation)
     {
         super(archive, checkRuntimeAnnotation);
@@ -42,4 +58,171 @@ public class OwbAnnotationFinder extends AnnotationFinder
         return classInfos.get(className);
     }
 
+    /**
+     * Evaluated from the bytecode, so the classes do not need to get loaded.
+     *
+     * @param annotation the annotation to look for
+     * @return the names of all scanned classes which are directly annotated with the given annotation
+     */
+    public Set<String> getAnnotatedClassNames(Class<? extends Annotation> annotation)
+    {
+        return getAnnotatedNames(annotation, false);
+    }
+
+    /**
+     * Evaluated from the bytecode of the package-info classes, so the packages do not need to get loaded.
+     *
+     * @param annotation the annotation to look for
+     * @return the names of all scanned packages which are annotated with the given annotation
+     */
+    public Set<String> getAnnotatedPackageNames(Class<? extends Annotation> annotation)
+    {
+        return getAnnotatedNames(annotation, true);
+    }
+
+    /**
+     * Evaluated from the bytecode, so neither the class nor its members need to get reflected.
+     * An annotation also matches if it is meta-annotated with one of the given annotations.
+     *
+     * @param className the class to check
+     * @param annotations the annotations to look for
+     * @return whether the class, one of its superclasses or one of their fields, methods, constructors or parameters
+     *         is annotated with one of the given annotations.
+     *         {@code null} if this cannot be told because the class or one of its superclasses did not get scanned.
+     */
+    public Boolean isAnnotatedInHierarchy(String className, Set<Class<? extends Annotation>> annotations)
+    {
+        if (!annotations.equals(matchingAnnotationsKey))
+        {
+            matchingAnnotations.clear();
+            matchingAnnotationsKey = new HashSet<>(annotations);
+        }
+
+        String name = className;
+        while (name != null && !Object.class.getName().equals(name))
+        {
+            ClassInfo classInfo = classInfos.get(name);
+            if (classInfo == null)
+            {
+                return null;
+            }
+
+            if (hasMatchingAnnotation(classInfo.getAnnotations(), annotations))
+            {
+                return Boolean.TRUE;
+            }
+            for (FieldInfo field : classInfo.getFields())
+            {
+                if (hasMatchingAnnotation(field.getAnnotations(), annotations))
+                {
+                    return Boolean.TRUE;
+                }
+            }
+            if (hasMatchingMethodAnnotation(classInfo.getMethods(), annotations)
+                || hasMatchingMethodAnnotation(classInfo.getConstructors(), annotations))
+            {
+                return Boolean.TRUE;
+            }
+
+            name = classInfo.getSuperType();
+        }
+        return Boolean.FALSE;
+    }
+
+    private boolean hasMatchingMethodAnnotation(List<MethodInfo> methods, Set<Class<? extends Annotation>> annotations)
+    {
+        for (MethodInfo method : methods)
+        {
+            if (hasMatchingAnnotation(method.getAnnotations(), annotations))
+            {
+                return true;
+            }
+            for (List<AnnotationInfo> parameterAnnotations : method.getParameterAnnotations())
+            {
+                if (hasMatchingAnnotation(parameterAnnotations, annotations))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasMatchingAnnotation(List<AnnotationInfo> annotationInfos, Set<Class<? extends Annotation>> annotations)
+    {
+        for (AnnotationInfo annotationInfo : annotationInfos)
+        {
+            String annotationName = annotationInfo.getName();
+            Boolean matching = matchingAnnotations.get(annotationName);
+            if (matching == null)
+            {
+                matching = isMatchingAnnotation(annotationName, annotations);
+                matchingAnnotations.put(annotationName, matching);
+            }
+            if (matching)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isMatchingAnnotation(String annotationName, Set<Class<? extends Annotation>> annotations)
+    {
+        for (Class<? extends Annotation> annotation : annotations)
+        {
+            if (annotation.getName().equals(annotationName))
+            {
+                return true;
+            }
+        }
+
+        try
+        {
+            Class<?> annotationType = getArchive().loadClass(annotationName);
+            for (Annotation meta : annotationType.getAnnotations())
+            {
+                if (annotations.contains(meta.annotationType()))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            // better fire one event too much
+            return true;
+        }
+    }
+
+    private Set<String> getAnnotatedNames(Class<? extends Annotation> annotation, boolean packages)
+    {
+        List<Info> infos = annotated.get(annotation.getName());
+        if (infos == null || infos.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        Set<String> names = new HashSet<>();
+        for (Info info : infos)
+        {
+            if (packages && info instanceof PackageInfo)
+            {
+                String name = info.getName();
+                if (name.endsWith(PACKAGE_INFO))
+                {
+                    // the name of the package-info class
+                    name = name.substring(0, name.length() - PACKAGE_INFO.length());
+                }
+                names.add(name);
+            }
+            else if (!packages && info instanceof ClassInfo)
+            {
+                names.add(info.getName());
+            }
+        }
+        return names;
+    }
+
 }
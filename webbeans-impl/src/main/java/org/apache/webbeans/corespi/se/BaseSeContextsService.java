@@ -299,8 +299,11 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         // location but this is WAY to early for userland apps
         // This also gets sent in the application startup code after AfterDeploymentValidation got fired.
         // see AbstractLifecycle#afterStartApplication
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-            new Object(), InitializedLiteral.INSTANCE_APPLICATION_SCOPED);
+        if (hasContextLifecycleObserver(InitializedLiteral.INSTANCE_APPLICATION_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                new Object(), InitializedLiteral.INSTANCE_APPLICATION_SCOPED);
+        }
     }
 
     
@@ -311,7 +314,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         ctx.setActive(true);
         conversationContext.set(ctx);
 
-        if (ctx.getConversation().isTransient())
+        if (ctx.getConversation().isTransient() && hasContextLifecycleObserver(InitializedLiteral.INSTANCE_CONVERSATION_SCOPED))
         {
             webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                 conversationManager.getLifecycleEventPayload(ctx), InitializedLiteral.INSTANCE_CONVERSATION_SCOPED);
@@ -326,8 +329,11 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         ctx.setActive(true);
         
         requestContext.set(ctx);
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-            new Object(), InitializedLiteral.INSTANCE_REQUEST_SCOPED);
+        if (hasContextLifecycleObserver(InitializedLiteral.INSTANCE_REQUEST_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                new Object(), InitializedLiteral.INSTANCE_REQUEST_SCOPED);
+        }
     }
 
     
@@ -337,8 +343,11 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         ctx.setActive(true);
         
         sessionContext.set(ctx);
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-            new Object(), InitializedLiteral.INSTANCE_SESSION_SCOPED);
+        if (hasContextLifecycleObserver(InitializedLiteral.INSTANCE_SESSION_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                new Object(), InitializedLiteral.INSTANCE_SESSION_SCOPED);
+        }
     }
 
     
@@ -346,23 +355,32 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     {
 
         createSingletonContext();
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-            new Object(), InitializedLiteral.INSTANCE_SINGLETON_SCOPED);
+        if (hasContextLifecycleObserver(InitializedLiteral.INSTANCE_SINGLETON_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                new Object(), InitializedLiteral.INSTANCE_SINGLETON_SCOPED);
+        }
     }
 
     private void stopApplicationContext()
     {
         if(applicationContext != null && !applicationContext.isDestroyed())
         {
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+            if (hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_APPLICATION_SCOPED))
+            {
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                     new Object(), BeforeDestroyedLiteral.INSTANCE_APPLICATION_SCOPED);
+            }
 
             applicationContext.destroy();
 
             // this is needed to get rid of ApplicationScoped beans which are cached inside the proxies...
             WebBeansContext.currentInstance().getBeanManagerImpl().clearCacheProxies();
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                new Object(), DestroyedLiteral.INSTANCE_APPLICATION_SCOPED);
+            if (hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_APPLICATION_SCOPED))
+            {
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                    new Object(), DestroyedLiteral.INSTANCE_APPLICATION_SCOPED);
+            }
         }
     }
 
@@ -389,8 +407,11 @@ public abstract class BaseSeContextsService extends AbstractContextsService
             conversationContext.remove();
         }
 
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+        if (hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_REQUEST_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                 new Object(), BeforeDestroyedLiteral.INSTANCE_REQUEST_SCOPED);
+        }
         if(requestContext.get() != null)
         {
             requestContext.get().destroy();   
@@ -399,15 +420,21 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         requestContext.set(null);
         requestContext.remove();
         RequestScopedBeanInterceptorHandler.removeThreadLocals();
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-            new Object(), DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
+        if (hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_REQUEST_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                new Object(), DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
+        }
     }
 
     
     private void stopSessionContext()
     {
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+        if (hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                 new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
+        }
         if(sessionContext.get() != null)
         {
             sessionContext.get().destroy();   
@@ -416,17 +443,26 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         sessionContext.set(null);
         sessionContext.remove();
         SessionScopedBeanInterceptorHandler.removeThreadLocals();
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-            new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
+        if (hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_SESSION_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
+        }
     }
 
     
     private void stopSingletonContext()
     {
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-            new Object(), BeforeDestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+        if (hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_SINGLETON_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                new Object(), BeforeDestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+        }
         destroySingletonContext();
-        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-            new Object(), DestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+        if (hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_SINGLETON_SCOPED))
+        {
+            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                new Object(), DestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+        }
     }
 }
@@ -37,6 +37,12 @@ public class DefaultScannerService extends AbstractMetaDataDiscovery
         registerBeanArchives(loader);
     }
 
+    @Override
+    protected boolean isScanSnapshotSupported()
+    {
+        return true;
+    }
+
     
 
 }
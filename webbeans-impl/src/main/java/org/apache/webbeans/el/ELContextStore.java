@@ -21,9 +21,14 @@ package org.apache.webbeans.el;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
 
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.RequestContext;
+
 /**
  * The ELContextStore serves two different purposes
  *
@@ -35,28 +40,67 @@ import javax.enterprise.inject.spi.Bean;
  *   got scanned.
  *  </li>
  *  <li>
- *   Store the Contextual Reference for each name per request thread. This is a performance
+ *   Store the Contextual Reference for each name per request. This is a performance
  *   tuning strategy, because creating a {@link org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler}
- *   for each and every EL call is very expensive. This needs to be cleaned up with
- *   {@link #destroyELContextStore()} at the end of each request. 
+ *   for each and every EL call is very expensive. This gets cleaned up with
+ *   {@link #destroyELContextStore()} when the {@link RequestContext} gets destroyed.
  *  </li>
  * </ol>
+ *
+ * <p>
+ * If a {@link RequestContext} is active the store is attached to it. Only EL evaluations
+ * outside of a request use a ThreadLocal store. The internal maps only get created
+ * once a bean really gets stored. Destroyed stores keep their cleared maps and get
+ * reused for subsequent requests of the same application, see {@link ELContextStorePool}.
+ * </p>
  */
 public final class ELContextStore
 {
+    /**
+     * Only used for EL evaluations outside of an active {@link RequestContext}.
+     */
     private static ThreadLocal<ELContextStore> contextStores = new ThreadLocal<>();
 
     /**
+     * This needs to lookup the current WebBeansContext. Frequently called code like
+     * EL expressions should rather use {@link #getInstance(WebBeansContext, boolean)}
+     * with the WebBeansContext they already know.
+     *
      * @param createIfNotExist if <code>false</code> doesn't create a new ELContextStore if none exists
-     * @return
+     * @return the ELContextStore of the current request or <code>null</code>
      */
     public static ELContextStore getInstance(boolean createIfNotExist)
     {
-        ELContextStore store = contextStores.get();
+        return getInstance(WebBeansContext.currentInstance(), createIfNotExist);
+    }
+
+    /**
+     * @param webBeansContext the WebBeansContext of the application
+     * @param createIfNotExist if <code>false</code> doesn't create a new ELContextStore if none exists
+     * @return the ELContextStore of the current request or <code>null</code>
+     */
+    public static ELContextStore getInstance(WebBeansContext webBeansContext, boolean createIfNotExist)
+    {
+        Context context = webBeansContext.getContextsService().getCurrentContext(RequestScoped.class, false);
+        if (context instanceof RequestContext)
+        {
+            RequestContext requestContext = (RequestContext) context;
+            ELContextStore store = requestContext.getELContextStore();
+            if (store == null && createIfNotExist)
+            {
+                store = webBeansContext.getELContextStorePool().obtain();
+                store.pooled = false;
+                store.requestContext = requestContext;
+                requestContext.setELContextStore(store);
+            }
+            return store;
+        }
 
+        ELContextStore store = contextStores.get();
         if (store == null && createIfNotExist)
         {
-            store = new ELContextStore();
+            store = webBeansContext.getELContextStorePool().obtain();
+            store.pooled = false;
             contextStores.set(store);
         }
 
@@ -66,8 +110,8 @@ public final class ELContextStore
     /**
      * The same Expression must get same instances of &#064;Dependent beans
      */
-    private Map<Bean<?>, CreationalStore<?>> dependentObjects = new HashMap<>();
-    private Map<String, Bean<?>> beanNameToDependentBeanMapping = new HashMap<>();
+    private Map<Bean<?>, CreationalStore<?>> dependentObjects;
+    private Map<String, Bean<?>> beanNameToDependentBeanMapping;
 
     /**
      * Cache for resolved proxies of &#064;NormalScoped beans. This heavily speeds up pages with
@@ -75,15 +119,35 @@ public final class ELContextStore
      * property. If we wouldn't cache this, every EL call would create a new proxy and
      * drops it after the EL.
      */
-    private Map<String, Object> normalScopedObjects = new HashMap<>();
+    private Map<String, Object> normalScopedObjects;
+
+    /**
+     * The RequestContext this store is attached to or <code>null</code> for a ThreadLocal store
+     */
+    private RequestContext requestContext;
+
+    /**
+     * The pool of the application this store belongs to
+     */
+    private final ELContextStorePool pool;
+
+    private boolean pooled;
 
     public Object findBeanByName(String name)
     {
-        Object cachedBean = normalScopedObjects.get(name);
+        if (normalScopedObjects != null)
+        {
+            Object cachedBean = normalScopedObjects.get(name);
 
-        if(cachedBean != null)
+            if(cachedBean != null)
+            {
+                return cachedBean;
+            }
+        }
+
+        if (beanNameToDependentBeanMapping == null)
         {
-            return cachedBean;
+            return null;
         }
 
         Bean<?> dependentBean = beanNameToDependentBeanMapping.get(name);
@@ -135,8 +199,9 @@ public final class ELContextStore
     /**
      * This class can only get constructed via {@link #getInstance(boolean)}
      */
-    private ELContextStore()
+    ELContextStore(ELContextStorePool pool)
     {
+        this.pool = pool;
     }
 
     /**
@@ -148,6 +213,11 @@ public final class ELContextStore
      */
     public void addDependent(Bean<?> bean, Object dependent, CreationalContext<?> creationalContext)
     {
+        if (dependentObjects == null)
+        {
+            dependentObjects = new HashMap<>();
+            beanNameToDependentBeanMapping = new HashMap<>();
+        }
         dependentObjects.put(bean, new CreationalStore(dependent, creationalContext));
         beanNameToDependentBeanMapping.put(bean.getName(), bean);
     }
@@ -159,6 +229,10 @@ public final class ELContextStore
      */
     public Object getDependent(Bean<?> bean)
     {
+        if (dependentObjects == null)
+        {
+            return null;
+        }
         CreationalStore sc = dependentObjects.get(bean);
 
         return sc != null ? sc.getObject() : null;
@@ -170,6 +244,10 @@ public final class ELContextStore
      */
     public void addNormalScoped(String beanName, Object contextualInstance)
     {
+        if (normalScopedObjects == null)
+        {
+            normalScopedObjects = new HashMap<>();
+        }
         normalScopedObjects.put(beanName, contextualInstance);
     }
 
@@ -179,6 +257,10 @@ public final class ELContextStore
      */
     public void destroyDependents()
     {
+        if (dependentObjects == null)
+        {
+            return;
+        }
         if (dependentObjects.size() > 0)
         {
             for (Map.Entry<Bean<?>, CreationalStore<?>> storeEntry : dependentObjects.entrySet())
@@ -195,12 +277,38 @@ public final class ELContextStore
     /**
      * This needs to be called at the end of each request.
      * Because after the request ends, a server might reuse
-     * the Thread to serve other requests (from other WebApps) 
+     * the Thread to serve other requests (from other WebApps).
+     * This gets done automatically when the {@link RequestContext}
+     * this store is attached to gets destroyed.
      */
     public void destroyELContextStore()
     {
-        normalScopedObjects.clear();
-        contextStores.set(null);
-        contextStores.remove();
+        if (pooled)
+        {
+            return;
+        }
+
+        // detach first, thus EL evaluations during the destruction of the dependents get a new store
+        if (requestContext != null)
+        {
+            if (requestContext.getELContextStore() == this)
+            {
+                requestContext.setELContextStore(null);
+            }
+            requestContext = null;
+        }
+        else if (contextStores.get() == this)
+        {
+            contextStores.set(null);
+            contextStores.remove();
+        }
+
+        destroyDependents();
+        if (normalScopedObjects != null)
+        {
+            normalScopedObjects.clear();
+        }
+
+        pooled = pool.release(this);
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Destroyed {@link ELContextStore}s with their cleared maps for being reused.
+ *
+ * There is one pool per {@link org.apache.webbeans.config.WebBeansContext}, thus pooled
+ * stores never cross application boundaries even if OWB lives in a shared ClassLoader.
+ * We do not pool per Thread as this would keep the ClassLoader of webapps alive
+ * via the ThreadLocals of container threads.
+ */
+public final class ELContextStorePool
+{
+    private static final int POOL_SIZE = 64;
+
+    private final Queue<ELContextStore> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    ELContextStore obtain()
+    {
+        ELContextStore store = pool.poll();
+        if (store == null)
+        {
+            return new ELContextStore(this);
+        }
+        return store;
+    }
+
+    /**
+     * @return <code>true</code> if the store got pooled, <code>false</code> if the pool is full
+     */
+    boolean release(ELContextStore store)
+    {
+        return pool.offer(store);
+    }
+}
@@ -28,8 +28,10 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -63,13 +65,18 @@ import javax.enterprise.inject.spi.ObserverMethod;
 import javax.enterprise.inject.spi.ProcessAnnotatedType;
 import javax.enterprise.inject.spi.ProcessProducer;
 
+import org.apache.webbeans.annotation.BeforeDestroyedLiteral;
+import org.apache.webbeans.annotation.DestroyedLiteral;
+import org.apache.webbeans.annotation.InitializedLiteral;
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.portable.events.generics.GProcessAnnotatedType;
 import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
 import org.apache.webbeans.portable.events.generics.GenericBeanEvent;
 import org.apache.webbeans.portable.events.generics.GenericProducerObserverEvent;
@@ -85,6 +92,7 @@ public final class NotificationManager
 {
     private final Map<Type, Set<ObserverMethod<?>>> observers = new ConcurrentHashMap<>();
     private final WebBeansContext webBeansContext;
+    private final StartupProfiler startupProfiler;
 
     private final NotificationOptions defaultNotificationOptions;
 
@@ -94,6 +102,13 @@ public final class NotificationManager
     private final ConcurrentMap<Annotation, Boolean> hasContextLifecycleEventObservers
         = new ConcurrentHashMap<>();
 
+    /**
+     * Precomputed flags for the Initialized, BeforeDestroyed and Destroyed literal instances
+     * of all built-in scopes. Looked up by identity, thus no Annotation#hashCode gets computed.
+     * This is {@code null} until {@link #initContextLifecycleObservers()} got called after the deployment.
+     */
+    private volatile Map<Annotation, Boolean> builtInContextLifecycleEventObservers;
+
     /**
      * List of ObserverMethods cached by their raw types.
      */
@@ -114,6 +129,7 @@ public final class NotificationManager
     public NotificationManager(WebBeansContext webBeansContext)
     {
         this.webBeansContext = webBeansContext;
+        this.startupProfiler = webBeansContext.getStartupProfiler();
         this.defaultNotificationOptions = NotificationOptions.ofExecutor(getDefaultExecutor());
     }
 
@@ -136,6 +152,42 @@ public final class NotificationManager
     {
         observersByRawType.clear();
         hasContextLifecycleEventObservers.clear();
+        builtInContextLifecycleEventObservers = null;
+    }
+
+    /**
+     * Precompute whether the Initialized, BeforeDestroyed and Destroyed events of the built-in
+     * scopes have observers. This needs to get called once the deployment is finished
+     * as no observer methods can get added afterwards.
+     */
+    public void initContextLifecycleObservers()
+    {
+        Annotation[] lifecycleEvents =
+            {
+                InitializedLiteral.INSTANCE_REQUEST_SCOPED,
+                BeforeDestroyedLiteral.INSTANCE_REQUEST_SCOPED,
+                DestroyedLiteral.INSTANCE_REQUEST_SCOPED,
+                InitializedLiteral.INSTANCE_SESSION_SCOPED,
+                BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED,
+                DestroyedLiteral.INSTANCE_SESSION_SCOPED,
+                InitializedLiteral.INSTANCE_CONVERSATION_SCOPED,
+                BeforeDestroyedLiteral.INSTANCE_CONVERSATION_SCOPED,
+                DestroyedLiteral.INSTANCE_CONVERSATION_SCOPED,
+                InitializedLiteral.INSTANCE_APPLICATION_SCOPED,
+                BeforeDestroyedLiteral.INSTANCE_APPLICATION_SCOPED,
+                DestroyedLiteral.INSTANCE_APPLICATION_SCOPED,
+                InitializedLiteral.INSTANCE_SINGLETON_SCOPED,
+                BeforeDestroyedLiteral.INSTANCE_SINGLETON_SCOPED,
+                DestroyedLiteral.INSTANCE_SINGLETON_SCOPED
+            };
+
+        builtInContextLifecycleEventObservers = null;
+        Map<Annotation, Boolean> builtInObservers = new IdentityHashMap<>(lifecycleEvents.length);
+        for (Annotation lifecycleEvent : lifecycleEvents)
+        {
+            builtInObservers.put(lifecycleEvent, hasContextLifecycleObserver(lifecycleEvent));
+        }
+        builtInContextLifecycleEventObservers = builtInObservers;
     }
 
     /**
@@ -145,6 +197,16 @@ public final class NotificationManager
      */
     public boolean hasContextLifecycleObserver(Annotation lifecycleEvent)
     {
+        Map<Annotation, Boolean> builtInObservers = builtInContextLifecycleEventObservers;
+        if (builtInObservers != null)
+        {
+            Boolean hasObserver = builtInObservers.get(lifecycleEvent);
+            if (hasObserver != null)
+            {
+                return hasObserver;
+            }
+        }
+
         Boolean hasObserver = hasContextLifecycleEventObservers.get(lifecycleEvent);
         if (hasObserver == null)
         {
@@ -213,6 +275,64 @@ public final class NotificationManager
         return observersMethods;
     }
 
+    /**
+     * Collects what the Extension observers of {@link ProcessAnnotatedType} are interested in.
+     * This allows to skip the event for all types no Extension cares about.
+     *
+     * @return {@code null} if at least one observer has no {@link javax.enterprise.inject.spi.WithAnnotations},
+     *         thus every type needs the event. Otherwise the union of all WithAnnotations,
+     *         which is empty if no Extension observes ProcessAnnotatedType at all.
+     */
+    public Set<Class<? extends Annotation>> getProcessAnnotatedTypeWithAnnotations()
+    {
+        Set<Class<? extends Annotation>> withAnnotations = new HashSet<>();
+        for (Map.Entry<Type, Set<ObserverMethod<?>>> observerEntry : observers.entrySet())
+        {
+            Class<?> observerClass = ClassUtil.getClazz(observerEntry.getKey());
+            if (observerClass == null
+                || !observerClass.isAssignableFrom(GProcessAnnotatedType.class)
+                || !WebBeansUtil.isDefaultExtensionBeanEventType(observerClass))
+            {
+                continue;
+            }
+
+            for (ObserverMethod<?> observerMethod : observerEntry.getValue())
+            {
+                if (!Extension.class.isAssignableFrom(observerMethod.getBeanClass()))
+                {
+                    continue;
+                }
+
+                Class<? extends Annotation>[] observerWithAnnotations = observerMethod instanceof ContainerEventObserverMethodImpl
+                    ? ((ContainerEventObserverMethodImpl) observerMethod).getWithAnnotations()
+                    : null;
+                if (observerWithAnnotations == null || observerWithAnnotations.length == 0)
+                {
+                    return null;
+                }
+                Collections.addAll(withAnnotations, observerWithAnnotations);
+            }
+        }
+        return withAnnotations;
+    }
+
+    /**
+     * @param withAnnotations as returned by {@link #getProcessAnnotatedTypeWithAnnotations()}
+     * @return whether any Extension might observe the ProcessAnnotatedType event of the given type
+     */
+    public boolean isProcessAnnotatedTypeObserved(AnnotatedType<?> annotatedType, Set<Class<? extends Annotation>> withAnnotations)
+    {
+        if (withAnnotations == null)
+        {
+            return true;
+        }
+        if (withAnnotations.isEmpty())
+        {
+            return false;
+        }
+        return annotatedTypeHasAnnotations(annotatedType, withAnnotations.toArray(new Class[withAnnotations.size()]));
+    }
+
     private <T> Collection<ObserverMethod<? super T>> filterByWithAnnotations(Collection<ObserverMethod<? super T>> observersMethods, AnnotatedType annotatedType)
     {
         List<ObserverMethod<? super T>> observerMethodsWithAnnotations = new ArrayList<>();
@@ -709,6 +829,12 @@ public final class NotificationManager
                     {
                         completableFutures.add(invokeObserverMethodAsync(event, metadata, observer, notificationOptions));
                     }
+                    else if (isLifecycleEvent && startupProfiler.isEnabled())
+                    {
+                        long start = startupProfiler.start();
+                        invokeObserverMethod(event, metadata, observer);
+                        startupProfiler.extensionObserver(observer, event, start);
+                    }
                     else
                     {
                         invokeObserverMethod(event, metadata, observer);
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import org.apache.webbeans.intercept.InterceptorResolutionService.BusinessMethodInterceptorInfo;
+import org.apache.webbeans.util.ExceptionUtil;
+
+import javax.enterprise.inject.spi.Decorator;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The precomputed decorator dispatch of a bean for a given list of active Decorators.
+ *
+ * For each decorated business method we keep an array which contains for every position
+ * in the decorator list the next Decorator which decorates this very method.
+ * A {@link DecoratorHandler} thus directly knows where to continue without having
+ * to walk over all the Decorators on each invocation.
+ * The decorating methods and the business method itself get bound to a MethodHandle
+ * upfront, so invoking a chain slot doesn't need any reflection.
+ */
+public final class DecoratorChain
+{
+    /**
+     * (instance, arguments) -&gt; result, see {@link #createHandle(Method)}
+     */
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final List<Decorator<?>> decorators;
+
+    /**
+     * Key: the decorated business method
+     * Value: the next applicable decorating method for each position in {@link #decorators}
+     *        and the business method itself
+     */
+    private final Map<Method, MethodChain> methodChains;
+
+    public DecoratorChain(List<Decorator<?>> decorators, Map<Method, BusinessMethodInterceptorInfo> businessMethodsInfo)
+    {
+        this.decorators = decorators;
+        this.methodChains = new HashMap<>();
+
+        for (Map.Entry<Method, BusinessMethodInterceptorInfo> entry : businessMethodsInfo.entrySet())
+        {
+            Map<Decorator<?>, Method> methodDecorators = entry.getValue().getMethodDecorators();
+
+            int size = decorators.size();
+            Decorator<?>[] nextDecorators = new Decorator<?>[size];
+            MethodHandle[] nextHandles = new MethodHandle[size];
+
+            if (methodDecorators != null)
+            {
+                // walk backwards so every position simply inherits the next applicable decorator
+                Decorator<?> nextDecorator = null;
+                MethodHandle nextHandle = null;
+                for (int i = size - 1; i >= 0; i--)
+                {
+                    Decorator<?> decorator = decorators.get(i);
+                    Method decoratingMethod = methodDecorators.get(decorator);
+                    if (decoratingMethod != null)
+                    {
+                        nextDecorator = decorator;
+                        nextHandle = createHandle(decoratingMethod);
+                    }
+                    nextDecorators[i] = nextDecorator;
+                    nextHandles[i] = nextHandle;
+                }
+            }
+
+            Method method = entry.getKey();
+            methodChains.put(method, new MethodChain(nextDecorators, nextHandles, createHandle(method)));
+        }
+    }
+
+    public List<Decorator<?>> getDecorators()
+    {
+        return decorators;
+    }
+
+    /**
+     * @return the chain of the given method or {@code null} if it is no business method of the bean
+     */
+    MethodChain getMethodChain(Method method)
+    {
+        return methodChains.get(method);
+    }
+
+    /**
+     * @return a MethodHandle of type {@link #INVOKE_TYPE} for the given method
+     */
+    private static MethodHandle createHandle(Method method)
+    {
+        if (!method.isAccessible())
+        {
+            method.setAccessible(true);
+        }
+        try
+        {
+            return MethodHandles.lookup().unreflect(method)
+                    .asFixedArity()
+                    .asSpreader(Object[].class, method.getParameterTypes().length)
+                    .asType(INVOKE_TYPE);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e);
+        }
+    }
+
+
+    static final class MethodChain
+    {
+        private final Decorator<?>[] nextDecorators;
+        private final MethodHandle[] nextHandles;
+        private final MethodHandle targetHandle;
+
+        private MethodChain(Decorator<?>[] nextDecorators, MethodHandle[] nextHandles, MethodHandle targetHandle)
+        {
+            this.nextDecorators = nextDecorators;
+            this.nextHandles = nextHandles;
+            this.targetHandle = targetHandle;
+        }
+
+        /**
+         * @return the first Decorator at or after the given position which decorates the method,
+         *         {@code null} if the target instance needs to get invoked
+         */
+        Decorator<?> getDecorator(int index)
+        {
+            return index < nextDecorators.length ? nextDecorators[index] : null;
+        }
+
+        /**
+         * @return the handle of the decorating method of {@link #getDecorator(int)}
+         */
+        MethodHandle getDecoratingHandle(int index)
+        {
+            return nextHandles[index];
+        }
+
+        /**
+         * @return the handle of the business method itself
+         */
+        MethodHandle getTargetHandle()
+        {
+            return targetHandle;
+        }
+    }
+}
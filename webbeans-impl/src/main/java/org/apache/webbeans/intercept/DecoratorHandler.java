@@ -18,10 +18,8 @@
  */
 package org.apache.webbeans.intercept;
 
-import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
-import org.apache.webbeans.intercept.InterceptorResolutionService.BusinessMethodInterceptorInfo;
 import org.apache.webbeans.portable.AbstractProducer;
 import org.apache.webbeans.proxy.InterceptorHandler;
 import org.apache.webbeans.util.ExceptionUtil;
@@ -30,9 +28,9 @@ import org.apache.webbeans.util.WebBeansUtil;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.Decorator;
-import javax.enterprise.inject.spi.Producer;
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
@@ -40,7 +38,6 @@ import java.io.ObjectStreamException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -51,9 +48,17 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class DecoratorHandler implements InterceptorHandler, Externalizable
 {
+    /**
+     * Gets written instead of the number of Decorator instances if we only serialize
+     * the instance state. The Decorators then get taken from the bean again when reading it back.
+     * Only used if {@link org.apache.webbeans.config.OpenWebBeansConfiguration#COMPACT_PROXY_SERIALIZATION}
+     * is enabled as older versions can't read it.
+     */
+    private static final int COMPACT_FORMAT = -1;
 
     private BeanInterceptorInfo interceptorInfo;
     private List<Decorator<?>> decorators;
+    private transient volatile DecoratorChain decoratorChain;
     private Map<Decorator<?>, ?> instances;
     private int index;
     private Object target;
@@ -69,6 +74,12 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         this.passivationId = passivationId;
     }
 
+    public DecoratorHandler(BeanInterceptorInfo interceptorInfo, DecoratorChain decoratorChain, Map<Decorator<?>, ?> instances, int index, Object target, String passivationId)
+    {
+        this(interceptorInfo, decoratorChain.getDecorators(), instances, index, target, passivationId);
+        this.decoratorChain = decoratorChain;
+    }
+
     public DecoratorHandler()
     {
         // no-op: for serialization
@@ -77,35 +88,25 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
     @Override
     public Object invoke(Method method, Object[] args)
     {
-        BusinessMethodInterceptorInfo methodInterceptorInfo = interceptorInfo.getBusinessMethodsInfo().get(method);
-        LinkedHashMap<Decorator<?>, Method> methodDecorators = methodInterceptorInfo.getMethodDecorators();
-        if (methodDecorators != null)
+        DecoratorChain.MethodChain methodChain = getDecoratorChain().getMethodChain(method);
+        if (methodChain != null)
         {
-            for (int i = index; i < decorators.size(); i++)
+            Decorator<?> decorator = methodChain.getDecorator(index);
+            try
             {
-                Decorator<?> decorator = decorators.get(i);
-                Method decoratingMethod = methodDecorators.get(decorator);
-                if (decoratingMethod != null)
+                if (decorator != null)
                 {
-                    try
-                    {
-                        if (!decoratingMethod.isAccessible())
-                        {
-                            decoratingMethod.setAccessible(true);
-                        }
-                        return decoratingMethod.invoke(instances.get(decorator), args);
-                    }
-                    catch (InvocationTargetException e)
-                    {
-                        return ExceptionUtil.throwAsRuntimeException(e.getTargetException());
-                    }
-                    catch (Exception e)
-                    {
-                        return ExceptionUtil.throwAsRuntimeException(e);
-                    }
+                    return methodChain.getDecoratingHandle(index).invokeExact((Object) instances.get(decorator), args);
                 }
+                return methodChain.getTargetHandle().invokeExact(target, args);
+            }
+            catch (Throwable e)
+            {
+                return ExceptionUtil.throwAsRuntimeException(e);
             }
         }
+
+        // not a business method of the bean, thus there is no precomputed chain for it
         try
         {
             if (!method.isAccessible())
@@ -124,12 +125,40 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         }
     }
 
+    private DecoratorChain getDecoratorChain()
+    {
+        DecoratorChain chain = decoratorChain;
+        if (chain == null)
+        {
+            // e.g. after deserialization
+            chain = interceptorInfo.getDecoratorChain(decorators);
+            decoratorChain = chain;
+        }
+        return chain;
+    }
+
     @Override
     public void writeExternal(ObjectOutput out) throws IOException
     {
         out.writeInt(index);
         out.writeObject(target);
 
+        WebBeansContext webBeansContext = WebBeansContext.getInstance();
+        AbstractProducer<?> producer = webBeansContext.getOpenWebBeansConfiguration().isCompactProxySerialization()
+            ? DefaultInterceptorHandler.getProducer(webBeansContext.getBeanManagerImpl(), passivationId)
+            : null;
+        if (producer != null && producer.getInterceptorInfo() == interceptorInfo && decorators == interceptorInfo.getDecorators())
+        {
+            out.writeInt(COMPACT_FORMAT);
+            out.writeUTF(passivationId);
+            out.writeInt(decorators.size());
+            for (Decorator<?> decorator : decorators)
+            {
+                out.writeObject(instances.get(decorator));
+            }
+            return;
+        }
+
         out.writeInt(instances.size());
         for (Map.Entry<Decorator<?>, ?> entry : instances.entrySet())
         {
@@ -170,6 +199,12 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
         BeanManager beanManager = webBeansContext.getBeanManagerImpl();
 
+        if (instancesSize == COMPACT_FORMAT)
+        {
+            readCompactExternal(in, beanManager);
+            return;
+        }
+
         Map<Decorator<?>, Object> tmpInstances = new HashMap<>();
         for (int i = 0; i < instancesSize; i++)
         {
@@ -187,15 +222,35 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         }
 
         passivationId = in.readUTF();
-        Bean<?> bean = beanManager.getPassivationCapableBean(passivationId);
-        if (bean instanceof OwbBean)
+        AbstractProducer<?> producer = DefaultInterceptorHandler.getProducer(beanManager, passivationId);
+        if (producer != null)
         {
-            Producer<?> producer = ((OwbBean<?>)bean).getProducer();
-            if (producer instanceof AbstractProducer)
-            {
-                interceptorInfo = ((AbstractProducer<?>)producer).getInterceptorInfo();
-            }
+            interceptorInfo = producer.getInterceptorInfo();
+        }
+    }
+
+    private void readCompactExternal(ObjectInput in, BeanManager beanManager) throws IOException, ClassNotFoundException
+    {
+        passivationId = in.readUTF();
+        AbstractProducer<?> producer = DefaultInterceptorHandler.getProducer(beanManager, passivationId);
+        if (producer == null || producer.getInterceptorInfo() == null || producer.getInterceptorInfo().getDecorators() == null)
+        {
+            throw new NotSerializableException("Can't find the decorated bean " + passivationId);
         }
+
+        interceptorInfo = producer.getInterceptorInfo();
+        decorators = interceptorInfo.getDecorators();
+        if (in.readInt() != decorators.size())
+        {
+            throw new InvalidObjectException("The Decorators of " + passivationId + " changed");
+        }
+
+        Map<Decorator<?>, Object> tmpInstances = new HashMap<>();
+        for (Decorator<?> decorator : decorators)
+        {
+            tmpInstances.put(decorator, in.readObject());
+        }
+        instances = tmpInstances;
     }
 
     private static void serializeDecorator(ObjectOutput out, Decorator<?> key) throws IOException
@@ -19,9 +19,11 @@
 package org.apache.webbeans.intercept;
 
 import org.apache.webbeans.component.InjectionTargetBean;
+import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.component.SelfInterceptorBean;
 import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.portable.AbstractProducer;
 import org.apache.webbeans.portable.InjectionTargetImpl;
 import org.apache.webbeans.proxy.InterceptorHandler;
 import org.apache.webbeans.util.ExceptionUtil;
@@ -32,9 +34,11 @@ import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.InjectionTarget;
 import javax.enterprise.inject.spi.InterceptionType;
 import javax.enterprise.inject.spi.Interceptor;
+import javax.enterprise.inject.spi.Producer;
 import javax.inject.Provider;
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
@@ -50,6 +54,15 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
 {
     private static final String SELF_KEY = "SELF_INTERCEPTOR";
 
+    /**
+     * Gets written instead of the number of Interceptor instances if we only serialize
+     * the instance state. The Interceptors and the method table then get taken from
+     * the bean again when reading it back.
+     * Only used if {@link org.apache.webbeans.config.OpenWebBeansConfiguration#COMPACT_PROXY_SERIALIZATION}
+     * is enabled as older versions can't read it.
+     */
+    private static final int COMPACT_FORMAT = -1;
+
     /**
      * The native contextual instance target instance.
      * This is the unproxies and undecorated instance.
@@ -75,6 +88,11 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     private Map<Method, List<Interceptor<?>>> interceptors;
     private Map<Interceptor<?>, ?> instances;
 
+    /**
+     * Provides the {@link #delegate} to the InvocationContexts, shared by all invocations
+     */
+    private transient Provider<T> delegateProvider;
+
     /**
      * InterceptorHandler wich gets used in our InjectionTargets which
      * support interceptors and decorators
@@ -133,8 +151,16 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
                 methodInterceptors = Collections.emptyList();
             }
 
+            Provider<T> provider = delegateProvider;
+            if (provider == null)
+            {
+                // immutable, thus it doesn't matter if it gets created concurrently
+                provider = new InstanceProvider<>(delegate);
+                delegateProvider = provider;
+            }
+
             InterceptorInvocationContext<T> ctx
-                = new InterceptorInvocationContext<T>(new InstanceProvider(delegate), InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
+                = new InterceptorInvocationContext<T>(provider, InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
 
             return ctx.proceed();
         }
@@ -184,6 +210,28 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
             out.writeObject(delegate);
         }
 
+        WebBeansContext webBeansContext = WebBeansContext.getInstance();
+        AbstractProducer<?> producer = webBeansContext.getOpenWebBeansConfiguration().isCompactProxySerialization()
+            ? getProducer(webBeansContext.getBeanManagerImpl(), beanPassivationId)
+            : null;
+        if (isSharedBeanMetadata(producer))
+        {
+            out.writeInt(COMPACT_FORMAT);
+            out.writeUTF(beanPassivationId);
+
+            InterceptorInstanceMap instanceMap = (InterceptorInstanceMap) instances;
+            Interceptor<?>[] beanInterceptors = instanceMap.getInterceptors();
+            out.writeInt(beanInterceptors.length);
+            for (int i = 0; i < beanInterceptors.length; i++)
+            {
+                if (!SelfInterceptorBean.class.isInstance(beanInterceptors[i]))
+                {
+                    out.writeObject(instanceMap.getInstance(i));
+                }
+            }
+            return;
+        }
+
         out.writeInt(instances.size());
         for (Map.Entry<Interceptor<?>, ?> entry : instances.entrySet())
         {
@@ -230,6 +278,12 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
         BeanManager beanManager = webBeansContext.getBeanManagerImpl();
 
+        if (instancesSize == COMPACT_FORMAT)
+        {
+            readCompactExternal(in, beanManager);
+            return;
+        }
+
         Map<Interceptor<?>, Object> tmpInstances = new HashMap<>();
         for (int i = 0; i < instancesSize; i++)
         {
@@ -275,6 +329,73 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         beanPassivationId = in.readUTF();
     }
 
+    private void readCompactExternal(ObjectInput in, BeanManager beanManager) throws IOException, ClassNotFoundException
+    {
+        beanPassivationId = in.readUTF();
+        AbstractProducer<?> producer = getProducer(beanManager, beanPassivationId);
+        if (producer == null || producer.getInterceptorInfo() == null)
+        {
+            throw new NotSerializableException("Can't find the intercepted bean " + beanPassivationId);
+        }
+
+        Interceptor<?>[] beanInterceptors = producer.getInterceptorInfo().getInstantiatedInterceptors();
+        if (in.readInt() != beanInterceptors.length)
+        {
+            throw new InvalidObjectException("The Interceptors of " + beanPassivationId + " changed");
+        }
+
+        InterceptorInstanceMap instanceMap = new InterceptorInstanceMap(beanInterceptors);
+        for (int i = 0; i < beanInterceptors.length; i++)
+        {
+            if (SelfInterceptorBean.class.isInstance(beanInterceptors[i]))
+            {
+                instanceMap.put(beanInterceptors[i], target);
+            }
+            else
+            {
+                instanceMap.put(beanInterceptors[i], in.readObject());
+            }
+        }
+        instances = instanceMap;
+        interceptors = producer.getInterceptorInfo().getMethodInterceptors();
+        if (interceptors == null)
+        {
+            throw new InvalidObjectException("The Interceptors of " + beanPassivationId + " are not initialized");
+        }
+    }
+
+    /**
+     * Whether the Interceptors and the method table of this handler are the ones of its bean,
+     * which means we can restore them from the bean instead of serializing them.
+     */
+    private boolean isSharedBeanMetadata(AbstractProducer<?> producer)
+    {
+        return producer != null
+            && producer.getInterceptorInfo() != null
+            && producer.getInterceptorInfo().getMethodInterceptors() == interceptors
+            && instances instanceof InterceptorInstanceMap
+            && ((InterceptorInstanceMap) instances).getInterceptors() == producer.getInterceptorInfo().getInstantiatedInterceptors()
+            && !((InterceptorInstanceMap) instances).hasAdditionalInstances();
+    }
+
+    static AbstractProducer<?> getProducer(BeanManager beanManager, String beanPassivationId)
+    {
+        if (beanPassivationId == null)
+        {
+            return null;
+        }
+        Bean<?> bean = beanManager.getPassivationCapableBean(beanPassivationId);
+        if (bean instanceof OwbBean)
+        {
+            Producer<?> producer = ((OwbBean<?>) bean).getProducer();
+            if (producer instanceof AbstractProducer)
+            {
+                return (AbstractProducer<?>) producer;
+            }
+        }
+        return null;
+    }
+
     /**
      * @return false if the interceptor value can be ignored
      */
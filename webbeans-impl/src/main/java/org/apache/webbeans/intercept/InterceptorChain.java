@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import javax.enterprise.inject.spi.Interceptor;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The Interceptors of a single intercepted business method.
+ *
+ * Next to the Interceptors we keep the index of their instances in the
+ * {@link InterceptorInstanceMap} of the bean, resolved once when the chain gets built.
+ * An invocation thus can read the instance of each Interceptor by position
+ * instead of looking it up in the instance map on every hop.
+ */
+public final class InterceptorChain extends AbstractList<Interceptor<?>> implements RandomAccess
+{
+    private final Interceptor<?>[] interceptors;
+
+    /**
+     * The shared Interceptors of the bean, see {@link InterceptorInstanceMap#getInterceptors()}
+     */
+    private final Interceptor<?>[] beanInterceptors;
+
+    /**
+     * The instance index of each Interceptor in {@link #interceptors}
+     */
+    private final int[] instanceIndexes;
+
+    public InterceptorChain(List<Interceptor<?>> interceptors, Interceptor<?>[] beanInterceptors)
+    {
+        this.interceptors = interceptors.toArray(new Interceptor<?>[interceptors.size()]);
+        this.beanInterceptors = beanInterceptors;
+        this.instanceIndexes = new int[this.interceptors.length];
+
+        for (int i = 0; i < this.interceptors.length; i++)
+        {
+            instanceIndexes[i] = InterceptorInstanceMap.indexOf(beanInterceptors, this.interceptors[i]);
+        }
+    }
+
+    @Override
+    public Interceptor<?> get(int position)
+    {
+        return interceptors[position];
+    }
+
+    @Override
+    public int size()
+    {
+        return interceptors.length;
+    }
+
+    /**
+     * @return whether the instances of this chain can be read by index from the given instance map
+     */
+    public boolean isIndexed(Map<Interceptor<?>, ?> instances)
+    {
+        return instances instanceof InterceptorInstanceMap
+            && ((InterceptorInstanceMap) instances).getInterceptors() == beanInterceptors;
+    }
+
+    /**
+     * Only valid if {@link #isIndexed(Map)} is {@code true} for the given map.
+     *
+     * @return the instance of the Interceptor at the given position of this chain
+     */
+    public Object getInstance(InterceptorInstanceMap instances, int position)
+    {
+        int index = instanceIndexes[position];
+        return index < 0 ? instances.get(interceptors[position]) : instances.getInstance(index);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import javax.enterprise.inject.spi.Interceptor;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The Interceptor instances of a single intercepted bean instance.
+ *
+ * The Interceptors of a bean are known upfront, see
+ * {@link InterceptorResolutionService.BeanInterceptorInfo#getInstantiatedInterceptors()}.
+ * That array is shared by all instances of the bean and the position of an Interceptor
+ * in it is the index of its instance in this map. Thus every intercepted instance
+ * only needs a single pre-sized array instead of a HashMap with all its entries.
+ *
+ * An Interceptor which is not part of the bean still can be added, e.g. via the produce SPI.
+ * It then gets stored in an additional HashMap.
+ */
+public final class InterceptorInstanceMap extends AbstractMap<Interceptor<?>, Object>
+{
+    private final Interceptor<?>[] interceptors;
+    private final Object[] instances;
+
+    /**
+     * Instances of Interceptors which are not part of the bean, only created if needed
+     */
+    private Map<Interceptor<?>, Object> additionalInstances;
+
+    public InterceptorInstanceMap(Interceptor<?>[] interceptors)
+    {
+        this.interceptors = interceptors;
+        this.instances = new Object[interceptors.length];
+    }
+
+    /**
+     * @return the shared Interceptors of the bean, the index of an Interceptor is the index of its instance
+     */
+    public Interceptor<?>[] getInterceptors()
+    {
+        return interceptors;
+    }
+
+    /**
+     * @return the instance of the Interceptor at the given position of {@link #getInterceptors()}
+     */
+    public Object getInstance(int index)
+    {
+        return instances[index];
+    }
+
+    /**
+     * @return whether there are instances of Interceptors which are not part of the bean
+     */
+    public boolean hasAdditionalInstances()
+    {
+        return additionalInstances != null && !additionalInstances.isEmpty();
+    }
+
+    @Override
+    public Object get(Object interceptor)
+    {
+        int index = indexOf(interceptors, interceptor);
+        if (index < 0)
+        {
+            return additionalInstances == null ? null : additionalInstances.get(interceptor);
+        }
+        return instances[index];
+    }
+
+    @Override
+    public boolean containsKey(Object interceptor)
+    {
+        int index = indexOf(interceptors, interceptor);
+        if (index < 0)
+        {
+            return additionalInstances != null && additionalInstances.containsKey(interceptor);
+        }
+        return instances[index] != null;
+    }
+
+    @Override
+    public Object put(Interceptor<?> interceptor, Object instance)
+    {
+        int index = indexOf(interceptors, interceptor);
+        if (index < 0)
+        {
+            if (additionalInstances == null)
+            {
+                additionalInstances = new HashMap<>();
+            }
+            return additionalInstances.put(interceptor, instance);
+        }
+        Object old = instances[index];
+        instances[index] = instance;
+        return old;
+    }
+
+    @Override
+    public Object remove(Object interceptor)
+    {
+        int index = indexOf(interceptors, interceptor);
+        if (index < 0)
+        {
+            return additionalInstances == null ? null : additionalInstances.remove(interceptor);
+        }
+        Object old = instances[index];
+        instances[index] = null;
+        return old;
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(instances, null);
+        additionalInstances = null;
+    }
+
+    @Override
+    public int size()
+    {
+        int size = additionalInstances == null ? 0 : additionalInstances.size();
+        for (Object instance : instances)
+        {
+            if (instance != null)
+            {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<Interceptor<?>, Object>> entrySet()
+    {
+        // only used for serialization and debugging, so it's fine to create the entries on the fly
+        List<Entry<Interceptor<?>, Object>> entries = new ArrayList<>(instances.length);
+        for (int i = 0; i < instances.length; i++)
+        {
+            if (instances[i] != null)
+            {
+                entries.add(new SimpleImmutableEntry<>(interceptors[i], instances[i]));
+            }
+        }
+        if (additionalInstances != null)
+        {
+            for (Entry<Interceptor<?>, Object> entry : additionalInstances.entrySet())
+            {
+                entries.add(new SimpleImmutableEntry<>(entry));
+            }
+        }
+
+        return new AbstractSet<Entry<Interceptor<?>, Object>>()
+        {
+            @Override
+            public Iterator<Entry<Interceptor<?>, Object>> iterator()
+            {
+                return Collections.unmodifiableList(entries).iterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return entries.size();
+            }
+        };
+    }
+
+    /**
+     * @return the position of the given Interceptor or -1 if it is not contained
+     */
+    static int indexOf(Interceptor<?>[] interceptors, Object interceptor)
+    {
+        for (int i = 0; i < interceptors.length; i++)
+        {
+            if (interceptors[i].equals(interceptor))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
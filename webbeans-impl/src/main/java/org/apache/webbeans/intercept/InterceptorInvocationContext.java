@@ -36,6 +36,11 @@ public class InterceptorInvocationContext<T> extends AbstractInvocationContext<T
     protected List<Interceptor<?>> interceptors;
     protected Map<Interceptor<?>, ?> instances;
     protected int index;
+
+    /**
+     * Set if the instances can be read by their precomputed index, see {@link InterceptorChain}
+     */
+    private final InterceptorChain indexedChain;
     
     public InterceptorInvocationContext(Provider<T> provider, InterceptionType type,
                                         List<Interceptor<?>> interceptors, Map<Interceptor<?>, ?> instances,
@@ -45,6 +50,10 @@ public class InterceptorInvocationContext<T> extends AbstractInvocationContext<T
         this.type = type;
         this.interceptors = interceptors;
         this.instances = instances;
+
+        indexedChain = interceptors instanceof InterceptorChain && ((InterceptorChain) interceptors).isIndexed(instances)
+            ? (InterceptorChain) interceptors
+            : null;
     }
 
     @Override
@@ -52,7 +61,8 @@ public class InterceptorInvocationContext<T> extends AbstractInvocationContext<T
     {
         if (index < interceptors.size())
         {
-            Interceptor interceptor = interceptors.get(index++);
+            int position = index++;
+            Interceptor interceptor = interceptors.get(position);
             if (!interceptor.intercepts(type))
             {
                 // continue with next interceptor
@@ -62,7 +72,10 @@ public class InterceptorInvocationContext<T> extends AbstractInvocationContext<T
 
             try
             {
-                return interceptor.intercept(type, instances.get(interceptor), this);
+                Object instance = indexedChain != null
+                    ? indexedChain.getInstance((InterceptorInstanceMap) instances, position)
+                    : instances.get(interceptor);
+                return interceptor.intercept(type, instance, this);
             }
             catch (Exception e)
             {
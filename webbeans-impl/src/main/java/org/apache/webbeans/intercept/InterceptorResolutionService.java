@@ -69,6 +69,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -78,6 +80,8 @@ import java.util.function.Function;
  */
 public class InterceptorResolutionService
 {
+    private static final Interceptor<?>[] NO_INTERCEPTORS = new Interceptor<?>[0];
+
     private final WebBeansContext webBeansContext;
 
     /**
@@ -122,15 +126,15 @@ public class InterceptorResolutionService
 
         // pick up CDI interceptors from a class level
         Set<Annotation> classInterceptorBindings = annotationManager.getInterceptorAnnotations(annotatedType.getAnnotations());
-        List<Interceptor<?>> classLevelInterceptors;
+        Interceptor<?>[] classLevelInterceptors;
         if (classInterceptorBindings.size() > 0)
         {
-            classLevelInterceptors = webBeansContext.getBeanManagerImpl().resolveInterceptors(InterceptionType.AROUND_INVOKE, AnnotationUtil.asArray(classInterceptorBindings));
-            allUsedCdiInterceptors.addAll(classLevelInterceptors);
+            classLevelInterceptors = resolveInterceptors(InterceptionType.AROUND_INVOKE, classInterceptorBindings);
+            Collections.addAll(allUsedCdiInterceptors, classLevelInterceptors);
         }
         else
         {
-            classLevelInterceptors = Collections.EMPTY_LIST;
+            classLevelInterceptors = NO_INTERCEPTORS;
         }
 
         Set<Interceptor<?>> allUsedConstructorCdiInterceptors = new HashSet<>();
@@ -605,7 +609,7 @@ public class InterceptorResolutionService
                                                 Set<Interceptor<?>> allUsedCdiInterceptors,
                                                 AnnotatedCallable annotatedMethod,
                                                 Set<Annotation> classInterceptorBindings,
-                                                List<Interceptor<?>> classLevelInterceptors,
+                                                Interceptor<?>[] classLevelInterceptors,
                                                 boolean failOnFinal)
     {
         AnnotationManager annotationManager = webBeansContext.getAnnotationManager();
@@ -645,11 +649,11 @@ public class InterceptorResolutionService
         }
 
 
-        List<Interceptor<?>> methodInterceptors;
+        Interceptor<?>[] methodInterceptors;
         if (hasMethodInterceptors || classLevelInterceptors == null)
         {
-            methodInterceptors = webBeansContext.getBeanManagerImpl().resolveInterceptors(interceptionType, AnnotationUtil.asArray(cummulatedInterceptorBindings.values()));
-            allUsedCdiInterceptors.addAll(methodInterceptors);
+            methodInterceptors = resolveInterceptors(interceptionType, new HashSet<>(cummulatedInterceptorBindings.values()));
+            Collections.addAll(allUsedCdiInterceptors, methodInterceptors);
         }
         else
         {
@@ -660,6 +664,15 @@ public class InterceptorResolutionService
         methodInterceptorInfo.setCdiInterceptors(methodInterceptors);
     }
 
+    /**
+     * @return the shared, sorted interceptors for the given effective interceptor bindings
+     */
+    private Interceptor<?>[] resolveInterceptors(InterceptionType interceptionType, Set<Annotation> interceptorBindings)
+    {
+        webBeansContext.getAnnotationManager().checkInterceptorResolverParams(AnnotationUtil.asArray(interceptorBindings));
+        return webBeansContext.getInterceptorsManager().getResolvedInterceptors(interceptionType, interceptorBindings);
+    }
+
     /**
      * Check that the given lifecycle method has:
      * <ul>
@@ -768,9 +781,26 @@ public class InterceptorResolutionService
         return interceptableAnnotatedMethods;
     }
 
+    /**
+     * @return the active Interceptors for each intercepted or decorated method.
+     *         Gets computed only once per BeanInterceptorInfo and is shared by all instances of the bean.
+     */
     public Map<Method, List<Interceptor<?>>> createMethodInterceptors(BeanInterceptorInfo interceptorInfo)
+    {
+        Map<Method, List<Interceptor<?>>> methodInterceptors = interceptorInfo.getMethodInterceptors();
+        if (methodInterceptors == null)
+        {
+            // immutable, thus it doesn't matter if it gets created concurrently
+            methodInterceptors = computeMethodInterceptors(interceptorInfo);
+            interceptorInfo.methodInterceptors = methodInterceptors;
+        }
+        return methodInterceptors;
+    }
+
+    private Map<Method, List<Interceptor<?>>> computeMethodInterceptors(BeanInterceptorInfo interceptorInfo)
     {
         Map<Method, List<Interceptor<?>>> methodInterceptors = new HashMap<>(interceptorInfo.getBusinessMethodsInfo().size());
+        Interceptor<?>[] beanInterceptors = interceptorInfo.getInstantiatedInterceptors();
         for (Map.Entry<Method, BusinessMethodInterceptorInfo> miEntry : interceptorInfo.getBusinessMethodsInfo().entrySet())
         {
             Method interceptedMethod = miEntry.getKey();
@@ -796,7 +826,7 @@ public class InterceptorResolutionService
 
             if (activeInterceptors.size() > 0)
             {
-                methodInterceptors.put(interceptedMethod, activeInterceptors);
+                methodInterceptors.put(interceptedMethod, new InterceptorChain(activeInterceptors, beanInterceptors));
             }
             else if (mii.getMethodDecorators() != null)
             {
@@ -809,29 +839,22 @@ public class InterceptorResolutionService
     public <T> Map<Interceptor<?>, Object> createInterceptorInstances(BeanInterceptorInfo interceptorInfo,
                                                                       CreationalContextImpl<T> creationalContextImpl)
     {
-        Map<Interceptor<?>,Object> interceptorInstances  = new HashMap<>();
-        if (interceptorInfo != null)
+        if (interceptorInfo == null)
         {
-            // apply interceptorInfo
-
-            // create EJB-style interceptors
-            for (Interceptor interceptorBean : interceptorInfo.getEjbInterceptors())
-            {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
-            }
+            return new HashMap<>();
+        }
 
-            // create CDI-style interceptors
-            for (Interceptor interceptorBean : interceptorInfo.getCdiInterceptors())
-            {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
-            }
-            for (Interceptor interceptorBean : interceptorInfo.getConstructorCdiInterceptors())
+        Interceptor<?>[] interceptors = interceptorInfo.getInstantiatedInterceptors();
+        InterceptorInstanceMap interceptorInstances = new InterceptorInstanceMap(interceptors);
+        for (Interceptor interceptorBean : interceptors)
+        {
+            if (interceptorBean == interceptorInfo.getSelfInterceptorBean())
             {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
+                // this is the bean instance itself, see createProxiedInstance
+                continue;
             }
+            creationalContextImpl.putContextual(interceptorBean);
+            interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
         }
         return interceptorInstances;
     }
@@ -854,6 +877,7 @@ public class InterceptorResolutionService
         if (interceptorInfo.getDecorators() != null && !isDelegateInjection.apply(creationalContextImpl))
         {
             List<Decorator<?>> decorators = filterDecorators.apply(instance, interceptorInfo.getDecorators());
+            DecoratorChain decoratorChain = interceptorInfo.getDecoratorChain(decorators);
             Map<Decorator<?>, Object> instances = new HashMap<>();
             for (int i = decorators.size(); i > 0; i--)
             {
@@ -863,7 +887,7 @@ public class InterceptorResolutionService
                 Object decoratorInstance = decorator.create(creationalContext);
                 instances.put(decorator, decoratorInstance);
                 delegate = webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance,
-                        new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId));
+                        new DecoratorHandler(interceptorInfo, decoratorChain, instances, i - 1, instance, passivationId));
             }
         }
         InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
@@ -942,12 +966,94 @@ public class InterceptorResolutionService
          */
         private Map<InterceptionType, LifecycleMethodInfo> lifecycleMethodInterceptorInfos;
 
+        /**
+         * The decorator dispatch for {@link #decorators}, lazily computed
+         */
+        private volatile DecoratorChain decoratorChain;
+
+        /**
+         * The decorator dispatch for filtered decorator lists, see {@link #getDecoratorChain(List)}
+         */
+        private final ConcurrentMap<List<Decorator<?>>, DecoratorChain> filteredDecoratorChains = new ConcurrentHashMap<>();
+
+        /**
+         * All Interceptors which need an instance, lazily computed, see {@link #getInstantiatedInterceptors()}
+         */
+        private volatile Interceptor<?>[] instantiatedInterceptors;
+
+        /**
+         * The Interceptors for each method, see {@link InterceptorResolutionService#createMethodInterceptors(BeanInterceptorInfo)}
+         */
+        private volatile Map<Method, List<Interceptor<?>>> methodInterceptors;
+
 
         public List<Decorator<?>> getDecorators()
         {
             return decorators;
         }
 
+        /**
+         * @param activeDecorators either {@link #getDecorators()} or a subset of it
+         * @return the precomputed decorator dispatch for the given Decorators
+         */
+        public DecoratorChain getDecoratorChain(List<Decorator<?>> activeDecorators)
+        {
+            if (activeDecorators == decorators)
+            {
+                DecoratorChain chain = decoratorChain;
+                if (chain == null)
+                {
+                    chain = new DecoratorChain(decorators, businessMethodsInfo);
+                    decoratorChain = chain;
+                }
+                return chain;
+            }
+
+            DecoratorChain chain = filteredDecoratorChains.get(activeDecorators);
+            if (chain == null)
+            {
+                chain = new DecoratorChain(activeDecorators, businessMethodsInfo);
+                DecoratorChain existing = filteredDecoratorChains.putIfAbsent(activeDecorators, chain);
+                if (existing != null)
+                {
+                    chain = existing;
+                }
+            }
+            return chain;
+        }
+
+        /**
+         * @return the Interceptors for each method or {@code null} if they did not get created yet
+         */
+        Map<Method, List<Interceptor<?>>> getMethodInterceptors()
+        {
+            return methodInterceptors;
+        }
+
+        /**
+         * All the EJB-style, CDI-style, constructor and self Interceptors of this bean without duplicates.
+         * The position of an Interceptor in this array is the index of its instance in the
+         * {@link InterceptorInstanceMap} of each bean instance, thus the array must not get modified.
+         */
+        public Interceptor<?>[] getInstantiatedInterceptors()
+        {
+            Interceptor<?>[] interceptors = instantiatedInterceptors;
+            if (interceptors == null)
+            {
+                // immutable, thus it doesn't matter if it gets created concurrently
+                Set<Interceptor<?>> allInterceptors = new LinkedHashSet<>(ejbInterceptors);
+                allInterceptors.addAll(cdiInterceptors);
+                allInterceptors.addAll(constructorCdiInterceptors);
+                if (selfInterceptorBean != null)
+                {
+                    allInterceptors.add(selfInterceptorBean);
+                }
+                interceptors = allInterceptors.isEmpty() ? NO_INTERCEPTORS : allInterceptors.toArray(NO_INTERCEPTORS);
+                instantiatedInterceptors = interceptors;
+            }
+            return interceptors;
+        }
+
         public LinkedHashSet<Interceptor<?>> getEjbInterceptors()
         {
             return ejbInterceptors;
@@ -1034,6 +1140,21 @@ public class InterceptorResolutionService
             return methodDecorators;
         }
 
+        /**
+         * @param cdiInterceptors the sorted interceptors, the array might be shared with other methods
+         */
+        public void setCdiInterceptors(Interceptor<?>[] cdiInterceptors)
+        {
+            if (cdiInterceptors == null || cdiInterceptors.length == 0)
+            {
+                this.cdiInterceptors = null;
+            }
+            else
+            {
+                this.cdiInterceptors = cdiInterceptors;
+            }
+        }
+
         public void setCdiInterceptors(List<Interceptor<?>> cdiInterceptors)
         {
             if (cdiInterceptors == null || cdiInterceptors.isEmpty())
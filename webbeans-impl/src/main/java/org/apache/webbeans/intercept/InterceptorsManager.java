@@ -22,6 +22,7 @@ import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -83,11 +84,24 @@ public class InterceptorsManager
 
     private final PriorityClasses priorityInterceptors = new PriorityClasses();
 
+    /**
+     * The sorted interceptors per InterceptionType and set of interceptor bindings.
+     * Gets cleared whenever the interceptor configuration changes.
+     * @see #getResolvedInterceptors(InterceptionType, Set)
+     */
+    private final Map<InterceptionType, ConcurrentMap<Set<Annotation>, Interceptor<?>[]>> resolvedInterceptors
+            = new EnumMap<>(InterceptionType.class);
+
 
     public InterceptorsManager(WebBeansContext webBeansContext)
     {
         this.webBeansContext = webBeansContext;
         beanManager = webBeansContext.getBeanManagerImpl();
+
+        for (InterceptionType interceptionType : InterceptionType.values())
+        {
+            resolvedInterceptors.put(interceptionType, new ConcurrentHashMap<>());
+        }
     }
 
     /**
@@ -102,6 +116,7 @@ public class InterceptorsManager
         cdiInterceptors.clear();
         ejbInterceptors.clear();
         priorityInterceptors.clear();
+        clearResolvedInterceptors();
     }
 
 
@@ -115,6 +130,7 @@ public class InterceptorsManager
         if (!configuredInterceptorClasses.contains(interceptorClazz))
         {
             configuredInterceptorClasses.add(interceptorClazz);
+            clearResolvedInterceptors();
         }
     }
 
@@ -220,6 +236,42 @@ public class InterceptorsManager
         return interceptorList;
     }
 
+    /**
+     * Like {@link #resolveInterceptors(InterceptionType, Annotation...)} but the result gets cached.
+     * All beans and methods with the same effective interceptor bindings share the very same array,
+     * thus it must not be modified.
+     * This must only be used once the interceptors got sorted, means after the AfterTypeDiscovery event.
+     *
+     * @param interceptorBindings the effective interceptor bindings
+     * @return the sorted interceptors, never {@code null}
+     */
+    public Interceptor<?>[] getResolvedInterceptors(InterceptionType type, Set<Annotation> interceptorBindings)
+    {
+        ConcurrentMap<Set<Annotation>, Interceptor<?>[]> cache = resolvedInterceptors.get(type);
+        Interceptor<?>[] interceptors = cache.get(interceptorBindings);
+        if (interceptors == null)
+        {
+            List<Interceptor<?>> interceptorList = resolveInterceptors(type, AnnotationUtil.asArray(interceptorBindings));
+            interceptors = interceptorList.toArray(new Interceptor<?>[interceptorList.size()]);
+
+            // the key must not change, thus we use our own copy
+            Interceptor<?>[] existing = cache.putIfAbsent(new HashSet<>(interceptorBindings), interceptors);
+            if (existing != null)
+            {
+                interceptors = existing;
+            }
+        }
+        return interceptors;
+    }
+
+    private void clearResolvedInterceptors()
+    {
+        for (ConcurrentMap<Set<Annotation>, Interceptor<?>[]> cache : resolvedInterceptors.values())
+        {
+            cache.clear();
+        }
+    }
+
     private boolean intercepts(Interceptor<?> interceptor, Annotation[] requestedInterceptorBindings)
     {
         for (Annotation interceptorBinding : interceptor.getInterceptorBindings())
@@ -285,6 +337,7 @@ public class InterceptorsManager
     {
         cdiInterceptors.add(interceptor);
         beanManager.addPassivationInfo(interceptor);
+        clearResolvedInterceptors();
     }
 
 
@@ -297,6 +350,7 @@ public class InterceptorsManager
     {
         Asserts.nullCheckForClass(clazz);
         additionalInterceptorClasses.add(clazz);
+        clearResolvedInterceptors();
     }
 
     public boolean containsCustomInterceptorClass(Class<?> clazz)
@@ -308,6 +362,7 @@ public class InterceptorsManager
     public void addInterceptorBindingType(AnnotatedType<? extends Annotation> annotatedType)
     {
         additionalInterceptorBindingTypesAnnotatedTypes.add(annotatedType);
+        clearResolvedInterceptors();
     }
 
     public void addInterceptorBindingType(Class<? extends Annotation> bindingType, Annotation... inheritsArray)
@@ -319,6 +374,7 @@ public class InterceptorsManager
             additionalInterceptorBindingTypes.put(bindingType, inherits);
         }
         Collections.addAll(inherits, inheritsArray);
+        clearResolvedInterceptors();
     }
 
     public boolean hasInterceptorBindingType(Class<? extends Annotation> bindingType)
@@ -367,5 +423,6 @@ public class InterceptorsManager
     public void addPriorityClazzInterceptor(Class<?> javaClass, Priority priority)
     {
         priorityInterceptors.add(javaClass, priority);
+        clearResolvedInterceptors();
     }
 }
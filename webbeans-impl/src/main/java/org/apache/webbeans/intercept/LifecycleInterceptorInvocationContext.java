@@ -43,6 +43,7 @@ public class LifecycleInterceptorInvocationContext<T> implements InvocationConte
     private Map<String, Object> contextData = new HashMap<>();
     private int interceptorIndex;
     private List<AnnotatedMethod<?>> lifecycleMethods;
+    private LifecycleMethodInvoker lifecycleMethodInvoker;
 
     public LifecycleInterceptorInvocationContext(T target, InterceptionType type, List<Interceptor<?>> interceptors, Map<Interceptor<?>, ?> instances,
                                                  List<AnnotatedMethod<?>> lifecycleMethods)
@@ -54,6 +55,16 @@ public class LifecycleInterceptorInvocationContext<T> implements InvocationConte
         this.lifecycleMethods = lifecycleMethods;
     }
 
+    /**
+     * @param lifecycleMethodInvoker the precomputed invoker for the lifecycle methods of the target, might be {@code null}
+     */
+    public LifecycleInterceptorInvocationContext(T target, InterceptionType type, List<Interceptor<?>> interceptors, Map<Interceptor<?>, ?> instances,
+                                                 LifecycleMethodInvoker lifecycleMethodInvoker)
+    {
+        this(target, type, interceptors, instances, (List<AnnotatedMethod<?>>) null);
+        this.lifecycleMethodInvoker = lifecycleMethodInvoker;
+    }
+
     @Override
     public T getTarget()
     {
@@ -89,7 +100,11 @@ public class LifecycleInterceptorInvocationContext<T> implements InvocationConte
         }
         else
         {
-            if (lifecycleMethods != null)
+            if (lifecycleMethodInvoker != null)
+            {
+                lifecycleMethodInvoker.invoke(getTarget());
+            }
+            else if (lifecycleMethods != null)
             {
                 // only if there is a lifecycle method, otherwise re immediately return
                 for (AnnotatedMethod<?> lifecycleMethod : lifecycleMethods)
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import org.apache.webbeans.util.ExceptionUtil;
+
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Invokes the lifecycle callback methods like &#064;PostConstruct and &#064;PreDestroy
+ * which are declared on the bean class itself.
+ *
+ * The methods get resolved once per InjectionTarget and then get invoked via
+ * MethodHandles instead of reflection.
+ */
+public final class LifecycleMethodInvoker
+{
+    private static final MethodType CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final Method[] methods;
+
+    /**
+     * The MethodHandle per method of type {@code (Object)void},
+     * {@code null} if the method must get invoked via reflection.
+     */
+    private final MethodHandle[] handles;
+
+    private LifecycleMethodInvoker(List<AnnotatedMethod<?>> lifecycleMethods)
+    {
+        methods = new Method[lifecycleMethods.size()];
+        handles = new MethodHandle[methods.length];
+        for (int i = 0; i < methods.length; i++)
+        {
+            Method method = lifecycleMethods.get(i).getJavaMember();
+            if (!method.isAccessible())
+            {
+                method.setAccessible(true);
+            }
+            methods[i] = method;
+            handles[i] = createHandle(method);
+        }
+    }
+
+    /**
+     * @return the invoker for the given methods or {@code null} if there is no lifecycle method at all
+     */
+    public static LifecycleMethodInvoker of(List<AnnotatedMethod<?>> lifecycleMethods)
+    {
+        if (lifecycleMethods == null || lifecycleMethods.isEmpty())
+        {
+            return null;
+        }
+        return new LifecycleMethodInvoker(lifecycleMethods);
+    }
+
+    /**
+     * Invokes all the lifecycle methods in their order on the given instance.
+     * Any Exception of a lifecycle method gets thrown as is.
+     */
+    public void invoke(Object target)
+    {
+        for (int i = 0; i < handles.length; i++)
+        {
+            try
+            {
+                if (handles[i] != null)
+                {
+                    handles[i].invokeExact(target);
+                }
+                else
+                {
+                    methods[i].invoke(target);
+                }
+            }
+            catch (InvocationTargetException ite)
+            {
+                throw ExceptionUtil.throwAsRuntimeException(ite.getCause());
+            }
+            catch (Throwable e)
+            {
+                throw ExceptionUtil.throwAsRuntimeException(e);
+            }
+        }
+    }
+
+    private static MethodHandle createHandle(Method method)
+    {
+        if (method.getParameterTypes().length != 0)
+        {
+            return null;
+        }
+        try
+        {
+            return MethodHandles.lookup().unreflect(method).asType(CALLBACK_TYPE);
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            // e.g. not accessible for us, simply use reflection
+            return null;
+        }
+    }
+}
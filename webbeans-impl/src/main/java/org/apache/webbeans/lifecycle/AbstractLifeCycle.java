@@ -27,6 +27,7 @@ import javax.enterprise.inject.spi.BeanManager;
 
 import org.apache.webbeans.config.BeansDeployer;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
 import org.apache.webbeans.container.BeanManagerImpl;
@@ -128,7 +129,11 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         logger.fine("Scanning classpaths for beans artifacts.");
 
         //Scan
+        StartupProfiler profiler = webBeansContext.getStartupProfiler();
+        profiler.begin();
+        long start = profiler.start();
         scannerService.scan();
+        profiler.phase("scan", start);
         
         //Deploy beans
         logger.fine("Deploying scanned beans.");
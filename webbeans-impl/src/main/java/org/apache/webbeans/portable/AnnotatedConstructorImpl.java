@@ -48,8 +48,11 @@ public class AnnotatedConstructorImpl<X> extends AbstractAnnotatedCallable<X> im
     public AnnotatedConstructorImpl(WebBeansContext webBeansContext, Constructor<X> javaMember, AnnotatedType<X> declaringType)
     {        
         super(webBeansContext, javaMember.getDeclaringClass(), javaMember, declaringType);
-        setAnnotations(findAnnotations(javaMember));
-        setAnnotatedParameters(GenericsUtil.resolveParameterTypes(declaringType.getJavaClass(), javaMember), javaMember.getParameterAnnotations());
+
+        AnnotatedElementFactory annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
+        setAnnotations(findAnnotations(javaMember, annotatedElementFactory.getDeclaredAnnotations(javaMember)));
+        setAnnotatedParameters(GenericsUtil.resolveTypes(annotatedElementFactory.getGenericParameterTypes(javaMember), declaringType.getJavaClass()),
+                annotatedElementFactory.getParameterAnnotations(javaMember));
     }
 
     public AnnotatedConstructorImpl(WebBeansContext webBeansContext, AnnotatedConstructor<X> annotatedConstructor, AnnotatedType<X> declaringType)
@@ -63,7 +66,7 @@ public class AnnotatedConstructorImpl<X> extends AbstractAnnotatedCallable<X> im
         }
     }
 
-    private static Annotation[] findAnnotations(Constructor<?> javaMember)
+    private static Annotation[] findAnnotations(Constructor<?> javaMember, Annotation[] declaredAnnotations)
     {
         // I really don't like this code, can make thing not respecting java like
         // class A {  A() { super("yep"); } class B { @Foo public B() {} B(String value) {} }
@@ -72,7 +75,7 @@ public class AnnotatedConstructorImpl<X> extends AbstractAnnotatedCallable<X> im
         {
             Class<?> clazz = javaMember.getDeclaringClass();
             Map<Class<?>, Annotation> annotations = new HashMap<>();
-            for (Annotation a : javaMember.getDeclaredAnnotations())
+            for (Annotation a : declaredAnnotations)
             {
                 annotations.put(a.annotationType(), a);
             }
@@ -103,7 +106,7 @@ public class AnnotatedConstructorImpl<X> extends AbstractAnnotatedCallable<X> im
             return annotations.values().toArray(new Annotation[annotations.size()]);
         }
 
-        return javaMember.getDeclaredAnnotations();
+        return declaredAnnotations;
     }
 
 
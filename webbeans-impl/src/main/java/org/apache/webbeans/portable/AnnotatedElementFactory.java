@@ -18,9 +18,13 @@
  */
 package org.apache.webbeans.portable;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -35,6 +39,7 @@ import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedType;
 
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.util.Asserts;
@@ -81,8 +86,34 @@ public final class AnnotatedElementFactory
     private ConcurrentMap<AnnotatedType<?>, Set<AnnotatedMethod<?>>> annotatedMethodsOfTypeCache =
         new ConcurrentHashMap<>();
 
+    /**
+     * JVM wide cache of the parsed annotations and generic signatures of the declared members per class.
+     * The reflective members themselves are not shared, every WebBeansContext uses its own copies
+     * as accessibility is state of the member instance.
+     * Only JDK types get stored in it, so a class of a parent ClassLoader never keeps the
+     * ClassLoader of OpenWebBeans alive.
+     *
+     * @see OpenWebBeansConfiguration#SHARED_ANNOTATED_METADATA
+     */
+    private static final ClassValue<ConcurrentMap<Member, Object[]>> SHARED_MEMBER_METADATA =
+        new ClassValue<ConcurrentMap<Member, Object[]>>()
+        {
+            @Override
+            protected ConcurrentMap<Member, Object[]> computeValue(Class<?> type)
+            {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    private static final int DECLARED_ANNOTATIONS = 0;
+    private static final int GENERIC_TYPE = 1;
+    private static final int PARAMETER_ANNOTATIONS = 2;
+    private static final int GENERIC_PARAMETER_TYPES = 3;
+
     private WebBeansContext webBeansContext;
 
+    private Boolean sharedMetadata;
+
     /**
      * No instantiate.
      */
@@ -342,6 +373,116 @@ public final class AnnotatedElementFactory
         return (Set<AnnotatedMethod<? super T>>)(Set<?>)methods;
     }
 
+    /**
+     * The returned array must not be modified.
+     */
+    Annotation[] getDeclaredAnnotations(Field field)
+    {
+        if (!isSharedMetadata())
+        {
+            return field.getDeclaredAnnotations();
+        }
+        return (Annotation[]) getSharedMetadata(field)[DECLARED_ANNOTATIONS];
+    }
+
+    /**
+     * The returned array must not be modified.
+     */
+    Annotation[] getDeclaredAnnotations(Executable executable)
+    {
+        if (!isSharedMetadata())
+        {
+            return executable.getDeclaredAnnotations();
+        }
+        return (Annotation[]) getSharedMetadata(executable)[DECLARED_ANNOTATIONS];
+    }
+
+    Type getGenericType(Field field)
+    {
+        if (!isSharedMetadata())
+        {
+            return field.getGenericType();
+        }
+        return (Type) getSharedMetadata(field)[GENERIC_TYPE];
+    }
+
+    Type getGenericReturnType(Method method)
+    {
+        if (!isSharedMetadata())
+        {
+            return method.getGenericReturnType();
+        }
+        return (Type) getSharedMetadata(method)[GENERIC_TYPE];
+    }
+
+    /**
+     * The returned array must not be modified.
+     */
+    Type[] getGenericParameterTypes(Executable executable)
+    {
+        if (!isSharedMetadata())
+        {
+            return executable.getGenericParameterTypes();
+        }
+        return (Type[]) getSharedMetadata(executable)[GENERIC_PARAMETER_TYPES];
+    }
+
+    /**
+     * The returned array must not be modified.
+     */
+    Annotation[][] getParameterAnnotations(Executable executable)
+    {
+        if (!isSharedMetadata())
+        {
+            return executable.getParameterAnnotations();
+        }
+        return (Annotation[][]) getSharedMetadata(executable)[PARAMETER_ANNOTATIONS];
+    }
+
+    private Object[] getSharedMetadata(Member member)
+    {
+        ConcurrentMap<Member, Object[]> declaredMembers = SHARED_MEMBER_METADATA.get(member.getDeclaringClass());
+
+        // members are equal if they got declared by the same class with the same signature
+        Object[] metadata = declaredMembers.get(member);
+        if (metadata == null)
+        {
+            if (member instanceof Field)
+            {
+                Field field = (Field) member;
+                metadata = new Object[] {field.getDeclaredAnnotations(), field.getGenericType(), null, null};
+            }
+            else
+            {
+                Executable executable = (Executable) member;
+                metadata = new Object[] {
+                    executable.getDeclaredAnnotations(),
+                    executable instanceof Method ? ((Method) executable).getGenericReturnType() : null,
+                    executable.getParameterAnnotations(),
+                    executable.getGenericParameterTypes()};
+            }
+
+            // all WebBeansContexts shall use the same instances
+            Object[] existing = declaredMembers.putIfAbsent(member, metadata);
+            if (existing != null)
+            {
+                metadata = existing;
+            }
+        }
+        return metadata;
+    }
+
+    private boolean isSharedMetadata()
+    {
+        if (sharedMetadata == null)
+        {
+            // immutable, thus it doesn't matter if it gets created concurrently
+            sharedMetadata = Boolean.valueOf(
+                webBeansContext.getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.SHARED_ANNOTATED_METADATA));
+        }
+        return sharedMetadata;
+    }
+
     /**
      * Clear caches.
      */
@@ -44,9 +44,10 @@ public class AnnotatedFieldImpl<X> extends AbstractAnnotatedMember<X> implements
      */
     AnnotatedFieldImpl(WebBeansContext webBeansContext, Field javaMember, AnnotatedType<X> declaringType)
     {
-        super(webBeansContext, GenericsUtil.resolveType(declaringType.getJavaClass(), javaMember), javaMember,declaringType);
+        super(webBeansContext, GenericsUtil.resolveType(webBeansContext.getAnnotatedElementFactory().getGenericType(javaMember),
+                declaringType.getJavaClass(), javaMember), javaMember,declaringType);
         
-        setAnnotations(javaMember.getDeclaredAnnotations());
+        setAnnotations(webBeansContext.getAnnotatedElementFactory().getDeclaredAnnotations(javaMember));
     }
     
 
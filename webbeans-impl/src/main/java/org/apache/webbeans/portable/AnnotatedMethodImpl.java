@@ -47,9 +47,13 @@ public class AnnotatedMethodImpl<X> extends AbstractAnnotatedCallable<X> impleme
      */
     AnnotatedMethodImpl(WebBeansContext webBeansContext, Method javaMember, AnnotatedType<X> declaringType)
     {        
-        super(webBeansContext, GenericsUtil.resolveReturnType(declaringType.getJavaClass(), javaMember), javaMember, declaringType);
-        setAnnotations(javaMember.getDeclaredAnnotations());
-        setAnnotatedParameters(GenericsUtil.resolveParameterTypes(declaringType.getJavaClass(), javaMember), javaMember.getParameterAnnotations());
+        super(webBeansContext, GenericsUtil.resolveType(webBeansContext.getAnnotatedElementFactory().getGenericReturnType(javaMember),
+                declaringType.getJavaClass(), javaMember), javaMember, declaringType);
+
+        AnnotatedElementFactory annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
+        setAnnotations(annotatedElementFactory.getDeclaredAnnotations(javaMember));
+        setAnnotatedParameters(GenericsUtil.resolveTypes(annotatedElementFactory.getGenericParameterTypes(javaMember), declaringType.getJavaClass()),
+                annotatedElementFactory.getParameterAnnotations(javaMember));
     }
 
     /**
@@ -31,6 +31,7 @@ import org.apache.webbeans.intercept.DefaultInterceptorHandler;
 import org.apache.webbeans.intercept.InterceptorResolutionService;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
 import org.apache.webbeans.intercept.LifecycleInterceptorInvocationContext;
+import org.apache.webbeans.intercept.LifecycleMethodInvoker;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.InterceptorHandler;
@@ -39,6 +40,7 @@ import org.apache.webbeans.proxy.OwbNormalScopeProxy;
 import org.apache.webbeans.spi.ResourceInjectionService;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ExceptionUtil;
+import org.apache.webbeans.util.WeakIdentityMap;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.event.Observes;
@@ -58,6 +60,7 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.interceptor.InvocationContext;
 
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
@@ -68,6 +71,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -113,6 +117,26 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
 
     private List<Interceptor<?>> aroundConstructInterceptors;
 
+    /**
+     * Whether lifecycle interceptors alone require a proxy.
+     * This is the case for all instances which might get serialized, e.g. a &#064;Dependent bean of a
+     * passivating bean, as their Interceptor instances must get passivated with them.
+     */
+    private boolean proxyLifecycleInterceptors;
+
+    /**
+     * The Interceptor instances of the produced instances which are not proxied
+     * because only their lifecycle is intercepted. They are needed until &#064;PreDestroy.
+     * Only used for instances which can't get serialized, see {@link #proxyLifecycleInterceptors}.
+     */
+    private final WeakIdentityMap<T, Map<Interceptor<?>, ?>> lifecycleInterceptorInstances = new WeakIdentityMap<>();
+
+    /**
+     * Invokers for the {@link #postConstructMethods} and {@link #preDestroyMethods}, lazily created
+     */
+    private LifecycleMethodInvoker postConstructInvoker;
+    private LifecycleMethodInvoker preDestroyInvoker;
+
     public InjectionTargetImpl(AnnotatedType<T> annotatedType, Set<InjectionPoint> injectionPoints, WebBeansContext webBeansContext,
                                List<AnnotatedMethod<?>> postConstructMethods, List<AnnotatedMethod<?>> preDestroyMethods)
     {
@@ -146,10 +170,42 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
                 constructorEjbInterceptors,
                 interceptorInfo.getConstructorCdiInterceptors(),
                 InterceptionType.AROUND_CONSTRUCT);
+
+        proxyLifecycleInterceptors = webBeansContext.getBeanManagerImpl().isPassivatingScope(bean.getScope())
+            || Serializable.class.isAssignableFrom(annotatedType.getJavaClass());
     }
 
     @Override
     public T produce(Map<Interceptor<?>, ?> interceptorInstances, CreationalContextImpl<T> creationalContext)
+    {
+        T instance = produceInstance(interceptorInstances, creationalContext);
+        if (instance != null && !hasInterceptorInfo() && hasLifecycleInterceptors())
+        {
+            // there will be no proxy which keeps the Interceptor instances for the lifecycle callbacks
+            lifecycleInterceptorInstances.put(instance, getLifecycleInterceptorInstances(interceptorInstances));
+        }
+        return instance;
+    }
+
+    /**
+     * @return only the instances of the lifecycle Interceptors. Other entries like the one of a self
+     *         intercepting bean would strongly reference the key in {@link #lifecycleInterceptorInstances}.
+     */
+    private Map<Interceptor<?>, ?> getLifecycleInterceptorInstances(Map<Interceptor<?>, ?> interceptorInstances)
+    {
+        Map<Interceptor<?>, Object> lifecycleInstances = new HashMap<>();
+        for (Interceptor<?> interceptor : postConstructInterceptors)
+        {
+            lifecycleInstances.put(interceptor, interceptorInstances.get(interceptor));
+        }
+        for (Interceptor<?> interceptor : preDestroyInterceptors)
+        {
+            lifecycleInstances.put(interceptor, interceptorInstances.get(interceptor));
+        }
+        return lifecycleInstances;
+    }
+
+    private T produceInstance(Map<Interceptor<?>, ?> interceptorInstances, CreationalContextImpl<T> creationalContext)
     {
         if (hasAroundConstruct())
         {
@@ -181,10 +237,20 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         }
     }
 
+    /**
+     * Lifecycle interceptors alone don't need a proxy, the lifecycle callbacks directly
+     * get invoked on the produced instance. Beans which might get serialized still get proxied.
+     */
     @Override
     protected boolean needsProxy()
     {
-        return super.needsProxy() || !postConstructInterceptors.isEmpty() || !preDestroyInterceptors.isEmpty();
+        return super.needsProxy() || (proxyLifecycleInterceptors && hasLifecycleInterceptors());
+    }
+
+    private boolean hasLifecycleInterceptors()
+    {
+        return (postConstructInterceptors != null && !postConstructInterceptors.isEmpty())
+            || (preDestroyInterceptors != null && !preDestroyInterceptors.isEmpty());
     }
     
     protected boolean hasAroundConstruct()
@@ -308,13 +374,35 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
                 internalInstance = (T) dih.getTarget();
             }
         }
-        else if (postConstructMethods == null || postConstructMethods.isEmpty())
+        else if (hasLifecycleInterceptors())
+        {
+            // not proxied, we only need to keep the Interceptor instances if there are PreDestroy interceptors
+            interceptorInstances = preDestroyInterceptors.isEmpty()
+                ? lifecycleInterceptorInstances.remove(instance) : lifecycleInterceptorInstances.get(instance);
+        }
+
+        if (interceptorInstances == null && (postConstructMethods == null || postConstructMethods.isEmpty()))
         {
             return;
         }
 
+        if (postConstructInvoker == null)
+        {
+            // immutable, thus it doesn't matter if it gets created concurrently
+            postConstructInvoker = LifecycleMethodInvoker.of(postConstructMethods);
+        }
+        if (postConstructInterceptors == null || postConstructInterceptors.isEmpty() || interceptorInstances == null)
+        {
+            // no need for an InvocationContext
+            if (postConstructInvoker != null)
+            {
+                postConstructInvoker.invoke(internalInstance);
+            }
+            return;
+        }
+
         InvocationContext ic = new LifecycleInterceptorInvocationContext<>(internalInstance, InterceptionType.POST_CONSTRUCT, postConstructInterceptors,
-            interceptorInstances, postConstructMethods);
+            interceptorInstances, postConstructInvoker);
         try
         {
             ic.proceed();
@@ -347,13 +435,34 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
                 internalInstance = (T) dih.getTarget();
             }
         }
-        else if (preDestroyMethods == null || preDestroyMethods.isEmpty())
+        else if (hasLifecycleInterceptors())
+        {
+            // not proxied as only the lifecycle is intercepted
+            interceptorInstances = lifecycleInterceptorInstances.remove(instance);
+        }
+
+        if (interceptorInstances == null && (preDestroyMethods == null || preDestroyMethods.isEmpty()))
+        {
+            return;
+        }
+
+        if (preDestroyInvoker == null)
+        {
+            // immutable, thus it doesn't matter if it gets created concurrently
+            preDestroyInvoker = LifecycleMethodInvoker.of(preDestroyMethods);
+        }
+        if (preDestroyInterceptors == null || preDestroyInterceptors.isEmpty() || interceptorInstances == null)
         {
+            // no need for an InvocationContext
+            if (preDestroyInvoker != null)
+            {
+                preDestroyInvoker.invoke(internalInstance);
+            }
             return;
         }
 
         InvocationContext ic = new LifecycleInterceptorInvocationContext<>(internalInstance, InterceptionType.PRE_DESTROY, preDestroyInterceptors,
-            interceptorInstances, preDestroyMethods);
+            interceptorInstances, preDestroyInvoker);
         try
         {
             ic.proceed();
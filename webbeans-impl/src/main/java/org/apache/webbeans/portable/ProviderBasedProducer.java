@@ -58,7 +58,7 @@ public class ProviderBasedProducer<T> extends AbstractProducer<T>
                 {
                     loader = WebBeansUtil.getCurrentClassLoader();
                 }
-                Class<T> proxyClass = proxyFactory.createProxyClass(loader, returnType);
+                Class<T> proxyClass = proxyFactory.getCachedProxyClass(loader, returnType);
                 proxyInstance = proxyFactory.createProxyInstance(proxyClass, provider);
             }
             else
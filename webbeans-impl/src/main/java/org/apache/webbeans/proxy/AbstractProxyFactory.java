@@ -23,12 +23,24 @@ import static org.apache.xbean.asm7.ClassReader.SKIP_DEBUG;
 import static org.apache.xbean.asm7.ClassReader.SKIP_FRAMES;
 
 import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
-
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
@@ -59,6 +71,19 @@ public abstract class AbstractProxyFactory
 
     private final int javaVersion;
 
+    /**
+     * The proxy class names handed out by {@link #getUnusedProxyClassName(ClassLoader, String)} per ClassLoader.
+     * Proxy classes might get generated concurrently, thus checking whether a class exists is not enough.
+     */
+    private final Map<ClassLoader, Set<String>> reservedProxyClassNames = new WeakHashMap<>();
+
+    /**
+     * The proxy classes by their shape.
+     * Beans which need the very same proxy, e.g. producers with different qualifiers or many beans
+     * with the same interface, share a single proxy class.
+     */
+    private final ConcurrentMap<ProxyShape, Class<?>> proxyClassesByShape = new ConcurrentHashMap<>();
+
 
     /**
      * The name of the field which stores the passivationID of the Bean this proxy serves.
@@ -168,9 +193,14 @@ public abstract class AbstractProxyFactory
 
         for (int i = 0; i < MAX_CLASSLOAD_TRIES; i++)
         {
+            finalName = proxyClassName + i;
+            if (!reserveProxyClassName(classLoader, finalName))
+            {
+                continue;
+            }
+
             try
             {
-                finalName = proxyClassName + i;
                 Class.forName(finalName, true, classLoader);
             }
             catch (ClassNotFoundException cnfe)
@@ -184,6 +214,14 @@ public abstract class AbstractProxyFactory
         throw new WebBeansException("Unable to detect a free proxy class name based on: " + proxyClassName);
     }
 
+    private boolean reserveProxyClassName(ClassLoader classLoader, String proxyClassName)
+    {
+        synchronized (reservedProxyClassNames)
+        {
+            return reservedProxyClassNames.computeIfAbsent(classLoader, cl -> new HashSet<>()).add(proxyClassName);
+        }
+    }
+
     protected  <T> String getSignedClassProxyName(final Class<T> classToProxy)
     {
         // avoid java.lang.SecurityException: class's signer information
@@ -216,6 +254,50 @@ public abstract class AbstractProxyFactory
         return fixedClassName;
     }
 
+    /**
+     * Looks up the proxy class with the given shape and only creates a new one if there is none yet.
+     * The proxy class must not contain any state which is specific to a single bean.
+     *
+     * @param interceptedMethods the intercepted methods, the order matters as it is part of the generated class
+     * @param nonInterceptedMethods the delegated methods
+     * @param proxyClassCreator creates the proxy class if there is none yet
+     */
+    protected <T> Class<T> getSharedProxyClass(ClassLoader classLoader, Class<T> classToProxy,
+                                               Method[] interceptedMethods, Method[] nonInterceptedMethods,
+                                               Supplier<Class<T>> proxyClassCreator)
+    {
+        ProxyShape shape = new ProxyShape(classLoader, classToProxy, interceptedMethods, nonInterceptedMethods);
+        Class<T> proxyClass = (Class<T>) proxyClassesByShape.get(shape);
+        if (proxyClass == null)
+        {
+            proxyClass = proxyClassCreator.get();
+            Class<T> existingProxyClass = (Class<T>) proxyClassesByShape.putIfAbsent(shape, proxyClass);
+            if (existingProxyClass != null)
+            {
+                proxyClass = existingProxyClass;
+            }
+        }
+        return proxyClass;
+    }
+
+    /**
+     * @return a MethodHandle of type {@code (Object, Object)void} which sets the given field of a proxy instance
+     */
+    protected static MethodHandle createFieldSetter(Class<?> proxyClass, String fieldName)
+    {
+        try
+        {
+            Field field = proxyClass.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        }
+        catch (NoSuchFieldException | IllegalAccessException e)
+        {
+            throw new ProxyGenerationException(e);
+        }
+    }
+
     protected <T> Class<T> createProxyClass(ClassLoader classLoader, String proxyClassName, Class<T> classToProxy,
                                             Method[] interceptedMethods, Method[] nonInterceptedMethods)
             throws ProxyGenerationException
@@ -236,6 +318,9 @@ public abstract class AbstractProxyFactory
                                                       Constructor<T> constructor)
             throws ProxyGenerationException
     {
+        StartupProfiler profiler = webBeansContext.getStartupProfiler();
+        long start = profiler.start();
+
         String proxyClassFileName = proxyClassName.replace('.', '/');
 
         byte[] proxyBytes = generateProxy(classLoader,
@@ -246,7 +331,9 @@ public abstract class AbstractProxyFactory
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
 
-        return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes);
+        Class<T> proxyClass = unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        profiler.proxyGeneration(proxyClassName, start);
+        return proxyClass;
     }
 
     private Method[] sortOutDuplicateMethods(Method[] methods)
@@ -702,4 +789,53 @@ public abstract class AbstractProxyFactory
             this.version = version;
         }
     }
+
+
+    /**
+     * Everything which determines the bytecode of a proxy class
+     */
+    private static final class ProxyShape
+    {
+        private final ClassLoader classLoader;
+        private final Class<?> classToProxy;
+        private final Method[] interceptedMethods;
+        private final Method[] nonInterceptedMethods;
+        private final int hashCode;
+
+        private ProxyShape(ClassLoader classLoader, Class<?> classToProxy,
+                           Method[] interceptedMethods, Method[] nonInterceptedMethods)
+        {
+            this.classLoader = classLoader;
+            this.classToProxy = classToProxy;
+            this.interceptedMethods = interceptedMethods;
+            this.nonInterceptedMethods = nonInterceptedMethods;
+            this.hashCode = 31 * (31 * (31 * System.identityHashCode(classLoader) + classToProxy.hashCode())
+                    + Arrays.hashCode(interceptedMethods)) + Arrays.hashCode(nonInterceptedMethods);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof ProxyShape))
+            {
+                return false;
+            }
+            ProxyShape other = (ProxyShape) o;
+            return hashCode == other.hashCode
+                    && classLoader == other.classLoader
+                    && classToProxy == other.classToProxy
+                    && Arrays.equals(interceptedMethods, other.interceptedMethods)
+                    && Arrays.equals(nonInterceptedMethods, other.nonInterceptedMethods);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
 }
@@ -35,6 +35,7 @@ import org.apache.xbean.asm7.Type;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import java.io.ObjectStreamException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -74,6 +75,22 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
     private ConcurrentMap<AnnotatedType<?>, Class<?>> cachedProxyClassesByAt = new ConcurrentHashMap<>();
 
+    /**
+     * The setters for the {@link #FIELD_PROXIED_INSTANCE} and {@link #FIELD_INTERCEPTOR_HANDLER} fields per proxy class
+     */
+    private final ClassValue<MethodHandle[]> proxyFieldSetters = new ClassValue<MethodHandle[]>()
+    {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> proxyClass)
+        {
+            return new MethodHandle[]
+            {
+                createFieldSetter(proxyClass, FIELD_PROXIED_INSTANCE),
+                createFieldSetter(proxyClass, FIELD_INTERCEPTOR_HANDLER)
+            };
+        }
+    };
+
 
     public InterceptorDecoratorProxyFactory(WebBeansContext webBeansContext)
     {
@@ -85,28 +102,25 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     {
         Asserts.assertNotNull(instance);
 
+        T proxy = unsafe.unsafeNewInstance(proxyClass);
+
+        MethodHandle[] fieldSetters = proxyFieldSetters.get(proxyClass);
         try
         {
-            T proxy = unsafe.unsafeNewInstance(proxyClass);
-
-            Field delegateField = proxy.getClass().getDeclaredField(FIELD_PROXIED_INSTANCE);
-            delegateField.setAccessible(true);
-            delegateField.set(proxy, instance);
-
-            Field invocationHandlerField = proxy.getClass().getDeclaredField(FIELD_INTERCEPTOR_HANDLER);
-            invocationHandlerField.setAccessible(true);
-            invocationHandlerField.set(proxy, interceptorDecoratorStack);
-
-            return proxy;
+            fieldSetters[0].invokeExact((Object) proxy, (Object) instance);
+            fieldSetters[1].invokeExact((Object) proxy, (Object) interceptorDecoratorStack);
         }
-        catch (IllegalAccessException e)
+        catch (Exception e)
         {
             throw new ProxyGenerationException(e);
         }
-        catch (NoSuchFieldException e)
+        catch (Throwable e)
         {
-            throw new ProxyGenerationException(e);
+            // Errors must not get wrapped
+            throw ExceptionUtil.throwAsRuntimeException(e);
         }
+
+        return proxy;
     }
 
     /**
@@ -181,27 +195,38 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
      * @param <T>
      * @return the proxy class
      */
-    public synchronized <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy,
+    public <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy,
                                                       Method[] interceptedMethods, Method[] nonInterceptedMethods)
             throws ProxyGenerationException
     {
-        Class<T> proxyClass = createProxyClass(classLoader, classToProxy, interceptedMethods, nonInterceptedMethods);
+        Class<T> proxyClass = getSharedProxyClass(classLoader, classToProxy, interceptedMethods, nonInterceptedMethods);
         cachedProxyClasses.put(bean, proxyClass);
         return proxyClass;
     }
 
-    public synchronized <T> Class<T> createProxyClass(InterceptorResolutionService.BeanInterceptorInfo interceptorInfo,
+    public <T> Class<T> createProxyClass(InterceptorResolutionService.BeanInterceptorInfo interceptorInfo,
                                                       AnnotatedType<T> at, ClassLoader classLoader)
             throws ProxyGenerationException
     {
         Collection<Method> intercepted = interceptorInfo.getBusinessMethodsInfo().keySet();
         Collection<Method> others = interceptorInfo.getNonInterceptedMethods();
 
-        Class<T> proxyClass = createProxyClass(
+        Class<T> proxyClass = getSharedProxyClass(
                 classLoader, at.getJavaClass(),
                 intercepted.toArray(new Method[intercepted.size()]), others.toArray(new Method[others.size()]));
-        cachedProxyClassesByAt.put(at, proxyClass);
-        return proxyClass;
+        Class<T> existingProxyClass = (Class<T>) cachedProxyClassesByAt.putIfAbsent(at, proxyClass);
+        return existingProxyClass != null ? existingProxyClass : proxyClass;
+    }
+
+    /**
+     * Beans with the same intercepted and non-intercepted methods share the proxy class
+     * as all the bean specific information is kept in the InterceptorHandler.
+     */
+    private <T> Class<T> getSharedProxyClass(ClassLoader classLoader, Class<T> classToProxy,
+                                             Method[] interceptedMethods, Method[] nonInterceptedMethods)
+    {
+        return getSharedProxyClass(classLoader, classToProxy, interceptedMethods, nonInterceptedMethods,
+            () -> createProxyClass(classLoader, classToProxy, interceptedMethods, nonInterceptedMethods));
     }
 
     private <T> Class<T> createProxyClass(ClassLoader classLoader, Class<T> classToProxy,
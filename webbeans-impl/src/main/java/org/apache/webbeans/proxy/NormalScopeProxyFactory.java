@@ -22,15 +22,25 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Provider;
 import java.io.ObjectStreamException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.config.OpenWebBeansConfiguration;
@@ -38,6 +48,7 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
@@ -53,6 +64,8 @@ import org.apache.xbean.asm7.Type;
  */
 public class NormalScopeProxyFactory extends AbstractProxyFactory
 {
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(NormalScopeProxyFactory.class);
+
     /** the name of the field which stores the {@link Provider} for the Contextual Instance */
     public static final String FIELD_INSTANCE_PROVIDER = "owbContextualInstanceProvider";
 
@@ -65,6 +78,18 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
      */
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
 
+    /**
+     * The setter for the {@link #FIELD_INSTANCE_PROVIDER} field per proxy class
+     */
+    private final ClassValue<MethodHandle> providerSetters = new ClassValue<MethodHandle>()
+    {
+        @Override
+        protected MethodHandle computeValue(Class<?> proxyClass)
+        {
+            return createFieldSetter(proxyClass, FIELD_INSTANCE_PROVIDER);
+        }
+    };
+
 
     public NormalScopeProxyFactory(WebBeansContext webBeansContext)
     {
@@ -117,39 +142,94 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
 
     public <T> T createNormalScopeProxy(Bean<T> bean)
     {
-        ClassLoader classLoader;
-        if (bean.getBeanClass() != null)
+        ClassLoader classLoader = getProxyClassLoader(bean);
+
+        Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
+
+        if (proxyClass == null)
+        {
+            proxyClass = createProxyClass(bean, classLoader, getClassToProxy(bean));
+        }
+
+        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+    }
+
+    /**
+     * Generates the proxy classes of the given normal scoped beans in advance.
+     * The bytecode of the proxies gets generated on the given number of threads.
+     * Beans which cannot get proxied get skipped, the problem gets reported once the bean gets used.
+     */
+    public void createProxyClasses(Collection<Bean<?>> beans, int threads)
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ProxyGenerationThreadFactory());
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>(beans.size());
+            for (Bean<?> bean : beans)
+            {
+                if (cachedProxyClasses.containsKey(bean))
+                {
+                    continue;
+                }
+                futures.add(executor.submit(() -> createProxyClassQuietly(bean)));
+            }
+
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        catch (InterruptedException e)
         {
-            classLoader = getProxyClassLoader(bean.getBeanClass());
+            Thread.currentThread().interrupt();
         }
-        else if (OwbBean.class.isInstance(bean) && OwbBean.class.cast(bean).getReturnType() != null)
+        catch (ExecutionException e)
         {
-            classLoader = getProxyClassLoader(OwbBean.class.cast(bean).getReturnType());
+            throw ExceptionUtil.throwAsRuntimeException(e.getCause());
         }
-        else
+        finally
         {
-            classLoader = WebBeansUtil.getCurrentClassLoader();
+            executor.shutdownNow();
         }
+    }
 
-        Class<T> classToProxy;
-        if (bean instanceof OwbBean)
+    private <T> void createProxyClassQuietly(Bean<T> bean)
+    {
+        try
         {
-            classToProxy = ((OwbBean<T>) bean).getReturnType();
+            createProxyClass(bean, getProxyClassLoader(bean), getClassToProxy(bean));
         }
-        else
+        catch (RuntimeException | LinkageError e)
         {
-            // TODO: that might be wrong sometimes
-            classToProxy = (Class<T>) bean.getBeanClass();
+            if (logger.isLoggable(Level.FINE))
+            {
+                logger.log(Level.FINE, "Could not generate the normal scoped proxy of " + bean + " in advance", e);
+            }
         }
+    }
 
-        Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
+    private ClassLoader getProxyClassLoader(Bean<?> bean)
+    {
+        if (bean.getBeanClass() != null)
+        {
+            return getProxyClassLoader(bean.getBeanClass());
+        }
+        if (OwbBean.class.isInstance(bean) && OwbBean.class.cast(bean).getReturnType() != null)
+        {
+            return getProxyClassLoader(OwbBean.class.cast(bean).getReturnType());
+        }
+        return WebBeansUtil.getCurrentClassLoader();
+    }
 
-        if (proxyClass == null)
+    private <T> Class<T> getClassToProxy(Bean<T> bean)
+    {
+        if (bean instanceof OwbBean)
         {
-            proxyClass = createProxyClass(bean, classLoader, classToProxy);
+            return ((OwbBean<T>) bean).getReturnType();
         }
 
-        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+        // TODO: that might be wrong sometimes
+        return (Class<T>) bean.getBeanClass();
     }
 
     public Provider getInstanceProvider(ClassLoader classLoader, Bean<?> bean)
@@ -191,19 +271,33 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         }
     }
 
-    public synchronized <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy)
+    public <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy)
     {
         Class<T> proxyClass = (Class<T>) cachedProxyClasses.get(bean);
 
         if (proxyClass == null)
         {
-            proxyClass = createProxyClass(classLoader, classToProxy);
-            cachedProxyClasses.putIfAbsent(bean, proxyClass);
+            proxyClass = getCachedProxyClass(classLoader, classToProxy);
+            Class<T> existingProxyClass = (Class<T>) cachedProxyClasses.putIfAbsent(bean, proxyClass);
+            if (existingProxyClass != null)
+            {
+                proxyClass = existingProxyClass;
+            }
         }
 
         return proxyClass;
     }
 
+    /**
+     * All beans of the same type share the proxy class as the contextual instance Provider
+     * is kept in the proxy instance.
+     * @return the proxy class for the given type, only gets created if there is none yet
+     */
+    public <T> Class<T> getCachedProxyClass(ClassLoader classLoader, Class<T> classToProxy)
+    {
+        return getSharedProxyClass(classLoader, classToProxy, null, null, () -> createProxyClass(classLoader, classToProxy));
+    }
+
     @Override
     protected void createSerialisation(ClassWriter cw, String proxyClassFileName, Class<?> classToProxy, String classFileName)
     {
@@ -289,20 +383,21 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
     public <T> T createProxyInstance(Class<T> proxyClass, Provider provider)
             throws ProxyGenerationException
     {
+        T proxy = unsafe.unsafeNewInstance(proxyClass);
         try
         {
-            T proxy = unsafe.unsafeNewInstance(proxyClass);
-
-            Field delegateField = proxy.getClass().getDeclaredField(FIELD_INSTANCE_PROVIDER);
-            delegateField.setAccessible(true);
-            delegateField.set(proxy, provider);
-
-            return proxy;
+            providerSetters.get(proxyClass).invokeExact((Object) proxy, (Object) provider);
         }
         catch (Exception e)
         {
             throw new ProxyGenerationException(e);
         }
+        catch (Throwable e)
+        {
+            // Errors must not get wrapped
+            throw ExceptionUtil.throwAsRuntimeException(e);
+        }
+        return proxy;
     }
 
 
@@ -546,4 +641,17 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         }
     }
 
+
+    private static final class ProxyGenerationThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "OWB-ProxyGeneration-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -18,6 +18,9 @@
  */
 package org.apache.webbeans.proxy;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -28,9 +31,48 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.ExceptionUtil;
 
 public class Unsafe
 {
+    /**
+     * {@code MethodHandles#privateLookupIn} and {@code MethodHandles.Lookup#defineClass},
+     * only available on Java 9 and later.
+     */
+    private static final Method PRIVATE_LOOKUP_IN;
+    private static final Method LOOKUP_DEFINE_CLASS;
+
+    /**
+     * The protected {@code defineClass} method per ClassLoader class
+     */
+    private static final ClassValue<Method> CLASSLOADER_DEFINE_CLASS = new ClassValue<Method>()
+    {
+        @Override
+        protected Method computeValue(Class<?> loaderClass)
+        {
+            return findDefineClassMethod(loaderClass);
+        }
+    };
+
+    static
+    {
+        Method privateLookupIn = null;
+        Method lookupDefineClass = null;
+        try
+        {
+            privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            lookupDefineClass = MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+        }
+        catch (NoSuchMethodException e)
+        {
+            // Java 8, we need to use ClassLoader#defineClass
+            privateLookupIn = null;
+            lookupDefineClass = null;
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+        LOOKUP_DEFINE_CLASS = lookupDefineClass;
+    }
+
     /**
      * contains the instance of sun.misc.Unsafe.
      * We use it for creating the proxy instance without fully
@@ -40,6 +82,18 @@ public class Unsafe
     private Method unsafeAllocateInstance;
     private final AtomicReference<Method> unsafeDefineClass = new AtomicReference<>();
 
+    /**
+     * Creates a new uninitialized instance per proxy class, type {@code ()Object}
+     */
+    private final ClassValue<MethodHandle> instanceFactories = new ClassValue<MethodHandle>()
+    {
+        @Override
+        protected MethodHandle computeValue(Class<?> proxyClass)
+        {
+            return createInstanceFactory(proxyClass);
+        }
+    };
+
     public Unsafe()
     {
         final Class<?> unsafeClass = getUnsafeClass();
@@ -83,35 +137,47 @@ public class Unsafe
     public <T> Class<T> defineAndLoadClass(ClassLoader classLoader, String proxyName, byte[] proxyBytes)
             throws ProxyGenerationException
     {
-        Class<?> clazz = classLoader.getClass();
+        return defineAndLoadClass(classLoader, proxyName, proxyBytes, null);
+    }
 
-        Method defineClassMethod = null;
-        do
+    /**
+     * Defines the proxy class in the given ClassLoader.
+     *
+     * On Java 9 and later the class gets defined via a {@link MethodHandles.Lookup} on the neighbour class
+     * if it is in the same package and ClassLoader as the proxy. This doesn't need any illegal access.
+     * Otherwise the protected 'defineClass' method of the ClassLoader gets invoked via reflection.
+     *
+     * @param neighbour a class in the package of the proxy, might be {@code null}
+     * @return the Class which got loaded in the classloader
+     */
+    public <T> Class<T> defineAndLoadClass(ClassLoader classLoader, String proxyName, byte[] proxyBytes, Class<?> neighbour)
+            throws ProxyGenerationException
+    {
+        String className = proxyName.replace('/', '.');
+        if (LOOKUP_DEFINE_CLASS != null && isInSamePackage(neighbour, classLoader, className))
         {
             try
             {
-                defineClassMethod = clazz.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class);
-            }
-            catch (NoSuchMethodException e)
-            {
-                // do nothing, we need to search the superclass
+                Object lookup = PRIVATE_LOOKUP_IN.invoke(null, neighbour, MethodHandles.lookup());
+                return (Class<T>) LOOKUP_DEFINE_CLASS.invoke(lookup, (Object) proxyBytes);
             }
-
-            clazz = clazz.getSuperclass();
-        } while (defineClassMethod == null && clazz != Object.class);
-
-        if (defineClassMethod != null && !defineClassMethod.isAccessible())
-        {
-            try
+            catch (InvocationTargetException e)
             {
-                defineClassMethod.setAccessible(true);
+                if (LinkageError.class.isInstance(e.getCause()))
+                {
+                    // concurrently defined by someone else
+                    return loadDefinedClass(classLoader, className, e.getCause());
+                }
+                // e.g. the package is not open to us, use the ClassLoader directly
             }
-            catch (RuntimeException re) // likely j9, let's use unsafe
+            catch (IllegalAccessException e)
             {
-                defineClassMethod = null;
+                // use the ClassLoader directly
             }
         }
 
+        Method defineClassMethod = CLASSLOADER_DEFINE_CLASS.get(classLoader.getClass());
+
         try
         {
             Class<T> definedClass;
@@ -126,20 +192,13 @@ public class Unsafe
                 definedClass = (Class<T>) unsafeDefineClass().invoke(unsafe, proxyName, proxyBytes, 0, proxyBytes.length, classLoader, null);
             }
 
-            return (Class<T>) Class.forName(definedClass.getName(), true, classLoader);
+            return definedClass;
         }
         catch (InvocationTargetException le) // if concurrent calls are done then ensure to just reload the created one
         {
             if (LinkageError.class.isInstance(le.getCause()))
             {
-                try
-                {
-                    return (Class<T>) Class.forName(proxyName.replace('/', '.'), true, classLoader);
-                }
-                catch (ClassNotFoundException e)
-                {
-                    // default error handling
-                }
+                return loadDefinedClass(classLoader, className, le.getCause());
             }
             throw new ProxyGenerationException(le.getCause());
         }
@@ -149,6 +208,68 @@ public class Unsafe
         }
     }
 
+    private static boolean isInSamePackage(Class<?> neighbour, ClassLoader classLoader, String className)
+    {
+        if (neighbour == null || neighbour.getClassLoader() != classLoader)
+        {
+            return false;
+        }
+
+        String neighbourName = neighbour.getName();
+        int neighbourPackageEnd = neighbourName.lastIndexOf('.');
+        int packageEnd = className.lastIndexOf('.');
+        return neighbourPackageEnd == packageEnd && className.regionMatches(0, neighbourName, 0, packageEnd + 1);
+    }
+
+    private static <T> Class<T> loadDefinedClass(ClassLoader classLoader, String className, Throwable linkageError)
+            throws ProxyGenerationException
+    {
+        try
+        {
+            return (Class<T>) Class.forName(className, true, classLoader);
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new ProxyGenerationException(linkageError);
+        }
+    }
+
+    /**
+     * @return the accessible 'defineClass' method of the ClassLoader class, {@code null} if there is none
+     */
+    private static Method findDefineClassMethod(Class<?> loaderClass)
+    {
+        Class<?> clazz = loaderClass;
+
+        Method defineClassMethod = null;
+        do
+        {
+            try
+            {
+                defineClassMethod = clazz.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class);
+            }
+            catch (NoSuchMethodException e)
+            {
+                // do nothing, we need to search the superclass
+            }
+
+            clazz = clazz.getSuperclass();
+        } while (defineClassMethod == null && clazz != Object.class);
+
+        if (defineClassMethod != null && !defineClassMethod.isAccessible())
+        {
+            try
+            {
+                defineClassMethod.setAccessible(true);
+            }
+            catch (RuntimeException re) // likely j9, let's use unsafe
+            {
+                defineClassMethod = null;
+            }
+        }
+        return defineClassMethod;
+    }
+
     private Method unsafeDefineClass()
     {
         Method value = unsafeDefineClass.get();
@@ -176,34 +297,45 @@ public class Unsafe
 
     public <T> T unsafeNewInstance(Class<T> clazz)
     {
+        try
+        {
+            return (T) instanceFactories.get(clazz).invokeExact();
+        }
+        catch (IllegalStateException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Failed to allocateInstance of Proxy class " + clazz.getName(), e);
+        }
+        catch (Throwable e)
+        {
+            // Errors must not get wrapped
+            throw ExceptionUtil.throwAsRuntimeException(e);
+        }
+    }
+
+    /**
+     * @return a MethodHandle of type {@code ()Object} which creates a new instance of the given class
+     *         without invoking any constructor if possible
+     */
+    private MethodHandle createInstanceFactory(Class<?> clazz)
+    {
+        MethodType factoryType = MethodType.methodType(Object.class);
         try
         {
             if (unsafeAllocateInstance != null)
             {
-                return (T) unsafeAllocateInstance.invoke(unsafe, clazz);
-            }
-            else
-            {
-                try
-                {
-                    return clazz.getConstructor().newInstance();
-                }
-                catch (final Exception e)
-                {
-                    throw new IllegalStateException("Failed to allocateInstance of Proxy class " + clazz.getName(), e);
-                }
+                MethodHandle allocateInstance = MethodHandles.lookup().unreflect(unsafeAllocateInstance).bindTo(unsafe);
+                return MethodHandles.insertArguments(allocateInstance, 0, clazz).asType(factoryType);
             }
+            return MethodHandles.publicLookup().findConstructor(clazz, MethodType.methodType(void.class)).asType(factoryType);
         }
-        catch (IllegalAccessException e)
+        catch (NoSuchMethodException | IllegalAccessException e)
         {
             throw new IllegalStateException("Failed to allocateInstance of Proxy class " + clazz.getName(), e);
         }
-        catch (InvocationTargetException e)
-        {
-            Throwable throwable = e.getTargetException() != null ? e.getTargetException() : e;
-            throw new IllegalStateException("Failed to allocateInstance of Proxy class " + clazz.getName(),
-                    throwable);
-        }
     }
 
     private Class<?> getUnsafeClass()
@@ -90,34 +90,35 @@ public final class ClassUtil
 
     public static Class<?> getClassFromName(String name)
     {
-        Class<?> clazz;
-        ClassLoader loader;
+        return getClassFromName(name, WebBeansUtil.getCurrentClassLoader(), true);
+    }
+
+    /**
+     * Load the class with the given name from the given ClassLoader.
+     * If it cannot be found there we fall back to the ClassLoader of OWB and the system ClassLoader.
+     *
+     * @param name fully qualified name of the class
+     * @param loader the ClassLoader to try first
+     * @param initialize whether the class shall get initialized
+     * @return the class or {@code null} if it cannot be found
+     */
+    public static Class<?> getClassFromName(String name, ClassLoader loader, boolean initialize)
+    {
         try
         {
-            loader = WebBeansUtil.getCurrentClassLoader();
-            clazz = Class.forName(name, true , loader);
-            return clazz;
-
+            return Class.forName(name, initialize, loader);
         }
         catch (ClassNotFoundException e)
         {
             try
             {
-                loader = ClassUtil.class.getClassLoader(); 
-                clazz = Class.forName(name, true , loader);
-
-                return clazz;
-
+                return Class.forName(name, initialize, ClassUtil.class.getClassLoader());
             }
             catch (ClassNotFoundException e1)
             {
                 try
                 {
-                    loader = ClassLoader.getSystemClassLoader();
-                    clazz = Class.forName(name, true , loader);
-
-                    return clazz;
-
+                    return Class.forName(name, initialize, ClassLoader.getSystemClassLoader());
                 }
                 catch (ClassNotFoundException e2)
                 {
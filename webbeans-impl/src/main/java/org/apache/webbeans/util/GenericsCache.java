@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Memoizes the results of the {@link GenericsUtil} type closure and assignability checks.
+ *
+ * The caches must never keep a ClassLoader alive which is not visible to OpenWebBeans itself.
+ * Thus results which only refer to classes of the OpenWebBeans ClassLoader (or its parents) get stored in
+ * a shared map, results which refer to classes of an application ClassLoader get attached to the
+ * most specific of those classes. Types which contain type variables or refer to classes of
+ * unrelated ClassLoaders are not cached at all.
+ */
+final class GenericsCache
+{
+    static final int TYPE_CLOSURE = -1;
+
+    private static final int MAX_SHARED_ENTRIES = 4096;
+    private static final int MAX_ENTRIES_PER_CLASS = 256;
+
+    // Integer is a bootstrap class, so it can be attached to classes of any ClassLoader
+    private static final Integer SHARED = 0;
+    private static final Integer CHILD = 1;
+    private static final Integer UNRELATED = 2;
+
+    private static final ClassLoader OWB_LOADER = GenericsCache.class.getClassLoader();
+
+    private static final ConcurrentMap<Object, Object> SHARED_CACHE = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Integer> LOADER_RELATION = new ClassValue<Integer>()
+    {
+        @Override
+        protected Integer computeValue(Class<?> type)
+        {
+            ClassLoader loader = type.getClassLoader();
+            if (isAncestorOrSame(loader, OWB_LOADER))
+            {
+                return SHARED;
+            }
+            return isAncestorOrSame(OWB_LOADER, loader) ? CHILD : UNRELATED;
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<Object, Object>> CLASS_CACHES = new ClassValue<ConcurrentMap<Object, Object>>()
+    {
+        @Override
+        protected ConcurrentMap<Object, Object> computeValue(Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private GenericsCache()
+    {
+        // utility class
+    }
+
+    /**
+     * @return the cache to store results for the given types in, {@code null} if they must not be cached
+     */
+    static ConcurrentMap<Object, Object> getCache(Type first, Type second)
+    {
+        Class<?> owner = findOwner(second, findOwner(first, null));
+        if (owner == UnrelatedTypes.class)
+        {
+            return null;
+        }
+        return owner == null ? SHARED_CACHE : CLASS_CACHES.get(owner);
+    }
+
+    static Object key(int kind, Type first, Type second)
+    {
+        return new Key(kind, first, second);
+    }
+
+    static void put(ConcurrentMap<Object, Object> cache, Object key, Object value)
+    {
+        if (cache.size() >= (cache == SHARED_CACHE ? MAX_SHARED_ENTRIES : MAX_ENTRIES_PER_CLASS))
+        {
+            // degenerated usage, e.g. types created on the fly; simply start over
+            cache.clear();
+        }
+        cache.putIfAbsent(key, value);
+    }
+
+    /**
+     * @param owner the most specific application class found so far, {@code null} if there is none yet
+     * @return the most specific application class, {@code null} if there is none
+     *         and {@code UnrelatedTypes.class} if the type must not be cached
+     */
+    private static Class<?> findOwner(Type type, Class<?> owner)
+    {
+        if (owner == UnrelatedTypes.class)
+        {
+            return owner;
+        }
+        if (type instanceof Class)
+        {
+            Class<?> clazz = (Class<?>) type;
+            Integer relation = LOADER_RELATION.get(clazz);
+            if (relation == SHARED)
+            {
+                return owner;
+            }
+            if (relation == UNRELATED)
+            {
+                return UnrelatedTypes.class;
+            }
+            if (owner == null || owner.getClassLoader() == clazz.getClassLoader()
+                || isAncestorOrSame(clazz.getClassLoader(), owner.getClassLoader()))
+            {
+                return owner == null ? clazz : owner;
+            }
+            return isAncestorOrSame(owner.getClassLoader(), clazz.getClassLoader()) ? clazz : UnrelatedTypes.class;
+        }
+        else if (type instanceof ParameterizedType)
+        {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            owner = findOwner(parameterizedType.getRawType(), owner);
+            if (parameterizedType.getOwnerType() != null)
+            {
+                owner = findOwner(parameterizedType.getOwnerType(), owner);
+            }
+            return findOwner(parameterizedType.getActualTypeArguments(), owner);
+        }
+        else if (type instanceof WildcardType)
+        {
+            WildcardType wildcardType = (WildcardType) type;
+            return findOwner(wildcardType.getLowerBounds(), findOwner(wildcardType.getUpperBounds(), owner));
+        }
+        else if (type instanceof GenericArrayType)
+        {
+            return findOwner(((GenericArrayType) type).getGenericComponentType(), owner);
+        }
+
+        // type variables are only meaningful in the context they got resolved in
+        return UnrelatedTypes.class;
+    }
+
+    private static Class<?> findOwner(Type[] types, Class<?> owner)
+    {
+        for (Type type : types)
+        {
+            owner = findOwner(type, owner);
+        }
+        return owner;
+    }
+
+    private static boolean isAncestorOrSame(ClassLoader ancestor, ClassLoader loader)
+    {
+        if (ancestor == null)
+        {
+            return true;
+        }
+        for (ClassLoader current = loader; current != null; current = current.getParent())
+        {
+            if (current == ancestor)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Marker for types which must not be cached
+     */
+    private static final class UnrelatedTypes
+    {
+    }
+
+    private static final class Key
+    {
+        private final int kind;
+        private final Type first;
+        private final Type second;
+        private final int hashCode;
+
+        private Key(int kind, Type first, Type second)
+        {
+            this.kind = kind;
+            this.first = first;
+            this.second = second;
+            this.hashCode = 31 * (31 * kind + first.hashCode()) + second.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && hashCode == other.hashCode && first.equals(other.first) && second.equals(other.second);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
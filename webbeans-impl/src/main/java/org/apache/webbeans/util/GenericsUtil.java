@@ -31,9 +31,11 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.webbeans.config.OwbGenericArrayTypeImpl;
 import org.apache.webbeans.config.OwbParametrizedTypeImpl;
@@ -111,6 +113,30 @@ public final class GenericsUtil
      * 5.2.3 and 5.2.4
      */
     public static boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+    {
+        if (requiredType instanceof Class && beanType instanceof Class)
+        {
+            // cheap enough, no need to cache it
+            return isAssignableFrom(isDelegateOrEvent, (Class<?>)requiredType, beanType);
+        }
+
+        ConcurrentMap<Object, Object> cache = GenericsCache.getCache(requiredType, beanType);
+        if (cache == null)
+        {
+            return computeAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType);
+        }
+
+        Object key = GenericsCache.key((isDelegateOrEvent ? 1 : 0) | (isProducer ? 2 : 0), requiredType, beanType);
+        Boolean assignable = (Boolean) cache.get(key);
+        if (assignable == null)
+        {
+            assignable = computeAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType);
+            GenericsCache.put(cache, key, assignable);
+        }
+        return assignable;
+    }
+
+    private static boolean computeAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
     {
         if (requiredType instanceof Class)
         {
@@ -740,12 +766,32 @@ public final class GenericsUtil
      * @return the type closure
      */
     public static Set<Type> getTypeClosure(Type type, Type actualType)
+    {
+        ConcurrentMap<Object, Object> cache = GenericsCache.getCache(type, actualType);
+        if (cache == null)
+        {
+            return computeTypeClosure(type, actualType);
+        }
+
+        Object key = GenericsCache.key(GenericsCache.TYPE_CLOSURE, type, actualType);
+        Set<Type> typeClosure = (Set<Type>) cache.get(key);
+        if (typeClosure == null)
+        {
+            typeClosure = Collections.unmodifiableSet(computeTypeClosure(type, actualType));
+            GenericsCache.put(cache, key, typeClosure);
+        }
+
+        // callers are free to modify the type closure
+        return new HashSet<>(typeClosure);
+    }
+
+    private static Set<Type> computeTypeClosure(Type type, Type actualType)
     {
         Class<?> rawType = getRawType(type);
         Class<?> actualRawType = getRawType(actualType);
         if (rawType.isAssignableFrom(actualRawType) && rawType != actualRawType)
         {
-            return getTypeClosure(actualType, type);
+            return computeTypeClosure(actualType, type);
         }
         if (hasTypeParameters(type))
         {
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread safe map which holds its keys weakly and compares them by identity.
+ * Unlike a WeakHashMap this doesn't rely on equals() and hashCode() of the keys,
+ * which is what we need to attach data to arbitrary user instances.
+ * Like for a WeakHashMap the values must not strongly reference their keys,
+ * otherwise the entries never get released.
+ */
+public final class WeakIdentityMap<K, V>
+{
+    private final ConcurrentMap<IdentityWeakReference<K>, V> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    public void put(K key, V value)
+    {
+        expungeStaleEntries();
+        entries.put(new IdentityWeakReference<>(key, queue), value);
+    }
+
+    public V get(K key)
+    {
+        return entries.get(new IdentityWeakReference<>(key, null));
+    }
+
+    public V remove(K key)
+    {
+        expungeStaleEntries();
+        return entries.remove(new IdentityWeakReference<>(key, null));
+    }
+
+    public boolean isEmpty()
+    {
+        expungeStaleEntries();
+        return entries.isEmpty();
+    }
+
+    private void expungeStaleEntries()
+    {
+        Reference<? extends K> reference;
+        while ((reference = queue.poll()) != null)
+        {
+            entries.remove(reference);
+        }
+    }
+
+
+    private static final class IdentityWeakReference<K> extends WeakReference<K>
+    {
+        private final int hash;
+
+        private IdentityWeakReference(K referent, ReferenceQueue<K> queue)
+        {
+            super(referent, queue);
+            hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof IdentityWeakReference))
+            {
+                return false;
+            }
+            Object referent = get();
+            return referent != null && referent == ((IdentityWeakReference<?>) o).get();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.xml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.util.WebBeansConstants;
+
+/**
+ * Streaming parser for beans.xml files.
+ * The result is an immutable {@link BeansXml} which does not depend on the
+ * environment, thus it can be cached and applied to multiple BeanArchiveInformations.
+ */
+final class BeansXmlParser
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(BeanArchiveService.class);
+
+    /**
+     * XMLInputFactory instances are thread safe once they are configured
+     */
+    private final XMLInputFactory xmlInputFactory;
+
+    /**
+     * The StAX implementation gets looked up via the ClassLoader of OpenWebBeans itself,
+     * not via the TCCL of whatever application happens to create the parser.
+     */
+    BeansXmlParser()
+    {
+        XMLInputFactory factory;
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(BeansXmlParser.class.getClassLoader());
+        try
+        {
+            factory = XMLInputFactory.newFactory();
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        xmlInputFactory = factory;
+    }
+
+    /**
+     * @param xmlStreamIn the content of the beans.xml
+     * @param beansXmlLocation only used for error messages
+     * @return the parsed beans.xml, {@link BeansXml#EMPTY} for an empty file
+     */
+    BeansXml parse(InputStream xmlStreamIn, String beansXmlLocation) throws IOException
+    {
+        PushbackInputStream xmlStream = new PushbackInputStream(xmlStreamIn);
+
+        // an empty beans.xml is perfectly fine but no valid XML
+        int firstVal = xmlStream.read();
+        if (firstVal < 0)
+        {
+            return BeansXml.EMPTY;
+        }
+        xmlStream.unread(firstVal);
+
+        XMLStreamReader reader = null;
+        try
+        {
+            reader = xmlInputFactory.createXMLStreamReader(xmlStream);
+            reader.nextTag();
+
+            if (!"beans".equalsIgnoreCase(reader.getLocalName()))
+            {
+                throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + reader.getLocalName() +
+                                                         " in " + beansXmlLocation);
+            }
+
+            BeansXml beansXml = new BeansXml();
+            beansXml.version = getTrimmedAttribute(reader, "version");
+            beansXml.beanDiscoveryMode = getTrimmedAttribute(reader, "bean-discovery-mode");
+
+            while (nextChildElement(reader))
+            {
+                String localName = reader.getLocalName();
+                if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readClasses(reader, beansXml.decorators, null, localName);
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readClasses(reader, beansXml.interceptors, null, localName);
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readClasses(reader, beansXml.alternativeClasses, beansXml.alternativeStereotypes, localName);
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readExcludes(reader, beansXml.excludes);
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readClasses(reader, beansXml.allowProxyingClasses, null, localName);
+                }
+                else
+                {
+                    if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(localName))
+                    {
+                        logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
+                        beansXml.trim = true;
+                    }
+                    skipElement(reader);
+                }
+            }
+
+            return beansXml;
+        }
+        catch (XMLStreamException e)
+        {
+            logger.log(Level.SEVERE, OWBLogConst.FATAL_0002, e);
+            throw new WebBeansException(WebBeansLoggerFacade.getTokenString(OWBLogConst.EXCEPT_0013), e);
+        }
+        finally
+        {
+            if (reader != null)
+            {
+                try
+                {
+                    reader.close();
+                }
+                catch (XMLStreamException e)
+                {
+                    // the underlying stream gets closed by the caller
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the &lt;class&gt; and optionally &lt;stereotype&gt; children of the current element.
+     */
+    private static void readClasses(XMLStreamReader reader, List<String> classes, List<String> stereotypes, String elementName)
+        throws XMLStreamException
+    {
+        while (nextChildElement(reader))
+        {
+            String localName = reader.getLocalName();
+            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(localName))
+            {
+                classes.add(getElementText(reader, elementName, localName));
+            }
+            else if (stereotypes != null && WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(localName))
+            {
+                stereotypes.add(getElementText(reader, elementName, localName));
+            }
+            else
+            {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private static void readExcludes(XMLStreamReader reader, List<Exclude> excludes) throws XMLStreamException
+    {
+        while (nextChildElement(reader))
+        {
+            if (!WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(reader.getLocalName()))
+            {
+                skipElement(reader);
+                continue;
+            }
+
+            Exclude exclude = new Exclude(getTrimmedAttribute(reader, "name"));
+            while (nextChildElement(reader))
+            {
+                exclude.conditions.add(new Condition(reader.getLocalName(),
+                                                     getTrimmedAttribute(reader, "name"),
+                                                     getTrimmedAttribute(reader, "value")));
+                skipElement(reader);
+            }
+            excludes.add(exclude);
+        }
+    }
+
+    private static String getElementText(XMLStreamReader reader, String elementName, String localName) throws XMLStreamException
+    {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0)
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+            else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                     || event == XMLStreamConstants.SPACE)
+            {
+                text.append(reader.getText());
+            }
+        }
+
+        String value = text.toString().trim();
+        if (value.isEmpty())
+        {
+            throw new WebBeansConfigurationException(elementName + " <" + localName + "> element must not be empty!");
+        }
+        return value;
+    }
+
+    /**
+     * Moves the reader to the next child element of the current element.
+     * @return {@code false} if the end of the current element got reached
+     */
+    private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        while (reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the reader to the end of the current element.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
+     */
+    private static String getTrimmedAttribute(XMLStreamReader reader, String attributeName)
+    {
+        String val = reader.getAttributeValue(null, attributeName);
+        if (val != null)
+        {
+            val = val.trim();
+            if (!val.isEmpty())
+            {
+                return val;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * The content of a single beans.xml.
+     * Conditional excludes get evaluated whenever the information is applied to a bean archive.
+     */
+    static final class BeansXml
+    {
+        static final BeansXml EMPTY = new BeansXml();
+
+        private String version;
+        private String beanDiscoveryMode;
+        private boolean trim;
+        private final List<String> interceptors = new ArrayList<>();
+        private final List<String> decorators = new ArrayList<>();
+        private final List<String> alternativeClasses = new ArrayList<>();
+        private final List<String> alternativeStereotypes = new ArrayList<>();
+        private final List<String> allowProxyingClasses = new ArrayList<>();
+        private final List<Exclude> excludes = new ArrayList<>();
+
+        boolean isEmpty()
+        {
+            return this == EMPTY;
+        }
+
+        String getVersion()
+        {
+            return version;
+        }
+
+        String getBeanDiscoveryMode()
+        {
+            return beanDiscoveryMode;
+        }
+
+        boolean isTrim()
+        {
+            return trim;
+        }
+
+        List<String> getInterceptors()
+        {
+            return Collections.unmodifiableList(interceptors);
+        }
+
+        List<String> getDecorators()
+        {
+            return Collections.unmodifiableList(decorators);
+        }
+
+        List<String> getAlternativeClasses()
+        {
+            return Collections.unmodifiableList(alternativeClasses);
+        }
+
+        List<String> getAlternativeStereotypes()
+        {
+            return Collections.unmodifiableList(alternativeStereotypes);
+        }
+
+        List<String> getAllowProxyingClasses()
+        {
+            return Collections.unmodifiableList(allowProxyingClasses);
+        }
+
+        List<Exclude> getExcludes()
+        {
+            return Collections.unmodifiableList(excludes);
+        }
+    }
+
+    /**
+     * A &lt;scan&gt;&lt;exclude&gt; entry
+     */
+    static final class Exclude
+    {
+        private final String name;
+        private final List<Condition> conditions = new ArrayList<>();
+
+        private Exclude(String name)
+        {
+            this.name = name;
+        }
+
+        String getName()
+        {
+            return name;
+        }
+
+        List<Condition> getConditions()
+        {
+            return Collections.unmodifiableList(conditions);
+        }
+    }
+
+    /**
+     * An activation condition of an exclude, e.g. &lt;if-class-available&gt;
+     */
+    static final class Condition
+    {
+        private final String type;
+        private final String name;
+        private final String value;
+
+        private Condition(String type, String name, String value)
+        {
+            this.type = type;
+            this.name = name;
+            this.value = value;
+        }
+
+        String getType()
+        {
+            return type;
+        }
+
+        String getName()
+        {
+            return name;
+        }
+
+        String getValue()
+        {
+            return value;
+        }
+    }
+}
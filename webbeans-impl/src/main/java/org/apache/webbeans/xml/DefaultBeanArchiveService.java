@@ -20,19 +20,24 @@ package org.apache.webbeans.xml;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PushbackInputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
@@ -41,9 +46,8 @@ import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.util.UrlSet;
 import org.apache.webbeans.util.WebBeansConstants;
 import org.apache.xbean.finder.archive.FileArchive;
+import org.apache.xbean.finder.util.Files;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Please note that this implementation is not thread safe.
@@ -56,6 +60,14 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     private static final Logger logger = WebBeansLoggerFacade.getLogger(BeanArchiveService.class);
 
+    /**
+     * Parsed beans.xml files keyed by their URL externalForm, shared by all applications and redeployments.
+     * A beans.xml only gets reused if the file containing it did not change.
+     * The cached content consists of Strings only, thus it doesn't keep any application ClassLoader alive.
+     */
+    private static final Map<String, CachedBeansXml> PARSED_BEANS_XML = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_BEANS_XML = 1024;
+
     /**
      * Contains a map from the URL externalForm to the stored BeanArchiveInformation
      */
@@ -63,6 +75,27 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     private UrlSet registeredBeanArchives = new UrlSet();
 
+    /**
+     * @see OpenWebBeansConfiguration#BEANS_XML_CACHE
+     */
+    private final boolean beansXmlCacheEnabled;
+
+    /**
+     * Lazily created as there might not be any beans.xml at all
+     */
+    private volatile BeansXmlParser beansXmlParser;
+
+
+    public DefaultBeanArchiveService()
+    {
+        beansXmlCacheEnabled = false;
+    }
+
+    public DefaultBeanArchiveService(WebBeansContext webBeansContext)
+    {
+        beansXmlCacheEnabled = Boolean.parseBoolean(
+                webBeansContext.getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.BEANS_XML_CACHE));
+    }
 
     @Override
     public BeanArchiveInformation getBeanArchiveInformation(URL beanArchiveUrl)
@@ -225,10 +258,17 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         InputStream xmlStream = null;
         try
         {
-            xmlStream = beansXmlUrl.openStream();
+            if (isBeansXmlCacheEnabled())
+            {
+                // only gets opened if the beans.xml really needs to be read
+                xmlStream = new CacheableBeansXmlStream(beansXmlUrl);
+            }
+            else
+            {
+                xmlStream = beansXmlUrl.openStream();
+            }
 
             return readBeansXml(xmlStream, beansXmlUrl.toExternalForm());
-
         }
         catch (Exception e)
         {
@@ -277,53 +317,81 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
 
 
+    /**
+     * Whether an unchanged beans.xml gets parsed only once per JVM.
+     * {@link #readBeansXml(InputStream, String)} still gets invoked for each beans.xml,
+     * but the stream only gets opened if a subclass reads it or the beans.xml is not cached yet.
+     *
+     * @see OpenWebBeansConfiguration#BEANS_XML_CACHE
+     */
+    protected boolean isBeansXmlCacheEnabled()
+    {
+        return beansXmlCacheEnabled;
+    }
+
     /**
      * Read the information from the given beans.xml and fill it into a
      * BeanArchiveInformation instance.
      */
     protected BeanArchiveInformation readBeansXml(InputStream xmlStreamIn, String beansXmlLocation) throws IOException
     {
-        DefaultBeanArchiveInformation bdaInfo = createBeanArchiveInformation(beansXmlLocation);
+        BeansXmlParser.BeansXml beansXml;
+        if (xmlStreamIn instanceof CacheableBeansXmlStream)
+        {
+            beansXml = ((CacheableBeansXmlStream) xmlStreamIn).parse(getBeansXmlParser(), beansXmlLocation);
+        }
+        else
+        {
+            beansXml = xmlStreamIn != null ? getBeansXmlParser().parse(xmlStreamIn, beansXmlLocation) : null;
+        }
+        return toBeanArchiveInformation(beansXml, beansXmlLocation);
+    }
 
-        if (xmlStreamIn != null)
+    private BeansXmlParser getBeansXmlParser()
+    {
+        BeansXmlParser parser = beansXmlParser;
+        if (parser == null)
         {
-            PushbackInputStream xmlStream = new PushbackInputStream(xmlStreamIn);
+            // immutable, thus it doesn't matter if it gets created concurrently
+            parser = new BeansXmlParser();
+            beansXmlParser = parser;
+        }
+        return parser;
+    }
 
-            // try to read from the stream
-            int firstVal = xmlStream.read();
-            if (firstVal < 0)
+    /**
+     * @param beansXml the parsed beans.xml or {@code null} if there is no beans.xml at all
+     */
+    private BeanArchiveInformation toBeanArchiveInformation(BeansXmlParser.BeansXml beansXml, String beansXmlLocation)
+    {
+        DefaultBeanArchiveInformation bdaInfo = createBeanArchiveInformation(beansXmlLocation);
+
+        if (beansXml != null)
+        {
+            if (beansXml.isEmpty())
             {
                 // this means the stream is empty
                 bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
             }
             else
             {
-                // put the first byte back on the stream so we can properly parse the XML.
-                xmlStream.unread(firstVal);
-
-                //Get root element of the XML document
-                Element webBeansRoot = getBeansRootElement(xmlStream);
-                if (webBeansRoot == null)
-                {
-                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
-                }
-                else
-                {
-                    if (!"beans".equalsIgnoreCase(webBeansRoot.getLocalName()))
-                    {
-                        throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + webBeansRoot.getLocalName() +
-                                                                 " in " + beansXmlLocation);
-                    }
+                bdaInfo.setVersion(beansXml.getVersion());
 
-                    bdaInfo.setVersion(getTrimmedAttribute(webBeansRoot, "version"));
+                String beanDiscoveryMode = beansXml.getBeanDiscoveryMode();
+                bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
 
-                    String beanDiscoveryMode = getTrimmedAttribute(webBeansRoot, "bean-discovery-mode");
-                    bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
+                bdaInfo.getDecorators().addAll(beansXml.getDecorators());
+                bdaInfo.getInterceptors().addAll(beansXml.getInterceptors());
+                bdaInfo.getAlternativeClasses().addAll(beansXml.getAlternativeClasses());
+                bdaInfo.getAlternativeStereotypes().addAll(beansXml.getAlternativeStereotypes());
+                bdaInfo.getAllowProxyingClasses().addAll(beansXml.getAllowProxyingClasses());
+                fillExcludes(bdaInfo, beansXml.getExcludes());
 
-                    readBeanChildren(bdaInfo, webBeansRoot, beansXmlLocation);
+                if (beansXml.isTrim())
+                {
+                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
                 }
 
-
                 if (bdaInfo.getVersion() != null && !"1.0".equals(bdaInfo.getVersion()) && bdaInfo.getBeanDiscoveryMode() == null)
                 {
                     throw new WebBeansConfigurationException("beans.xml with version 1.1 and higher must declare a bean-discovery-mode! url=" + beansXmlLocation);
@@ -347,204 +415,75 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return bdaInfo;
     }
 
-    private void readBeanChildren(DefaultBeanArchiveInformation bdaInfo, Element webBeansRoot, String beansXmlLocation)
+    /**
+     * The exclude conditions depend on the current environment,
+     * thus they get evaluated for each BeanArchiveInformation.
+     */
+    private void fillExcludes(DefaultBeanArchiveInformation bdaInfo, List<BeansXmlParser.Exclude> excludes)
     {
-        ElementIterator elit = new ElementIterator(webBeansRoot);
-        while (elit.hasNext())
+        if (excludes.isEmpty())
         {
-            Element child = elit.next();
-
-            if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillDecorators(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillInterceptors(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillAlternatives(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillExcludes(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillAllowProxying(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
-                bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
-            }
+            return;
         }
-    }
 
-    private void fillDecorators(DefaultBeanArchiveInformation bdaInfo, Element decoratorsElement)
-    {
-        ElementIterator elit = new ElementIterator(decoratorsElement);
-        while (elit.hasNext())
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        for (BeansXmlParser.Exclude exclude : excludes)
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            boolean skip = false;
+            for (BeansXmlParser.Condition condition : exclude.getConditions())
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
+                String localName = condition.getType();
+                if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
                 {
-                    throw new WebBeansConfigurationException("decorators <class> element must not be empty!");
+                    if (!isClassAvailable(loader, condition.getName()))
+                    {
+                        skip = true;
+                        break;
+                    }
                 }
-                bdaInfo.getDecorators().add(clazz);
-            }
-        }
-    }
-
-    private void fillInterceptors(DefaultBeanArchiveInformation bdaInfo, Element interceptorsElement)
-    {
-        ElementIterator elit = new ElementIterator(interceptorsElement);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
-            {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
+                else if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
                 {
-                    throw new WebBeansConfigurationException("interceptors <class> element must not be empty!");
+                    if (isClassAvailable(loader, condition.getName()))
+                    {
+                        skip = true;
+                        break;
+                    }
                 }
-                bdaInfo.getInterceptors().add(clazz);
-            }
-        }
-    }
-
-    private void fillAlternatives(DefaultBeanArchiveInformation bdaInfo, Element alternativesElement)
-    {
-        ElementIterator elit = new ElementIterator(alternativesElement);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
-            {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
+                else if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
                 {
-                    throw new WebBeansConfigurationException("alternatives <class> element must not be empty!");
+                    String value = condition.getValue();
+                    String systProp = System.getProperty(condition.getName());
+                    if ((value == null && systProp == null) || !(value != null && value.equals(systProp)))
+                    {
+                        skip = true;
+                        break;
+                    }
                 }
-                bdaInfo.getAlternativeClasses().add(clazz);
             }
-            if (WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(child.getLocalName()))
+            if (skip)
             {
-                String stereotype = child.getTextContent().trim();
-                if (stereotype.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("alternatives <stereotype> element must not be empty!");
-                }
-                bdaInfo.getAlternativeStereotypes().add(stereotype);
+                continue;
             }
-        }
-    }
-
 
-    private void fillExcludes(DefaultBeanArchiveInformation bdaInfo, Element scanElement)
-    {
-        ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        NodeList childNodes = scanElement.getChildNodes();
-        for (int i = 0; i < childNodes.getLength(); i++)
-        {
-            Node nd = childNodes.item(i);
-            if (!Element.class.isInstance(nd))
+            String name = exclude.getName();
+            if (name.endsWith(".*"))
             {
-                continue;
+                // package exclude without sub-packages
+                bdaInfo.addClassExclude(name.substring(0, name.length() - 2));
             }
-
-            Element child = Element.class.cast(nd);
-            if (WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(child.getLocalName()))
+            else if (name.endsWith(".**"))
             {
-                String name = getTrimmedAttribute(child, "name");
-                NodeList children = child.getChildNodes();
-                boolean skip = false;
-                for (int j = 0; j < children.getLength(); j++)
-                {
-                    Node ndChild = children.item(j);
-                    if (!Element.class.isInstance(ndChild))
-                    {
-                        continue;
-                    }
-
-                    Element condition = Element.class.cast(ndChild);
-
-                    String localName = condition.getLocalName();
-                    if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
-                    {
-                        if (!isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                    else if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
-                    {
-                        if (isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                    else if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
-                    {
-                        String value = getTrimmedAttribute(condition, "value");
-                        String systProp = System.getProperty(getTrimmedAttribute(condition, "name"));
-                        if ((value == null && systProp == null) || !(value != null && value.equals(systProp)))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                }
-                if (skip)
-                {
-                    continue;
-                }
-                if (name.endsWith(".*"))
-                {
-                    // package exclude without sub-packages
-                    bdaInfo.addClassExclude(name.substring(0, name.length() - 2));
-                }
-                else if (name.endsWith(".**"))
-                {
-                    // package exclude WITH sub-packages
-                    bdaInfo.addPackageExclude(name.substring(0, name.length() - 3));
-                }
-                else
-                {
-                    // a simple Class
-                    bdaInfo.addClassExclude(name);
-                }
+                // package exclude WITH sub-packages
+                bdaInfo.addPackageExclude(name.substring(0, name.length() - 3));
             }
-        }
-    }
-
-    private void fillAllowProxying(DefaultBeanArchiveInformation bdaInfo, Element allowProxyingElement)
-    {
-        ElementIterator elit = new ElementIterator(allowProxyingElement);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            else
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("allowProxying <class> element must not be empty!");
-                }
-                bdaInfo.getAllowProxyingClasses().add(clazz);
+                // a simple Class
+                bdaInfo.addClassExclude(name);
             }
         }
     }
 
-
-
     private static boolean isClassAvailable(ClassLoader loader, String name)
     {
         try
@@ -572,7 +511,9 @@ public class DefaultBeanArchiveService implements BeanArchiveService
      * @param xmlStream parsed document
      * @return root element of the document
      * @throws org.apache.webbeans.exception.WebBeansException if any runtime exception occurs
+     * @deprecated beans.xml files get parsed with a StAX reader, this DOM based method is not used anymore
      */
+    @Deprecated
     protected Element getBeansRootElement(InputStream xmlStream) throws WebBeansException
     {
         try
@@ -600,7 +541,9 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     /**
      * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
+     * @deprecated only used together with {@link #getBeansRootElement(InputStream)}
      */
+    @Deprecated
     protected String getTrimmedAttribute(Element element, String attributeName)
     {
         String val = element.getAttribute(attributeName);
@@ -615,5 +558,115 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return null;
     }
 
+    private static final class CachedBeansXml
+    {
+        private final long lastModified;
+        private final BeansXmlParser.BeansXml beansXml;
+
+        private CachedBeansXml(long lastModified, BeansXmlParser.BeansXml beansXml)
+        {
+            this.lastModified = lastModified;
+            this.beansXml = beansXml;
+        }
+    }
 
+    /**
+     * The content of a beans.xml which only gets opened on the first read.
+     * Thus a cached beans.xml doesn't need any connection to its jar at all.
+     */
+    private static final class CacheableBeansXmlStream extends InputStream
+    {
+        private final URL beansXmlUrl;
+        private InputStream delegate;
+
+        private CacheableBeansXmlStream(URL beansXmlUrl)
+        {
+            this.beansXmlUrl = beansXmlUrl;
+        }
+
+        private BeansXmlParser.BeansXml parse(BeansXmlParser parser, String beansXmlLocation) throws IOException
+        {
+            String key = beansXmlUrl.toExternalForm();
+            long lastModified = getLastModified(beansXmlUrl);
+            if (lastModified <= 0)
+            {
+                // we can't detect changes, so don't cache it at all
+                return parser.parse(this, beansXmlLocation);
+            }
+
+            CachedBeansXml cached = PARSED_BEANS_XML.get(key);
+            if (cached != null && cached.lastModified == lastModified)
+            {
+                return cached.beansXml;
+            }
+
+            BeansXmlParser.BeansXml beansXml = parser.parse(this, beansXmlLocation);
+            if (PARSED_BEANS_XML.size() >= MAX_CACHED_BEANS_XML)
+            {
+                PARSED_BEANS_XML.clear();
+            }
+            PARSED_BEANS_XML.put(key, new CachedBeansXml(lastModified, beansXml));
+            return beansXml;
+        }
+
+        /**
+         * A jar only needs to be checked as a whole, this avoids opening a connection to the jar entry.
+         *
+         * @return the last modification of the file containing the beans.xml or 0 if it is not a local file
+         */
+        private static long getLastModified(URL beansXmlUrl) throws MalformedURLException
+        {
+            URL fileUrl = beansXmlUrl;
+            if ("jar".equals(beansXmlUrl.getProtocol()))
+            {
+                String path = beansXmlUrl.getPath();
+                int separator = path.indexOf("!/");
+                if (separator < 0)
+                {
+                    return 0;
+                }
+                fileUrl = new URL(path.substring(0, separator));
+            }
+            if (!"file".equals(fileUrl.getProtocol()))
+            {
+                return 0;
+            }
+
+            File file = Files.toFile(fileUrl);
+            return file.isFile() ? file.lastModified() : 0;
+        }
+
+        private InputStream getDelegate() throws IOException
+        {
+            if (delegate == null)
+            {
+                // no shared JarFile, it would not see the changes which got detected via the last modification
+                URLConnection connection = beansXmlUrl.openConnection();
+                connection.setUseCaches(false);
+                delegate = connection.getInputStream();
+            }
+            return delegate;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            return getDelegate().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            return getDelegate().read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (delegate != null)
+            {
+                delegate.close();
+            }
+        }
+    }
 }
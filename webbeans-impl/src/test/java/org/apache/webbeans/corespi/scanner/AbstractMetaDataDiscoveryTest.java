@@ -18,13 +18,36 @@
  */
 package org.apache.webbeans.corespi.scanner;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.xbean.finder.filter.Filter;
 import org.junit.Test;
 
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Vetoed;
+
 public class AbstractMetaDataDiscoveryTest
 {
     @Test
@@ -45,4 +68,240 @@ public class AbstractMetaDataDiscoveryTest
         assertTrue(Boolean.class.cast(mtd.invoke(mock, AbstractMetaDataDiscoveryTest.class.getName() + "$1$2")));
         assertTrue(Boolean.class.cast(mtd.invoke(mock, AbstractMetaDataDiscoveryTest.class.getName() + "$15$222")));
     }
+
+    @Test
+    public void parallelClassLoadingKeepsOrder()
+    {
+        final Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> serial = scanTestClasses("1");
+        final Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> parallel = scanTestClasses("4");
+
+        assertEquals(serial.size(), parallel.size());
+        final Iterator<Set<Class<?>>> parallelClasses = parallel.values().iterator();
+        for (final Set<Class<?>> serialClasses : serial.values())
+        {
+            assertFalse(serialClasses.isEmpty());
+            assertEquals(new ArrayList<>(serialClasses), new ArrayList<>(parallelClasses.next()));
+        }
+    }
+
+    @Test
+    public void vetoedClassesDoNotGetLoaded()
+    {
+        final String vetoedPackageBean = "org.apache.webbeans.corespi.scanner.vetoed.VetoedPackageBean";
+        final String vetoedBean = VetoedBean.class.getName();
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        final RecordingClassLoader loader = new RecordingClassLoader(AbstractMetaDataDiscoveryTest.class.getClassLoader());
+        thread.setContextClassLoader(loader);
+        try
+        {
+            for (final Set<Class<?>> classes : scanTestClasses("1").values())
+            {
+                for (final Class<?> clazz : classes)
+                {
+                    assertFalse(clazz.getName().equals(vetoedPackageBean));
+                    assertFalse(clazz.getName().equals(vetoedBean));
+                    assertFalse(clazz.getName().endsWith("package-info"));
+
+                    // the bean classes got loaded through our ClassLoader
+                    assertTrue(loader.loadedClasses.contains(clazz.getName()));
+                }
+            }
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+
+        assertFalse(loader.loadedClasses.contains(vetoedPackageBean));
+        assertFalse(loader.loadedClasses.contains(vetoedBean));
+        assertFalse(loader.loadedClasses.contains("org.apache.webbeans.corespi.scanner.vetoed.package-info"));
+    }
+
+    @Test
+    public void scanSnapshotSkipsBytecodeScanning() throws Exception
+    {
+        final File snapshotDirectory = new File("target/AbstractMetaDataDiscoveryTest-snapshots");
+        deleteSnapshots(snapshotDirectory);
+
+        final Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.SCAN_SNAPSHOT_DIRECTORY, snapshotDirectory.getAbsolutePath());
+
+        final AbstractMetaDataDiscovery coldStart = scanTestClasses(properties);
+        assertNotNull(coldStart.finder);
+        final Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> scanned = coldStart.getBeanClassesPerBda();
+        assertEquals(1, snapshotDirectory.listFiles().length);
+
+        final AbstractMetaDataDiscovery warmStart = scanTestClasses(properties);
+        assertNull(warmStart.finder);
+        final Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> restored = warmStart.getBeanClassesPerBda();
+
+        assertEquals(scanned.size(), restored.size());
+        assertEquals(new ArrayList<>(scanned.values().iterator().next()), new ArrayList<>(restored.values().iterator().next()));
+
+        deleteSnapshots(snapshotDirectory);
+    }
+
+    @Test
+    public void scanSnapshotNeedsToBeSupported()
+    {
+        final File snapshotDirectory = new File("target/AbstractMetaDataDiscoveryTest-unsupported");
+        deleteSnapshots(snapshotDirectory);
+
+        final Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.SCAN_SNAPSHOT_DIRECTORY, snapshotDirectory.getAbsolutePath());
+
+        // not enabled by the scanner
+        assertFalse(scanTestClasses(properties, new HashMap<Class<?>, Object>(), false).getBeanClassesPerBda().isEmpty());
+        assertFalse(snapshotDirectory.exists());
+
+        // a user Filter cannot be fingerprinted
+        final Map<Class<?>, Object> services = new HashMap<>();
+        services.put(Filter.class, new Filter()
+        {
+            @Override
+            public boolean accept(final String name)
+            {
+                return true;
+            }
+        });
+        assertFalse(scanTestClasses(properties, services, true).getBeanClassesPerBda().isEmpty());
+        assertFalse(snapshotDirectory.exists());
+    }
+
+    @Test
+    public void annotationIndex()
+    {
+        final AbstractMetaDataDiscovery discovery = scanTestClasses(new Properties());
+        final Set<Class<? extends Annotation>> marker = Collections.<Class<? extends Annotation>>singleton(Marker.class);
+
+        assertEquals(Boolean.TRUE, discovery.isAnnotatedInHierarchy(MarkedField.class, marker));
+        assertEquals(Boolean.TRUE, discovery.isAnnotatedInHierarchy(MetaMarkedParameter.class, marker));
+        assertEquals(Boolean.TRUE, discovery.isAnnotatedInHierarchy(MarkedSubclass.class, marker));
+        assertEquals(Boolean.FALSE, discovery.isAnnotatedInHierarchy(Unmarked.class, marker));
+
+        // the superclass did not get scanned
+        assertNull(discovery.isAnnotatedInHierarchy(UnscannedSuperclass.class, marker));
+    }
+
+    private static void deleteSnapshots(final File snapshotDirectory)
+    {
+        final File[] snapshots = snapshotDirectory.listFiles();
+        if (snapshots != null)
+        {
+            for (final File snapshot : snapshots)
+            {
+                assertTrue(snapshot.delete());
+            }
+        }
+    }
+
+    private Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> scanTestClasses(final String threads)
+    {
+        final Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.SCAN_CLASS_LOADING_THREADS, threads);
+
+        final Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> classesPerBda = scanTestClasses(properties).getBeanClassesPerBda();
+        assertFalse(classesPerBda.isEmpty());
+        return classesPerBda;
+    }
+
+    private AbstractMetaDataDiscovery scanTestClasses(final Properties properties)
+    {
+        return scanTestClasses(properties, new HashMap<Class<?>, Object>(), true);
+    }
+
+    private AbstractMetaDataDiscovery scanTestClasses(final Properties properties, final Map<Class<?>, Object> services,
+                                                      final boolean scanSnapshotSupported)
+    {
+        final WebBeansContext webBeansContext = new WebBeansContext(services, properties);
+
+        final URL testClasses = AbstractMetaDataDiscoveryTest.class.getProtectionDomain().getCodeSource().getLocation();
+        final AbstractMetaDataDiscovery discovery = new AbstractMetaDataDiscovery()
+        {
+            @Override
+            protected void configure()
+            {
+                addDeploymentUrl(testClasses.toExternalForm(), testClasses);
+            }
+
+            @Override
+            protected boolean isScanSnapshotSupported()
+            {
+                return scanSnapshotSupported;
+            }
+        };
+        discovery.webBeansContext = webBeansContext;
+        discovery.scan();
+        return discovery;
+    }
+
+    /**
+     * Records the names of all classes which get loaded through it.
+     */
+    private static class RecordingClassLoader extends ClassLoader
+    {
+        private final Set<String> loadedClasses = Collections.synchronizedSet(new HashSet<String>());
+
+        private RecordingClassLoader(final ClassLoader parent)
+        {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException
+        {
+            loadedClasses.add(name);
+            return super.loadClass(name, resolve);
+        }
+    }
+
+    @Vetoed
+    @ApplicationScoped
+    public static class VetoedBean
+    {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Marker
+    {
+    }
+
+    @Marker
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface MetaMarked
+    {
+    }
+
+    public static class MarkedField
+    {
+        @Marker
+        private String value;
+    }
+
+    public static class MetaMarkedParameter
+    {
+        public void setValue(@MetaMarked final String value)
+        {
+            // only the annotation matters
+        }
+    }
+
+    public static class MarkedSubclass extends MarkedField
+    {
+    }
+
+    public static class Unmarked
+    {
+        @Deprecated
+        public void setValue(final String value)
+        {
+            // no Marker
+        }
+    }
+
+    public static class UnscannedSuperclass extends ArrayList<String>
+    {
+    }
 }
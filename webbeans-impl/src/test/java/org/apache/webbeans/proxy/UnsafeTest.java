@@ -19,8 +19,20 @@
 package org.apache.webbeans.proxy;
 
 import static org.apache.webbeans.util.Asserts.assertNotNull;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.apache.xbean.asm7.ClassWriter;
+import org.apache.xbean.asm7.MethodVisitor;
+import org.apache.xbean.asm7.Opcodes;
+import org.junit.Assume;
 import org.junit.Test;
 
 public class UnsafeTest {
@@ -33,6 +45,92 @@ public class UnsafeTest {
         assertFalse(obj.called);
     }
 
+    @Test
+    public void instanceFactoryCreatesNewInstances()
+    {
+        final Unsafe unsafe = new Unsafe();
+        final SpyConstructor first = unsafe.unsafeNewInstance(SpyConstructor.class);
+        final SpyConstructor second = unsafe.unsafeNewInstance(SpyConstructor.class);
+        assertNotSame(first, second);
+        assertFalse(second.called);
+    }
+
+    @Test
+    public void instanceFactoryWithoutUnsafeUsesConstructor() throws Exception
+    {
+        final Unsafe unsafe = new Unsafe();
+        final Field allocateInstance = Unsafe.class.getDeclaredField("unsafeAllocateInstance");
+        allocateInstance.setAccessible(true);
+        allocateInstance.set(unsafe, null);
+
+        final SpyConstructor obj = unsafe.unsafeNewInstance(SpyConstructor.class);
+        assertTrue(obj.called);
+    }
+
+    @Test
+    public void defineClassNextToNeighbour() throws Exception
+    {
+        final String name = UnsafeTest.class.getName() + "$$DefinedNextToNeighbour";
+        final ClassLoader loader = UnsafeTest.class.getClassLoader();
+        final byte[] bytes = createClass(name);
+
+        final Unsafe unsafe = new Unsafe();
+        final Class<?> defined = unsafe.defineAndLoadClass(loader, name, bytes, UnsafeTest.class);
+        assertEquals(name, defined.getName());
+        assertSame(loader, defined.getClassLoader());
+        assertNotNull(unsafe.unsafeNewInstance(defined));
+
+        // a concurrent caller which defines the same class again gets the existing one
+        assertSame(defined, unsafe.defineAndLoadClass(loader, name, bytes, UnsafeTest.class));
+    }
+
+    @Test
+    public void defineClassInForeignClassLoader() throws Exception
+    {
+        Assume.assumeTrue("ClassLoader#defineClass is not open to us", isClassLoaderDefineClassAccessible());
+
+        final String name = UnsafeTest.class.getName() + "$$DefinedInForeignLoader";
+        try (URLClassLoader loader = new URLClassLoader(new URL[0], UnsafeTest.class.getClassLoader()))
+        {
+            // the neighbour lives in another ClassLoader, thus the Lookup can't be used
+            final Class<?> defined = new Unsafe().defineAndLoadClass(loader, name, createClass(name), UnsafeTest.class);
+            assertEquals(name, defined.getName());
+            assertSame(loader, defined.getClassLoader());
+        }
+    }
+
+    private static boolean isClassLoaderDefineClassAccessible() throws NoSuchMethodException
+    {
+        try
+        {
+            ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class)
+                    .setAccessible(true);
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            // e.g. java.lang is not opened on Java 16 and later
+            return false;
+        }
+    }
+
+    private static byte[] createClass(final String name)
+    {
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name.replace('.', '/'), null, "java/lang/Object", null);
+
+        final MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
     public static class SpyConstructor
     {
         private boolean called;
@@ -51,6 +51,7 @@ public abstract class AbstractUnitTest
 {
     private StandaloneLifeCycle testLifecycle;
     private Map<Class<?>, Object> services = new HashMap<>();
+    private Map<String, String> configuration = new HashMap<>();
     private List<Extension>  extensions = new ArrayList<>();
     private List<Class<?>> interceptors = new ArrayList<Class<?>>();
     private List<Class<?>> decorators = new ArrayList<Class<?>>();
@@ -67,6 +68,7 @@ public abstract class AbstractUnitTest
         extensions.clear();
         interceptors.clear();
         decorators.clear();
+        configuration.clear();
     }
 
     /**
@@ -147,6 +149,7 @@ public abstract class AbstractUnitTest
         };
         
         webBeansContext = WebBeansContext.getInstance();
+        configuration.forEach((k, v) -> webBeansContext.getOpenWebBeansConfiguration().setProperty(k, v));
         for (Extension ext : extensions)
         {
             webBeansContext.getExtensionLoader().addExtension(ext);
@@ -269,6 +272,14 @@ public abstract class AbstractUnitTest
         this.services.put(type, instance);
     }
 
+    /**
+     * Set an OpenWebBeans configuration property for the next container start
+     */
+    protected void addConfiguration(final String key, final String value)
+    {
+        this.configuration.put(key, value);
+    }
+
     /**
      * @param packageName package of the beans.xml file
      * @param fileName name of the beans xml file, without '.xml'
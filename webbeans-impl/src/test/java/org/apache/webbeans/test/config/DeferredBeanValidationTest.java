@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.UnsatisfiedResolutionException;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DeferredBeanValidationTest extends AbstractUnitTest
+{
+    @Test
+    public void testValidationOnFirstUse()
+    {
+        addConfiguration(OpenWebBeansConfiguration.LAZY_VALIDATION, "true");
+
+        startContainer(ValidBean.class, BrokenBean.class);
+
+        Assert.assertEquals("valid", getInstance(ValidBean.class).getName());
+
+        RuntimeException failure = null;
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                getInstance(BrokenBean.class).getName();
+                Assert.fail("BrokenBean must not be usable");
+            }
+            catch (UnsatisfiedResolutionException e)
+            {
+                // the same problem gets reported on every use
+                Assert.assertTrue(failure == null || failure == e);
+                failure = e;
+            }
+        }
+    }
+
+    @Test(expected = WebBeansConfigurationException.class)
+    public void testEagerValidationByDefault()
+    {
+        startContainer(ValidBean.class, BrokenBean.class);
+    }
+
+
+    @ApplicationScoped
+    public static class ValidBean
+    {
+        public String getName()
+        {
+            return "valid";
+        }
+    }
+
+    @ApplicationScoped
+    public static class BrokenBean
+    {
+        @Inject
+        private Runnable notABean;
+
+        public String getName()
+        {
+            return "broken";
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StartupProfilerTest extends AbstractUnitTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testStartupReport() throws Exception
+    {
+        File reportFile = new File(tempFolder.getRoot(), "profile/owb-startup.json");
+        addConfiguration(OpenWebBeansConfiguration.STARTUP_PROFILER, "true");
+        addConfiguration(OpenWebBeansConfiguration.STARTUP_PROFILER_REPORT_FILE, reportFile.getAbsolutePath());
+        addExtension(new ProfiledExtension());
+
+        startContainer(ProfiledBean.class);
+
+        Assert.assertTrue(reportFile.isFile());
+        String json = new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8);
+
+        Assert.assertTrue(json.contains("\"name\": \"scan\""));
+        Assert.assertTrue(json.contains("\"name\": \"fireBeforeBeanDiscoveryEvent\""));
+        Assert.assertTrue(json.contains("\"name\": \"deployFromBeanAttributes\""));
+        Assert.assertTrue(json.contains("\"name\": \"fireAfterDeploymentValidationEvent\""));
+
+        Assert.assertTrue(json.contains("\"name\": \"" + ProfiledExtension.class.getName() + "\""));
+        Assert.assertTrue(json.contains("\"name\": \"" + ProfiledExtension.class.getName() + "#observe(ProcessAnnotatedType)\""));
+        Assert.assertTrue(json.contains("\"name\": \"" + ProfiledBean.class.getName() + "\""));
+
+        // the profiler only covers the startup
+        Assert.assertFalse(getWebBeansContext().getStartupProfiler().isEnabled());
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        startContainer(ProfiledBean.class);
+
+        Assert.assertFalse(getWebBeansContext().getStartupProfiler().isEnabled());
+        Assert.assertEquals(0L, getWebBeansContext().getStartupProfiler().start());
+    }
+
+
+    public static class ProfiledExtension implements Extension
+    {
+        void observe(@Observes ProcessAnnotatedType<?> pat)
+        {
+            // only needs to get invoked
+        }
+    }
+
+    @ApplicationScoped
+    public static class ProfiledBean
+    {
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.enterprise.context.Destroyed;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+
+import org.apache.webbeans.annotation.BeforeDestroyedLiteral;
+import org.apache.webbeans.annotation.DestroyedLiteral;
+import org.apache.webbeans.annotation.InitializedLiteral;
+import org.apache.webbeans.event.NotificationManager;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContextLifecycleEventTest extends AbstractUnitTest
+{
+    private static final List<String> EVENTS = new ArrayList<>();
+
+    @Before
+    public void clearEvents()
+    {
+        EVENTS.clear();
+    }
+
+    @Test
+    public void testEventsAreDeliveredToObservers()
+    {
+        startContainer(RequestLifecycleObserver.class);
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        Assert.assertTrue(notificationManager.hasContextLifecycleObserver(InitializedLiteral.INSTANCE_REQUEST_SCOPED));
+        Assert.assertTrue(notificationManager.hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_REQUEST_SCOPED));
+        Assert.assertFalse(notificationManager.hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_REQUEST_SCOPED));
+        Assert.assertFalse(notificationManager.hasContextLifecycleObserver(InitializedLiteral.INSTANCE_SESSION_SCOPED));
+
+        EVENTS.clear();
+        restartContext(RequestScoped.class);
+        endContext(RequestScoped.class);
+
+        Assert.assertEquals(Arrays.asList("destroyed", "initialized", "destroyed"), EVENTS);
+    }
+
+    @Test
+    public void testEventsAreSkippedWithoutObservers()
+    {
+        startContainer(NoObserverBean.class);
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        Assert.assertFalse(notificationManager.hasContextLifecycleObserver(InitializedLiteral.INSTANCE_REQUEST_SCOPED));
+        Assert.assertFalse(notificationManager.hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_REQUEST_SCOPED));
+        Assert.assertFalse(notificationManager.hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_REQUEST_SCOPED));
+        Assert.assertFalse(notificationManager.hasContextLifecycleObserver(InitializedLiteral.INSTANCE_APPLICATION_SCOPED));
+
+        restartContext(RequestScoped.class);
+        Assert.assertEquals("ok", getInstance(NoObserverBean.class).ping());
+        endContext(RequestScoped.class);
+
+        Assert.assertTrue(EVENTS.isEmpty());
+    }
+
+    public static class RequestLifecycleObserver
+    {
+        public void initialized(@Observes @Initialized(RequestScoped.class) Object payload)
+        {
+            EVENTS.add("initialized");
+        }
+
+        public void destroyed(@Observes @Destroyed(RequestScoped.class) Object payload)
+        {
+            EVENTS.add("destroyed");
+        }
+    }
+
+    @RequestScoped
+    public static class NoObserverBean
+    {
+        public String ping()
+        {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.decorators.tests;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.decorator.Decorator;
+import javax.decorator.Delegate;
+import javax.inject.Inject;
+
+public class DecoratorChainTest extends AbstractUnitTest
+{
+    @Test
+    public void testSparseDecoratorChain()
+    {
+        addDecorator(FirstDecorator.class);
+        addDecorator(NameOnlyDecorator.class);
+        addDecorator(LastDecorator.class);
+        startContainer(FirstDecorator.class, NameOnlyDecorator.class, LastDecorator.class, ChainedService.class);
+
+        ChainedService service = getInstance(ChainedService.class);
+        for (int i = 0; i < 2; i++)
+        {
+            Assert.assertEquals("first(nameOnly(last(service)))", service.name());
+
+            // NameOnlyDecorator does not decorate greet, so it must get skipped
+            Assert.assertEquals("first(last(hello owb))", service.greet("owb"));
+        }
+    }
+
+
+    public interface Service
+    {
+        String name();
+
+        String greet(String who);
+    }
+
+    public static class ChainedService implements Service
+    {
+        @Override
+        public String name()
+        {
+            return "service";
+        }
+
+        @Override
+        public String greet(String who)
+        {
+            return "hello " + who;
+        }
+    }
+
+    @Decorator
+    public static class FirstDecorator implements Service
+    {
+        @Inject
+        @Delegate
+        private Service delegate;
+
+        @Override
+        public String name()
+        {
+            return "first(" + delegate.name() + ")";
+        }
+
+        @Override
+        public String greet(String who)
+        {
+            return "first(" + delegate.greet(who) + ")";
+        }
+    }
+
+    @Decorator
+    public abstract static class NameOnlyDecorator implements Service
+    {
+        @Inject
+        @Delegate
+        private Service delegate;
+
+        @Override
+        public String name()
+        {
+            return "nameOnly(" + delegate.name() + ")";
+        }
+    }
+
+    @Decorator
+    public static class LastDecorator implements Service
+    {
+        @Inject
+        @Delegate
+        private Service delegate;
+
+        @Override
+        public String name()
+        {
+            return "last(" + delegate.name() + ")";
+        }
+
+        @Override
+        public String greet(String who)
+        {
+            return "last(" + delegate.greet(who) + ")";
+        }
+    }
+}
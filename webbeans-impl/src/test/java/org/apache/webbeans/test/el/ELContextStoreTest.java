@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.el;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.RequestContext;
+import org.apache.webbeans.el.ELContextStore;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ELContextStoreTest extends AbstractUnitTest
+{
+    @Test
+    public void testStoreIsAttachedToRequestContext()
+    {
+        startContainer();
+
+        RequestContext requestContext = (RequestContext) getWebBeansContext().getContextsService().getCurrentContext(RequestScoped.class);
+        Assert.assertNull(ELContextStore.getInstance(getWebBeansContext(), false));
+        Assert.assertNull(requestContext.getELContextStore());
+
+        ELContextStore store = ELContextStore.getInstance(getWebBeansContext(), true);
+        Assert.assertNotNull(store);
+        Assert.assertSame(store, requestContext.getELContextStore());
+        Assert.assertSame(store, ELContextStore.getInstance(getWebBeansContext(), false));
+        Assert.assertNull(store.findBeanByName("notExisting"));
+
+        store.addNormalScoped("myBean", "someInstance");
+        Assert.assertEquals("someInstance", store.findBeanByName("myBean"));
+
+        endContext(RequestScoped.class);
+        Assert.assertNull(requestContext.getELContextStore());
+        Assert.assertNull(store.findBeanByName("myBean"));
+
+        startContext(RequestScoped.class);
+        ELContextStore newStore = ELContextStore.getInstance(getWebBeansContext(), true);
+        Assert.assertNull(newStore.findBeanByName("myBean"));
+    }
+
+    @Test
+    public void testStoresAreOnlyReusedWithinTheSameApplication()
+    {
+        startContainer();
+
+        ELContextStore store = ELContextStore.getInstance(getWebBeansContext(), true);
+        store.destroyELContextStore();
+
+        // another application must not get the pooled store of this one
+        WebBeansContext otherApplication = new WebBeansContext();
+        ELContextStore otherStore = ELContextStore.getInstance(otherApplication, true);
+        Assert.assertNotSame(store, otherStore);
+        otherStore.destroyELContextStore();
+
+        Assert.assertSame(store, ELContextStore.getInstance(getWebBeansContext(), true));
+    }
+
+    @Test
+    public void testStoreIsReleasedBeforeRequestScopedBeansGetDestroyed()
+    {
+        startContainer(ELUsingBean.class);
+
+        RequestContext requestContext = (RequestContext) getWebBeansContext().getContextsService().getCurrentContext(RequestScoped.class);
+        getInstance(ELUsingBean.class).touch();
+
+        ELContextStore store = ELContextStore.getInstance(getWebBeansContext(), true);
+        store.addNormalScoped("myBean", "someInstance");
+        ELUsingBean.storeOfPreviousEvaluation = store;
+
+        endContext(RequestScoped.class);
+
+        Assert.assertNull(ELUsingBean.storeSeenInPreDestroy);
+        Assert.assertNotNull(ELUsingBean.storeCreatedInPreDestroy);
+
+        // the store created by the @PreDestroy callback got released as well
+        Assert.assertNull(requestContext.getELContextStore());
+        Assert.assertNull(ELUsingBean.storeCreatedInPreDestroy.findBeanByName("preDestroyBean"));
+    }
+
+    @RequestScoped
+    public static class ELUsingBean
+    {
+        private static ELContextStore storeOfPreviousEvaluation;
+        private static ELContextStore storeSeenInPreDestroy;
+        private static ELContextStore storeCreatedInPreDestroy;
+
+        public void touch()
+        {
+            // just to create the contextual instance
+        }
+
+        @PreDestroy
+        public void evaluateEL()
+        {
+            WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+            storeSeenInPreDestroy = ELContextStore.getInstance(webBeansContext, false);
+            if (storeOfPreviousEvaluation.findBeanByName("myBean") != null)
+            {
+                // a released store must not get used anymore
+                storeSeenInPreDestroy = storeOfPreviousEvaluation;
+            }
+            storeCreatedInPreDestroy = ELContextStore.getInstance(webBeansContext, true);
+            storeCreatedInPreDestroy.addNormalScoped("preDestroyBean", this);
+        }
+    }
+}
@@ -18,12 +18,24 @@
  */
 package org.apache.webbeans.test.interceptors.business.tests;
 
+import org.apache.webbeans.component.InterceptorBean;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.interceptors.business.common.RuntimeExceptionBindingTypeBean;
 import org.apache.webbeans.test.interceptors.common.RuntimeExceptionsInterceptor;
 import org.junit.Test;
 import org.junit.Assert;
 
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -54,4 +66,57 @@ public class ExceptionInterceptorTest extends AbstractUnitTest
         shutDownContainer();
         
     }
+
+    @Test
+    public void testCheckedExceptionOfInterceptorIsNotWrapped()
+    {
+        startContainer(FailingInterceptor.class, FailingBean.class);
+
+        FailingBean instance = getInstance(FailingBean.class);
+        try
+        {
+            instance.business();
+            Assert.fail("the interceptor must throw");
+        }
+        catch (Exception e)
+        {
+            Assert.assertEquals(IOException.class, e.getClass());
+            Assert.assertEquals("intercepted", e.getMessage());
+
+            // the @AroundInvoke method must get called directly via its MethodHandle and not via reflection
+            StackTraceElement[] stackTrace = e.getStackTrace();
+            Assert.assertEquals(FailingInterceptor.class.getName(), stackTrace[0].getClassName());
+            Assert.assertEquals(InterceptorBean.class.getName(), stackTrace[1].getClassName());
+        }
+    }
+
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Failing
+    {
+    }
+
+    @Failing
+    @Interceptor
+    @Priority(100)
+    public static class FailingInterceptor
+    {
+        @AroundInvoke
+        private Object fail(InvocationContext ctx) throws Exception
+        {
+            throw new IOException("intercepted");
+        }
+    }
+
+    @Failing
+    @ApplicationScoped
+    public static class FailingBean
+    {
+        public int business() throws IOException
+        {
+            return 42;
+        }
+    }
 }
@@ -20,9 +20,11 @@ package org.apache.webbeans.test.interceptors.factory;
 
 import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.component.WebBeansType;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.context.ApplicationContext;
+import org.apache.webbeans.annotation.NamedLiteral;
 import org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
@@ -36,8 +38,10 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.Producer;
+import javax.inject.Named;
 import javax.inject.Provider;
 
 import java.io.ObjectStreamException;
@@ -46,9 +50,15 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.webbeans.test.interceptors.factory.beans.PartialBeanClass;
 import org.apache.webbeans.test.interceptors.factory.beans.PartialBeanInterface;
 
@@ -380,6 +390,107 @@ public class NormalScopeProxyFactoryTest extends AbstractUnitTest
         instance.getFloat();
     }
 
+    @Test
+    public void testProxyClassesGeneratedDuringDeployment() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.PROXY_GENERATION_THREADS, "2");
+        startContainer(EagerlyProxiedBean.class, SomeBaseClass.class);
+
+        // the proxy class exists before the bean got used
+        Class<?> proxyClass = Class.forName(EagerlyProxiedBean.class.getName() + "$$OwbNormalScopeProxy0", false,
+                                            EagerlyProxiedBean.class.getClassLoader());
+        Assert.assertSame(proxyClass, getInstance(EagerlyProxiedBean.class).getClass());
+    }
+
+    @Test
+    public void testConcurrentProxyClassCreation() throws Exception
+    {
+        final NormalScopeProxyFactory pf = new NormalScopeProxyFactory(new WebBeansContext());
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<Class<IHaveAWriteReplace>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+            {
+                futures.add(executor.submit(() -> pf.createProxyClass(classLoader, IHaveAWriteReplace.class)));
+            }
+
+            Set<String> proxyClassNames = new HashSet<>();
+            for (Future<Class<IHaveAWriteReplace>> future : futures)
+            {
+                proxyClassNames.add(future.get().getName());
+            }
+            Assert.assertEquals(8, proxyClassNames.size());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testProxyClassSharedBetweenBeansOfTheSameType()
+    {
+        startContainer(SharedProxyProducers.class);
+
+        SharedProxyType first = getInstance(SharedProxyType.class, new NamedLiteral("first"));
+        SharedProxyType second = getInstance(SharedProxyType.class, new NamedLiteral("second"));
+
+        Assert.assertSame(first.getClass(), second.getClass());
+        Assert.assertEquals("first", first.getName());
+        Assert.assertEquals("second", second.getName());
+    }
+
+    public static class SharedProxyType
+    {
+        private String name;
+
+        public SharedProxyType()
+        {
+            // needed for proxying
+        }
+
+        public SharedProxyType(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+
+    public static class SharedProxyProducers
+    {
+        @Produces
+        @ApplicationScoped
+        @Named("first")
+        public SharedProxyType first()
+        {
+            return new SharedProxyType("first");
+        }
+
+        @Produces
+        @ApplicationScoped
+        @Named("second")
+        public SharedProxyType second()
+        {
+            return new SharedProxyType("second");
+        }
+    }
+
+    @ApplicationScoped
+    public static class EagerlyProxiedBean
+    {
+        public String getName()
+        {
+            return "eager";
+        }
+    }
+
     public static class IHaveAWriteReplace implements Serializable
     {
         Object writeReplace()
@@ -18,16 +18,31 @@
  */
 package org.apache.webbeans.test.interceptors.lifecycle;
 
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Priority;
+import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
 
 import org.junit.Assert;
 
+import org.apache.webbeans.proxy.OwbInterceptorProxy;
 import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.test.util.Serializations;
 import org.junit.Test;
 
 public class LifecycleTest extends AbstractUnitTest
@@ -156,4 +171,177 @@ public class LifecycleTest extends AbstractUnitTest
         shutDownContainer();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNotInterceptedLifecycleCallbacks()
+    {
+        startContainer(CallbackBean.class);
+
+        Bean<CallbackBean> bean = (Bean<CallbackBean>) getBeanManager().resolve(getBeanManager().getBeans(CallbackBean.class));
+        for (int i = 0; i < 2; i++)
+        {
+            CallbackBean.CALLS.clear();
+            CreationalContext<CallbackBean> creationalContext = getBeanManager().createCreationalContext(bean);
+            CallbackBean instance = bean.create(creationalContext);
+            bean.destroy(instance, creationalContext);
+
+            // superclass first for PostConstruct, private methods included
+            Assert.assertEquals("parentPostConstruct,postConstruct,preDestroy", String.join(",", CallbackBean.CALLS));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLifecycleOnlyInterceptorWithoutProxy()
+    {
+        startContainer(Audited.class, AuditInterceptor.class, AuditedBean.class);
+
+        Bean<AuditedBean> bean = (Bean<AuditedBean>) getBeanManager().resolve(getBeanManager().getBeans(AuditedBean.class));
+        for (int i = 0; i < 2; i++)
+        {
+            AuditedBean.CALLS.clear();
+            AuditInterceptor.INSTANCES.clear();
+            CreationalContext<AuditedBean> creationalContext = getBeanManager().createCreationalContext(bean);
+            AuditedBean instance = bean.create(creationalContext);
+
+            // only the lifecycle is intercepted, thus there is no need for a proxy
+            Assert.assertFalse(instance instanceof OwbInterceptorProxy);
+            Assert.assertEquals(AuditedBean.class, instance.getClass());
+
+            instance.business();
+            bean.destroy(instance, creationalContext);
+
+            Assert.assertEquals("interceptorPostConstruct,postConstruct,business,interceptorPreDestroy,preDestroy",
+                String.join(",", AuditedBean.CALLS));
+
+            // PostConstruct and PreDestroy must see the same Interceptor instance
+            Assert.assertEquals(2, AuditInterceptor.INSTANCES.size());
+            Assert.assertSame(AuditInterceptor.INSTANCES.get(0), AuditInterceptor.INSTANCES.get(1));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSerializableLifecycleOnlyInterceptedBean() throws Exception
+    {
+        startContainer(Audited.class, AuditInterceptor.class, SerializableAuditedBean.class);
+
+        Bean<SerializableAuditedBean> bean =
+            (Bean<SerializableAuditedBean>) getBeanManager().resolve(getBeanManager().getBeans(SerializableAuditedBean.class));
+        AuditedBean.CALLS.clear();
+        CreationalContext<SerializableAuditedBean> creationalContext = getBeanManager().createCreationalContext(bean);
+        SerializableAuditedBean instance = bean.create(creationalContext);
+
+        // e.g. a @Dependent bean of a passivating bean, the Interceptor instances must get passivated with it
+        Assert.assertTrue(instance instanceof OwbInterceptorProxy);
+
+        SerializableAuditedBean deserialized =
+            (SerializableAuditedBean) Serializations.deserialize(Serializations.serialize(instance));
+        Assert.assertNotSame(instance, deserialized);
+
+        // like after the passivation of the owning bean, the original instance is gone
+        bean.destroy(deserialized, getBeanManager().createCreationalContext(bean));
+
+        Assert.assertEquals("interceptorPostConstruct,postConstruct,interceptorPreDestroy,preDestroy",
+            String.join(",", AuditedBean.CALLS));
+    }
+
+    @InterceptorBinding
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Audited
+    {
+    }
+
+    @Interceptor
+    @Audited
+    @Priority(100)
+    public static class AuditInterceptor implements Serializable
+    {
+        static final List<AuditInterceptor> INSTANCES = new ArrayList<AuditInterceptor>();
+
+        @PostConstruct
+        void postConstruct(InvocationContext context) throws Exception
+        {
+            INSTANCES.add(this);
+            AuditedBean.CALLS.add("interceptorPostConstruct");
+            context.proceed();
+        }
+
+        @PreDestroy
+        void preDestroy(InvocationContext context) throws Exception
+        {
+            INSTANCES.add(this);
+            AuditedBean.CALLS.add("interceptorPreDestroy");
+            context.proceed();
+        }
+    }
+
+    @Audited
+    @Dependent
+    public static class AuditedBean
+    {
+        static final List<String> CALLS = new ArrayList<String>();
+
+        @PostConstruct
+        void postConstruct()
+        {
+            CALLS.add("postConstruct");
+        }
+
+        public void business()
+        {
+            CALLS.add("business");
+        }
+
+        @PreDestroy
+        void preDestroy()
+        {
+            CALLS.add("preDestroy");
+        }
+    }
+
+    @Audited
+    @Dependent
+    public static class SerializableAuditedBean implements Serializable
+    {
+        @PostConstruct
+        void postConstruct()
+        {
+            AuditedBean.CALLS.add("postConstruct");
+        }
+
+        @PreDestroy
+        void preDestroy()
+        {
+            AuditedBean.CALLS.add("preDestroy");
+        }
+    }
+
+    public static class CallbackParent
+    {
+        @PostConstruct
+        private void parentPostConstruct()
+        {
+            CallbackBean.CALLS.add("parentPostConstruct");
+        }
+    }
+
+    @Dependent
+    public static class CallbackBean extends CallbackParent
+    {
+        static final List<String> CALLS = new ArrayList<String>();
+
+        @PostConstruct
+        private void postConstruct()
+        {
+            CALLS.add("postConstruct");
+        }
+
+        @PreDestroy
+        void preDestroy()
+        {
+            CALLS.add("preDestroy");
+        }
+    }
 }
@@ -21,16 +21,21 @@ package org.apache.webbeans.test.interceptors.resolution;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InterceptionType;
+import javax.enterprise.inject.spi.Interceptor;
 import javax.enterprise.util.AnnotationLiteral;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.intercept.InterceptorChain;
+import org.apache.webbeans.intercept.InterceptorInstanceMap;
 import org.apache.webbeans.intercept.InterceptorResolutionService;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.decorators.common.Cow;
@@ -111,6 +116,135 @@ public class InterceptorResolutionServiceTest extends AbstractUnitTest
         shutDownContainer();
     }
 
+    @Test
+    public void testSharedInterceptorArrays() throws Exception
+    {
+        Collection<String> beanXmls = new ArrayList<String>();
+        beanXmls.add(getXmlPath(this.getClass().getPackage().getName(), this.getClass().getSimpleName()));
+
+        Collection<Class<?>> beanClasses = new ArrayList<Class<?>>();
+        beanClasses.add(ClassInterceptedClass.class);
+        beanClasses.add(Transactional.class);
+        beanClasses.add(TransactionalInterceptor.class);
+
+        startContainer(beanClasses, beanXmls);
+
+        InterceptorResolutionService ir = new InterceptorResolutionService(getWebBeansContext());
+        AnnotatedType<ClassInterceptedClass> annotatedType = getBeanManager().createAnnotatedType(ClassInterceptedClass.class);
+        Bean<ClassInterceptedClass> bean =
+                (Bean<ClassInterceptedClass>) getBeanManager().resolve((Set) getBeanManager().getBeans(ClassInterceptedClass.class));
+
+        // all methods with the same effective interceptor bindings share the resolved interceptors
+        Interceptor<?>[] sharedInterceptors = null;
+        for (int i = 0; i < 2; i++)
+        {
+            BeanInterceptorInfo interceptorInfo = ir.calculateInterceptorInfo(bean.getTypes(), bean.getQualifiers(), annotatedType, false);
+            for (BusinessMethodInterceptorInfo mi : interceptorInfo.getBusinessMethodsInfo().values())
+            {
+                if (sharedInterceptors == null)
+                {
+                    sharedInterceptors = mi.getCdiInterceptors();
+                }
+                Assert.assertSame(sharedInterceptors, mi.getCdiInterceptors());
+            }
+        }
+        Assert.assertNotNull(sharedInterceptors);
+        Assert.assertEquals(1, sharedInterceptors.length);
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testInterceptorInstanceMap() throws Exception
+    {
+        Collection<String> beanXmls = new ArrayList<String>();
+        beanXmls.add(getXmlPath(this.getClass().getPackage().getName(), this.getClass().getSimpleName()));
+
+        Collection<Class<?>> beanClasses = new ArrayList<Class<?>>();
+        beanClasses.add(ClassInterceptedClass.class);
+        beanClasses.add(Transactional.class);
+        beanClasses.add(TransactionalInterceptor.class);
+
+        startContainer(beanClasses, beanXmls);
+
+        InterceptorResolutionService ir = new InterceptorResolutionService(getWebBeansContext());
+        AnnotatedType<ClassInterceptedClass> annotatedType = getBeanManager().createAnnotatedType(ClassInterceptedClass.class);
+        Bean<ClassInterceptedClass> bean =
+                (Bean<ClassInterceptedClass>) getBeanManager().resolve((Set) getBeanManager().getBeans(ClassInterceptedClass.class));
+
+        BeanInterceptorInfo interceptorInfo = ir.calculateInterceptorInfo(bean.getTypes(), bean.getQualifiers(), annotatedType, false);
+        Interceptor<?>[] interceptors = interceptorInfo.getInstantiatedInterceptors();
+        // the TransactionalInterceptor and the bean itself as it has an @AroundInvoke method
+        Assert.assertEquals(2, interceptors.length);
+        Assert.assertSame(interceptorInfo.getSelfInterceptorBean(), interceptors[1]);
+        Assert.assertSame(interceptors, interceptorInfo.getInstantiatedInterceptors());
+
+        CreationalContextImpl<ClassInterceptedClass> cc = getWebBeansContext().getCreationalContextFactory().getCreationalContext(bean);
+        Map<Interceptor<?>, Object> instances = ir.createInterceptorInstances(interceptorInfo, cc);
+        Assert.assertTrue(instances instanceof InterceptorInstanceMap);
+        Assert.assertEquals(1, instances.size());
+        Assert.assertTrue(instances.get(interceptors[0]) instanceof TransactionalInterceptor);
+        Assert.assertSame(instances.get(interceptors[0]), ((InterceptorInstanceMap) instances).getInstance(0));
+        Assert.assertEquals(1, instances.entrySet().size());
+
+        // the self interceptor instance is the bean instance and gets added later
+        Assert.assertNull(instances.get(interceptors[1]));
+
+        // the instances of each method chain get read by their precomputed index
+        Map<Method, List<Interceptor<?>>> methodInterceptors = ir.createMethodInterceptors(interceptorInfo);
+        Assert.assertFalse(methodInterceptors.isEmpty());
+        for (List<Interceptor<?>> methodChain : methodInterceptors.values())
+        {
+            Assert.assertTrue(methodChain instanceof InterceptorChain);
+            InterceptorChain chain = (InterceptorChain) methodChain;
+            Assert.assertTrue(chain.isIndexed(instances));
+            for (int i = 0; i < chain.size(); i++)
+            {
+                Assert.assertSame(instances.get(chain.get(i)), chain.getInstance((InterceptorInstanceMap) instances, i));
+            }
+        }
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testInterceptorInstanceMapWithForeignInterceptor() throws Exception
+    {
+        Collection<String> beanXmls = new ArrayList<String>();
+        beanXmls.add(getXmlPath(this.getClass().getPackage().getName(), this.getClass().getSimpleName()));
+
+        Collection<Class<?>> beanClasses = new ArrayList<Class<?>>();
+        beanClasses.add(ClassInterceptedClass.class);
+        beanClasses.add(Transactional.class);
+        beanClasses.add(TransactionalInterceptor.class);
+
+        startContainer(beanClasses, beanXmls);
+
+        InterceptorResolutionService ir = new InterceptorResolutionService(getWebBeansContext());
+        AnnotatedType<ClassInterceptedClass> annotatedType = getBeanManager().createAnnotatedType(ClassInterceptedClass.class);
+        Bean<ClassInterceptedClass> bean =
+                (Bean<ClassInterceptedClass>) getBeanManager().resolve((Set) getBeanManager().getBeans(ClassInterceptedClass.class));
+
+        BeanInterceptorInfo interceptorInfo = ir.calculateInterceptorInfo(bean.getTypes(), bean.getQualifiers(), annotatedType, false);
+        Interceptor<?>[] interceptors = interceptorInfo.getInstantiatedInterceptors();
+
+        // only the self interceptor belongs to the map, the TransactionalInterceptor is a foreign one
+        InterceptorInstanceMap instances = new InterceptorInstanceMap(new Interceptor<?>[]{interceptors[1]});
+        Object foreignInstance = new Object();
+        Assert.assertNull(instances.put(interceptors[0], foreignInstance));
+        Assert.assertTrue(instances.hasAdditionalInstances());
+        Assert.assertTrue(instances.containsKey(interceptors[0]));
+        Assert.assertSame(foreignInstance, instances.get(interceptors[0]));
+        Assert.assertEquals(1, instances.size());
+        Assert.assertEquals(1, instances.entrySet().size());
+
+        Assert.assertSame(foreignInstance, instances.remove(interceptors[0]));
+        Assert.assertFalse(instances.containsKey(interceptors[0]));
+        Assert.assertTrue(instances.isEmpty());
+
+        shutDownContainer();
+    }
+
     @Test
     public void testStereotypeInterceptorBinding() throws Exception
     {
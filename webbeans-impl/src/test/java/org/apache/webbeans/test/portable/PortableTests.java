@@ -20,8 +20,10 @@ package org.apache.webbeans.test.portable;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Properties;
 import java.util.Set;
 
 import javax.enterprise.event.Observes;
@@ -38,6 +40,7 @@ import javax.interceptor.Interceptor;
 
 import org.junit.Assert;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.test.annotation.binding.Binding1;
 import org.apache.webbeans.test.annotation.binding.Binding2;
@@ -138,4 +141,62 @@ public class PortableTests
         
         
     }
+
+    @Test
+    public void testJavaMembersAreNotSharedBetweenContexts()
+    {
+        AnnotatedMethod<?> first = getSingleMethod(new WebBeansContext(new HashMap<Class<?>, Object>(), new Properties()));
+        AnnotatedMethod<?> second = getSingleMethod(new WebBeansContext(new HashMap<Class<?>, Object>(), new Properties()));
+
+        // making a member accessible in one application must not affect another one
+        Assert.assertEquals(first.getJavaMember(), second.getJavaMember());
+        Assert.assertNotSame(first.getJavaMember(), second.getJavaMember());
+        first.getJavaMember().setAccessible(true);
+        Assert.assertFalse(second.getJavaMember().isAccessible());
+        Assert.assertTrue(second.isAnnotationPresent(Produces.class));
+    }
+
+    @Test
+    public void testSharedMetadata()
+    {
+        Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.SHARED_ANNOTATED_METADATA, "true");
+        AnnotatedMethod<?> first = getSingleMethod(new WebBeansContext(new HashMap<Class<?>, Object>(), properties));
+        AnnotatedMethod<?> second = getSingleMethod(new WebBeansContext(new HashMap<Class<?>, Object>(), properties));
+
+        // the AnnotatedTypes and the reflective members are per WebBeansContext, the parsed metadata is shared
+        Assert.assertNotSame(first, second);
+        Assert.assertNotSame(first.getJavaMember(), second.getJavaMember());
+        Assert.assertSame(getParameterAnnotation(first), getParameterAnnotation(second));
+        Assert.assertTrue(second.isAnnotationPresent(Produces.class));
+
+        first.getJavaMember().setAccessible(true);
+        Assert.assertFalse(second.getJavaMember().isAccessible());
+
+        // without the option the JDK parses the parameter annotations for each context again
+        AnnotatedMethod<?> notShared = getSingleMethod(new WebBeansContext(new HashMap<Class<?>, Object>(), new Properties()));
+        Assert.assertNotSame(getParameterAnnotation(first), getParameterAnnotation(notShared));
+        Assert.assertEquals(getParameterAnnotation(first), getParameterAnnotation(notShared));
+    }
+
+    private Named getParameterAnnotation(AnnotatedMethod<?> method)
+    {
+        return method.getParameters().get(0).getAnnotation(Named.class);
+    }
+
+    private AnnotatedMethod<?> getSingleMethod(WebBeansContext webBeansContext)
+    {
+        Set<AnnotatedMethod<? super SharedType>> methods = webBeansContext.getAnnotatedElementFactory().newAnnotatedType(SharedType.class).getMethods();
+        Assert.assertEquals(1, methods.size());
+        return methods.iterator().next();
+    }
+
+    public static class SharedType
+    {
+        @Produces
+        private String produce(@Named("shared") String name)
+        {
+            return name;
+        }
+    }
 }
@@ -53,6 +53,27 @@ public class WithAnnotationTest extends AbstractUnitTest
         Assert.assertEquals(1, WithAnnotationExtension.one);
     }
 
+    @Test
+    public void testInheritedAndMetaAnnotations()
+    {
+        WithAnnotationExtension.scannedClasses = 0;
+        WithAnnotationExtension.one = 0;
+
+        addExtension(new WithAnnotationExtension());
+        startContainer(WithoutAnyAnnotation.class, WithInheritedAnnotatedMethod.class, WithMetaAnnotatedClass.class);
+
+        Assert.assertEquals(2, WithAnnotationExtension.scannedClasses);
+        Assert.assertEquals(0, WithAnnotationExtension.one);
+    }
+
+    @Test
+    public void testNoProcessAnnotatedTypeObserver()
+    {
+        startContainer(WithoutAnyAnnotation.class, WithAnnotatedClass.class);
+
+        Assert.assertNotNull(getBean(WithoutAnyAnnotation.class));
+        Assert.assertNotNull(getBean(WithAnnotatedClass.class));
+    }
 
     public static class WithAnnotationExtension implements Extension
     {
@@ -141,4 +162,22 @@ public class WithAnnotationTest extends AbstractUnitTest
         }
     }
 
+    @ApplicationScoped
+    public static class WithInheritedAnnotatedMethod extends WithAnnotatedMethod
+    {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @MyAnnoation
+    public static @interface MyMetaAnnotation
+    {
+    }
+
+    @ApplicationScoped
+    @MyMetaAnnotation
+    public static class WithMetaAnnotatedClass
+    {
+    }
+
 }
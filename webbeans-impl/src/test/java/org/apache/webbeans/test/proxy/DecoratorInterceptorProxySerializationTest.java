@@ -18,6 +18,7 @@
  */
 package org.apache.webbeans.test.proxy;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.junit.Test;
 
@@ -33,6 +34,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 
 import static org.apache.webbeans.test.util.Serializations.deserialize;
@@ -72,6 +74,61 @@ public class DecoratorInterceptorProxySerializationTest extends AbstractUnitTest
         }
     }
 
+    @Test
+    public void testDefaultFormatWritesMethodTable() throws Exception
+    {
+        addDecorator(MyDecorator.class);
+        addInterceptor(IBInterceptor.class);
+        startContainer(new ArrayList<Class<?>>() {{ add(Main.class); }}, null, true);
+
+        try
+        {
+            client.aMethod();
+
+            final byte[] serialized = serialize(client);
+
+            // the compact format is opt-in, so older versions still can read what we write
+            assertTrue(new String(serialized, StandardCharsets.ISO_8859_1).contains("aMethod"));
+
+            final Main deserialized = Main.class.cast(deserialize(serialized));
+            assertTrue(deserialized.isCalled());
+            assertTrue(deserialized.isDecoratorCalled());
+            assertTrue(deserialized.isInterceptorCalled());
+        }
+        finally
+        {
+            shutDownContainer();
+        }
+    }
+
+    @Test
+    public void testCompactFormat() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMPACT_PROXY_SERIALIZATION, "true");
+        addDecorator(MyDecorator.class);
+        addInterceptor(IBInterceptor.class);
+        startContainer(new ArrayList<Class<?>>() {{ add(Main.class); }}, null, true);
+
+        try
+        {
+            client.aMethod();
+
+            final byte[] serialized = serialize(client);
+
+            // the method table gets restored from the bean, so no method must be written
+            assertFalse(new String(serialized, StandardCharsets.ISO_8859_1).contains("aMethod"));
+
+            final Main deserialized = Main.class.cast(deserialize(serialized));
+            assertTrue(deserialized.isCalled());
+            assertTrue(deserialized.isDecoratorCalled());
+            assertTrue(deserialized.isInterceptorCalled());
+        }
+        finally
+        {
+            shutDownContainer();
+        }
+    }
+
     public static interface StupidClass
     {
         void aMethod();
@@ -30,9 +30,11 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.webbeans.config.OwbParametrizedTypeImpl;
+import org.apache.webbeans.config.OwbWildcardTypeImpl;
 import org.apache.webbeans.util.GenericsUtil;
 import org.junit.Assert;
 import org.junit.Test;
@@ -87,6 +89,33 @@ public class GenericsUtilTest {
         Assert.assertFalse(GenericsUtil.containsWildcardType(GenericObject.class.getMethod("getObject").getGenericReturnType()));
     }
 
+    @Test
+    public void testCachedResults()
+    {
+        Type stringObjects = new OwbParametrizedTypeImpl(null, List.class, StringObject.class);
+        Type equalStringObjects = new OwbParametrizedTypeImpl(null, List.class, StringObject.class);
+        Type integerObjects = new OwbParametrizedTypeImpl(null, List.class, IntegerObject.class);
+        Type anyObjects = new OwbParametrizedTypeImpl(null, List.class, new OwbWildcardTypeImpl(new Type[] { AbstractObject.class }, new Type[0]));
+
+        Set<Type> typeClosure = GenericsUtil.getTypeClosure(stringObjects, stringObjects);
+        Assert.assertTrue(typeClosure.contains(new OwbParametrizedTypeImpl(null, Collection.class, StringObject.class)));
+
+        // the cached closure must not leak modifications
+        typeClosure.clear();
+        Set<Type> cachedTypeClosure = GenericsUtil.getTypeClosure(equalStringObjects, equalStringObjects);
+        Assert.assertTrue(cachedTypeClosure.contains(new OwbParametrizedTypeImpl(null, Collection.class, StringObject.class)));
+        Assert.assertEquals(GenericsUtil.getTypeClosure(new OwbParametrizedTypeImpl(null, List.class, IntegerObject.class), integerObjects).size(),
+                            cachedTypeClosure.size());
+
+        for (int i = 0; i < 2; i++)
+        {
+            Assert.assertTrue(GenericsUtil.isAssignableFrom(false, false, stringObjects, equalStringObjects));
+            Assert.assertFalse(GenericsUtil.isAssignableFrom(false, false, stringObjects, integerObjects));
+            Assert.assertTrue(GenericsUtil.isAssignableFrom(false, false, anyObjects, integerObjects));
+            Assert.assertFalse(GenericsUtil.isAssignableFrom(false, false, integerObjects, anyObjects));
+        }
+    }
+
     public static abstract class AbstractObject<V>
     {
     
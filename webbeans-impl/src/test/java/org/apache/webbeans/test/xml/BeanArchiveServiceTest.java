@@ -21,7 +21,16 @@ package org.apache.webbeans.test.xml;
 
 import javax.enterprise.inject.spi.DeploymentException;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
@@ -175,6 +184,125 @@ public class BeanArchiveServiceTest
     }
 
 
+    @Test
+    public void testCachedBeansXml() throws Exception
+    {
+        File beansXml = tempFolder.newFile("beans.xml");
+        writeBeansXml(beansXml, "<beans bean-discovery-mode=\"all\"><scan>" +
+                                "<exclude name=\"org.apache.webbeans.test.Excluded\">" +
+                                "<if-system-property name=\"owb.test.exclude\" value=\"true\"/>" +
+                                "</exclude></scan></beans>");
+        long lastModified = beansXml.lastModified();
+        URL url = beansXml.toURI().toURL();
+
+        AtomicInteger reads = new AtomicInteger();
+        BeanArchiveInformation bai = new CachingBeanArchiveService(reads).getBeanArchiveInformation(url);
+        Assert.assertEquals(BeanDiscoveryMode.ALL, bai.getBeanDiscoveryMode());
+        Assert.assertFalse(bai.isClassExcluded("org.apache.webbeans.test.Excluded"));
+
+        // the content changes but the modification time doesn't, thus only a cache hit still sees the old content
+        writeBeansXml(beansXml, "<beans bean-discovery-mode=\"annotated\"/>");
+        Assert.assertTrue(beansXml.setLastModified(lastModified));
+
+        // e.g. a redeployment, conditional excludes must get evaluated again even for a cached beans.xml
+        System.setProperty("owb.test.exclude", "true");
+        try
+        {
+            bai = new CachingBeanArchiveService(reads).getBeanArchiveInformation(url);
+            Assert.assertEquals(BeanDiscoveryMode.ALL, bai.getBeanDiscoveryMode());
+            Assert.assertTrue(bai.isClassExcluded("org.apache.webbeans.test.Excluded"));
+        }
+        finally
+        {
+            System.clearProperty("owb.test.exclude");
+        }
+
+        // a changed beans.xml must get parsed again
+        Assert.assertTrue(beansXml.setLastModified(lastModified + 2000L));
+        bai = new CachingBeanArchiveService(reads).getBeanArchiveInformation(url);
+        Assert.assertEquals(BeanDiscoveryMode.ANNOTATED, bai.getBeanDiscoveryMode());
+        Assert.assertFalse(bai.isClassExcluded("org.apache.webbeans.test.Excluded"));
+
+        // subclasses still get invoked for every beans.xml
+        Assert.assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void testCachedBeansXmlInJar() throws Exception
+    {
+        File jar = tempFolder.newFile("beans.jar");
+        writeJar(jar, "<beans bean-discovery-mode=\"all\"/>");
+        long lastModified = jar.lastModified();
+        URL url = new URL("jar:" + jar.toURI().toURL().toExternalForm() + "!/META-INF/beans.xml");
+
+        AtomicInteger reads = new AtomicInteger();
+        Assert.assertEquals(BeanDiscoveryMode.ALL, new CachingBeanArchiveService(reads).getBeanArchiveInformation(url).getBeanDiscoveryMode());
+
+        writeJar(jar, "<beans bean-discovery-mode=\"annotated\"/>");
+        Assert.assertTrue(jar.setLastModified(lastModified));
+        Assert.assertEquals(BeanDiscoveryMode.ALL, new CachingBeanArchiveService(reads).getBeanArchiveInformation(url).getBeanDiscoveryMode());
+
+        Assert.assertTrue(jar.setLastModified(lastModified + 2000L));
+        Assert.assertEquals(BeanDiscoveryMode.ANNOTATED, new CachingBeanArchiveService(reads).getBeanArchiveInformation(url).getBeanDiscoveryMode());
+    }
+
+    @Test
+    public void testBeansXmlCacheIsDisabledByDefault() throws Exception
+    {
+        File beansXml = tempFolder.newFile("beans.xml");
+        writeBeansXml(beansXml, "<beans bean-discovery-mode=\"all\"/>");
+        long lastModified = beansXml.lastModified();
+        URL url = beansXml.toURI().toURL();
+
+        Assert.assertEquals(BeanDiscoveryMode.ALL, new DefaultBeanArchiveService().getBeanArchiveInformation(url).getBeanDiscoveryMode());
+
+        writeBeansXml(beansXml, "<beans bean-discovery-mode=\"annotated\"/>");
+        Assert.assertTrue(beansXml.setLastModified(lastModified));
+        Assert.assertEquals(BeanDiscoveryMode.ANNOTATED, new DefaultBeanArchiveService().getBeanArchiveInformation(url).getBeanDiscoveryMode());
+    }
+
+    private void writeBeansXml(File beansXml, String content) throws IOException
+    {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(beansXml), StandardCharsets.UTF_8))
+        {
+            writer.write(content);
+        }
+    }
+
+    private void writeJar(File jar, String beansXmlContent) throws IOException
+    {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar)))
+        {
+            out.putNextEntry(new JarEntry("META-INF/beans.xml"));
+            out.write(beansXmlContent.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+
+    private static class CachingBeanArchiveService extends DefaultBeanArchiveService
+    {
+        private final AtomicInteger reads;
+
+        private CachingBeanArchiveService(AtomicInteger reads)
+        {
+            this.reads = reads;
+        }
+
+        @Override
+        protected boolean isBeansXmlCacheEnabled()
+        {
+            return true;
+        }
+
+        @Override
+        protected BeanArchiveInformation readBeansXml(InputStream xmlStreamIn, String beansXmlLocation) throws IOException
+        {
+            reads.incrementAndGet();
+            return super.readBeansXml(xmlStreamIn, beansXmlLocation);
+        }
+    }
+
+
 
     private BeanArchiveInformation scanBeansXml(String name)
     {
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.maven.plugin;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.openwebbeans.enhancer.ProxyableClassEnhancer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Makes the configured bean classes proxyable at build time.
+ * See {@link ProxyableClassEnhancer} for what exactly gets changed.
+ *
+ * <pre>
+ * &lt;plugin&gt;
+ *   &lt;groupId&gt;org.apache.openwebbeans&lt;/groupId&gt;
+ *   &lt;artifactId&gt;openwebbeans-maven-plugin&lt;/artifactId&gt;
+ *   &lt;executions&gt;
+ *     &lt;execution&gt;
+ *       &lt;goals&gt;&lt;goal&gt;enhance&lt;/goal&gt;&lt;/goals&gt;
+ *       &lt;configuration&gt;
+ *         &lt;classes&gt;&lt;class&gt;org.acme.service.*&lt;/class&gt;&lt;/classes&gt;
+ *       &lt;/configuration&gt;
+ *     &lt;/execution&gt;
+ *   &lt;/executions&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ */
+@Mojo(name = "enhance", defaultPhase = LifecyclePhase.PROCESS_CLASSES, threadSafe = true)
+public class EnhanceMojo extends AbstractMojo
+{
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File classesDirectory;
+
+    /**
+     * Fully qualified class names or package patterns like {@code org.acme.*}.
+     */
+    @Parameter
+    private List<String> classes;
+
+    @Parameter(property = "openwebbeans.enhance.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException
+    {
+        if (skip || classes == null || classes.isEmpty())
+        {
+            getLog().info("Skipping OpenWebBeans enhancement");
+            return;
+        }
+
+        try
+        {
+            int enhanced = new ProxyableClassEnhancer(classes).enhance(classesDirectory);
+            getLog().info("Made " + enhanced + " classes proxyable in " + classesDirectory);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            throw new MojoExecutionException("Can't enhance classes in " + classesDirectory, e);
+        }
+    }
+}
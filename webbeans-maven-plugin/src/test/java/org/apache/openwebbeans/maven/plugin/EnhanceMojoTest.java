@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.maven.plugin;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.xbean.asm7.ClassReader;
+import org.apache.xbean.asm7.Opcodes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EnhanceMojoTest
+{
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void enhanceConfiguredClasses() throws Exception
+    {
+        File classes = temporaryFolder.newFolder("classes");
+        Path finalClass = writeClass(classes, FinalBean.class);
+
+        execute(classes, singletonList(getClass().getPackage().getName() + ".*"), false);
+
+        assertFalse(isFinal(finalClass));
+    }
+
+    @Test
+    public void skip() throws Exception
+    {
+        File classes = temporaryFolder.newFolder("classes");
+        Path finalClass = writeClass(classes, FinalBean.class);
+
+        execute(classes, singletonList(FinalBean.class.getName()), true);
+        execute(classes, null, false);
+
+        assertTrue(isFinal(finalClass));
+        assertArrayEquals(bytecode(FinalBean.class), Files.readAllBytes(finalClass));
+    }
+
+    @Test(expected = MojoExecutionException.class)
+    public void brokenClassFile() throws Exception
+    {
+        File classes = temporaryFolder.newFolder("classes");
+        Path classFile = writeClass(classes, FinalBean.class);
+        Files.write(classFile, new byte[] {1, 2, 3});
+
+        execute(classes, singletonList(FinalBean.class.getName()), false);
+    }
+
+    private void execute(File classesDirectory, List<String> classes, boolean skip) throws Exception
+    {
+        EnhanceMojo mojo = new EnhanceMojo();
+        set(mojo, "classesDirectory", classesDirectory);
+        set(mojo, "classes", classes);
+        set(mojo, "skip", skip);
+        mojo.execute();
+    }
+
+    private static void set(EnhanceMojo mojo, String name, Object value) throws ReflectiveOperationException
+    {
+        // maven injects the configuration directly into the fields
+        Field field = EnhanceMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+
+    private static Path writeClass(File classes, Class<?> clazz) throws IOException
+    {
+        Path classFile = classes.toPath().resolve(clazz.getName().replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, bytecode(clazz));
+        return classFile;
+    }
+
+    private static boolean isFinal(Path classFile) throws IOException
+    {
+        return (new ClassReader(Files.readAllBytes(classFile)).getAccess() & Opcodes.ACC_FINAL) != 0;
+    }
+
+    private static byte[] bytecode(Class<?> clazz) throws IOException
+    {
+        try (InputStream in = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class"))
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0)
+            {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+
+    public static final class FinalBean
+    {
+        public String greet()
+        {
+            return "hello";
+        }
+    }
+}
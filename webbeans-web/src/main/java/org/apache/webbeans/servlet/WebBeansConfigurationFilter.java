@@ -125,7 +125,15 @@ public class WebBeansConfigurationFilter implements Filter
         {
             if (lastDestroy(servletRequest))
             {
-                 requestDestroyed(servletRequest);
+                if (ServletCompatibilityUtil.isAsyncStarted(servletRequest))
+                {
+                    // the request continues on other threads, its context gets destroyed once the async cycle completes
+                    webContextsService.suspendRequestContext(new ServletRequestEvent(servletContext, servletRequest));
+                }
+                else
+                {
+                    requestDestroyed(servletRequest);
+                }
             }
         }
     }
@@ -181,9 +189,9 @@ public class WebBeansConfigurationFilter implements Filter
             logger.log(Level.FINE, "Destroying a request : [{0}]", request.getRemoteAddr());
         }
 
-        // clean up the EL caches after each request
+        // clean up the EL caches after each request, async requests keep them until the async cycle completes
         ELContextStore elStore = ELContextStore.getInstance(false);
-        if (elStore != null)
+        if (elStore != null && !ServletCompatibilityUtil.isAsyncStarted(request))
         {
             elStore.destroyELContextStore();
         }
@@ -169,9 +169,9 @@ public class WebBeansConfigurationListener implements ServletContextListener, Se
             logger.log(Level.FINE, "Destroying a request : [{0}]", event == null ? "null" : event.getServletRequest().getRemoteAddr());
         }
 
-        // clean up the EL caches after each request
+        // clean up the EL caches after each request, async requests keep them until the async cycle completes
         ELContextStore elStore = ELContextStore.getInstance(false);
-        if (elStore != null)
+        if (elStore != null && !ServletCompatibilityUtil.isAsyncStarted(event != null ? event.getServletRequest() : null))
         {
             elStore.destroyELContextStore();
         }
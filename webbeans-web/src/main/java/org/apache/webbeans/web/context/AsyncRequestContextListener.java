@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.context;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletRequestEvent;
+
+/**
+ * Keeps track of an async servlet request whose {@link ServletRequestContext}
+ * got suspended by the {@link WebContextsService}.
+ * The request context finally gets destroyed once the async cycle completes, times out or fails.
+ * We do not rely on the container invoking {@link #onComplete(AsyncEvent)} after a timeout or an error,
+ * destroying the context is a no-op if it already got destroyed.
+ */
+class AsyncRequestContextListener implements AsyncListener
+{
+    private final WebContextsService contextsService;
+    private final ServletRequestEvent requestEvent;
+
+    AsyncRequestContextListener(WebContextsService contextsService, ServletRequestEvent requestEvent)
+    {
+        this.contextsService = contextsService;
+        this.requestEvent = requestEvent;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event)
+    {
+        contextsService.destroySuspendedRequestContext(requestEvent);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event)
+    {
+        contextsService.destroySuspendedRequestContext(requestEvent);
+    }
+
+    @Override
+    public void onError(AsyncEvent event)
+    {
+        contextsService.destroySuspendedRequestContext(requestEvent);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event)
+    {
+        // listeners get dropped whenever startAsync is invoked again, e.g. after an async dispatch
+        event.getAsyncContext().addListener(this);
+    }
+}
@@ -32,11 +32,11 @@ import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.context.SingletonContext;
 import org.apache.webbeans.conversation.ConversationManager;
-import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.event.NotificationManager;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.web.util.ServletCompatibilityUtil;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextException;
@@ -47,6 +47,7 @@ import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Context;
 import javax.inject.Singleton;
 import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
@@ -68,6 +69,11 @@ public class WebContextsService extends AbstractContextsService
 
     private static final String OWB_SESSION_CONTEXT_ATTRIBUTE_NAME = "openWebBeansSessionContext";
 
+    /**
+     * Request attribute which holds the {@link AsyncRequestState} of requests which might go into async mode
+     */
+    private static final String OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME = "openWebBeansAsyncRequestContext";
+
     /**
      * TODO implement later: optional immediate destroy
      */
@@ -347,7 +353,21 @@ public class WebContextsService extends AbstractContextsService
      */
     protected void initRequestContext(Object startupObject )
     {
-        
+        if (startupObject instanceof ServletRequestEvent)
+        {
+            if (resumeRequestContext(((ServletRequestEvent) startupObject).getServletRequest()) != null)
+            {
+                // async dispatch of a request which already has a context
+                return;
+            }
+
+            if (requestContexts.get() != null)
+            {
+                // the end of the previous request on this thread got notified on another thread, e.g. after an async cycle
+                detachRequestContext();
+            }
+        }
+
         ServletRequestContext requestContext = new ServletRequestContext();
         requestContext.setActive(true);
 
@@ -364,6 +384,12 @@ public class WebContextsService extends AbstractContextsService
             {
                 payload = request;
 
+                if (ServletCompatibilityUtil.isAsyncSupported(request))
+                {
+                    // the request might end on another thread, which then must find its context
+                    request.setAttribute(OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME, new AsyncRequestState(requestContext));
+                }
+
                 if (shouldEagerlyInitializeSession(request))
                 {
                     request.getSession(true);
@@ -394,6 +420,31 @@ public class WebContextsService extends AbstractContextsService
      */
     protected void destroyRequestContext(Object endObject)
     {
+        if (endObject instanceof ServletRequestEvent)
+        {
+            ServletRequestEvent requestEvent = (ServletRequestEvent) endObject;
+            ServletRequest request = requestEvent.getServletRequest();
+            if (ServletCompatibilityUtil.isAsyncStarted(request))
+            {
+                // the context lives until the async cycle completes
+                suspendRequestContext(requestEvent);
+                return;
+            }
+
+            AsyncRequestState asyncState = request == null
+                ? null : (AsyncRequestState) request.getAttribute(OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME);
+            if (asyncState != null)
+            {
+                if (asyncState.requestContext != requestContexts.get())
+                {
+                    // the container notifies the end of the request on another thread, e.g. after an async cycle
+                    destroySuspendedRequestContext(requestEvent);
+                    return;
+                }
+                request.removeAttribute(OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME);
+            }
+        }
+
         //Get context
         ServletRequestContext context = getRequestContext(false);
 
@@ -402,18 +453,32 @@ public class WebContextsService extends AbstractContextsService
             return;
         }
 
-            // cleanup open conversations first
+        destroyRequestContext(context, conversationContexts.get(), endObject);
+    }
+
+    /**
+     * Destroys the given request context even if its request is still in async mode,
+     * e.g. when the async cycle timed out.
+     *
+     * @param conversationContext the conversation context of the request
+     */
+    private void destroyRequestContext(ServletRequestContext context, ConversationContext conversationContext, Object endObject)
+    {
+        // cleanup open conversations first
         if (supportsConversation)
         {
-            destroyOutdatedConversations(conversationContexts.get());
+            destroyOutdatedConversations(conversationContext);
         }
 
         if (context.getPropagatedSessionContext() != null)
         {
             SessionContext sessionContext = context.getPropagatedSessionContext();
 
+            boolean fireBeforeDestroyed = hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
+            boolean fireDestroyed = hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_SESSION_SCOPED);
+
             Object payload = null;
-            if (context.getServletRequest() != null)
+            if ((fireBeforeDestroyed || fireDestroyed) && context.getServletRequest() != null)
             {
                 payload = context.getHttpSession();
                 if (payload == null)
@@ -423,14 +488,19 @@ public class WebContextsService extends AbstractContextsService
                 }
             }
 
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                payload != null ? payload : new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
+            if (fireBeforeDestroyed)
+            {
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                    payload != null ? payload : new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
+            }
 
             sessionContext.destroy();
 
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                payload != null ? payload : new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
-
+            if (fireDestroyed)
+            {
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                    payload != null ? payload : new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
+            }
         }
 
         Object payload = null;
@@ -447,15 +517,9 @@ public class WebContextsService extends AbstractContextsService
         }
 
 
+        // this also cleans up the EL caches of this request
         context.destroy();
 
-        // clean up the EL caches after each request
-        ELContextStore elStore = ELContextStore.getInstance(false);
-        if (elStore != null)
-        {
-            elStore.destroyELContextStore();
-        }
-
         if (shouldFireRequestLifecycleEvents())
         {
             webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
@@ -472,6 +536,152 @@ public class WebContextsService extends AbstractContextsService
     }
 
 
+    /**
+     * Re-attaches the request context of an async request to the current thread.
+     * This happens automatically for async dispatches. Code which continues the work
+     * of an async request on a different thread, e.g. via
+     * {@link javax.servlet.AsyncContext#start(Runnable)}, can use this method to get access
+     * to the very same &#064;RequestScoped beans and must call {@link #detachRequestContext()}
+     * once it is done.
+     *
+     * @param request the async servlet request
+     * @return the resumed request context or {@code null} if there is no context for the request
+     */
+    public ServletRequestContext resumeRequestContext(ServletRequest request)
+    {
+        if (request == null)
+        {
+            return null;
+        }
+
+        AsyncRequestState asyncState = (AsyncRequestState) request.getAttribute(OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME);
+        if (asyncState == null)
+        {
+            return null;
+        }
+
+        attachRequestContext(asyncState);
+        return asyncState.requestContext;
+    }
+
+    /**
+     * Removes the request context from the current thread without destroying it.
+     * @see #resumeRequestContext(ServletRequest)
+     */
+    public void detachRequestContext()
+    {
+        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+
+        requestContexts.set(null);
+        requestContexts.remove();
+        sessionContexts.remove();
+        conversationContexts.remove();
+    }
+
+    /**
+     * Parks the request context of a request which went into async mode and detaches it from the current thread.
+     * It will get destroyed by the {@link AsyncRequestContextListener} once the async cycle completes.
+     * Integrations should invoke this right after the servlet returned, as some containers
+     * notify the end of an async request only once the async cycle completed and on another thread.
+     *
+     * @param requestEvent the event of the request for which {@link ServletRequest#startAsync()} got invoked
+     */
+    public void suspendRequestContext(ServletRequestEvent requestEvent)
+    {
+        ServletRequestContext context = requestContexts.get();
+        if (context == null)
+        {
+            return;
+        }
+
+        ServletRequest request = requestEvent.getServletRequest();
+        AsyncRequestState asyncState = (AsyncRequestState) request.getAttribute(OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME);
+        if (asyncState == null || asyncState.requestContext != context)
+        {
+            asyncState = new AsyncRequestState(context);
+            request.setAttribute(OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME, asyncState);
+        }
+
+        // the session and conversation of this very request, they might have been started lazily
+        asyncState.sessionContext = sessionContexts.get();
+        asyncState.conversationContext = conversationContexts.get();
+
+        if (!asyncState.suspended)
+        {
+            asyncState.suspended = true;
+            request.getAsyncContext().addListener(new AsyncRequestContextListener(this, requestEvent));
+        }
+
+        detachRequestContext();
+    }
+
+    /**
+     * Destroys the request context of an async request once the async cycle completed, timed out or failed.
+     * This might get invoked on any thread, thus we temporarily attach the contexts of the request
+     * and restore the contexts the thread had before.
+     */
+    protected void destroySuspendedRequestContext(ServletRequestEvent requestEvent)
+    {
+        ServletRequest request = requestEvent.getServletRequest();
+        AsyncRequestState asyncState = (AsyncRequestState) request.getAttribute(OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME);
+        if (asyncState == null)
+        {
+            // already destroyed at the end of a final async dispatch
+            return;
+        }
+        request.removeAttribute(OWB_ASYNC_REQUEST_CONTEXT_ATTRIBUTE_NAME);
+
+        ServletRequestContext previousRequestContext = requestContexts.get();
+        SessionContext previousSessionContext = sessionContexts.get();
+        ConversationContext previousConversationContext = conversationContexts.get();
+
+        attachRequestContext(asyncState);
+        try
+        {
+            destroyRequestContext(asyncState.requestContext, asyncState.conversationContext, requestEvent);
+        }
+        finally
+        {
+            detachRequestContext();
+
+            if (previousRequestContext != null && previousRequestContext != asyncState.requestContext)
+            {
+                // e.g. a timeout handled by a container thread which currently serves another request
+                requestContexts.set(previousRequestContext);
+                if (previousSessionContext != null)
+                {
+                    sessionContexts.set(previousSessionContext);
+                }
+                if (previousConversationContext != null)
+                {
+                    conversationContexts.set(previousConversationContext);
+                }
+            }
+        }
+    }
+
+    private void attachRequestContext(AsyncRequestState asyncState)
+    {
+        requestContexts.set(asyncState.requestContext);
+        if (asyncState.sessionContext != null)
+        {
+            sessionContexts.set(asyncState.sessionContext);
+        }
+        else
+        {
+            sessionContexts.remove();
+        }
+        if (asyncState.conversationContext != null)
+        {
+            conversationContexts.set(asyncState.conversationContext);
+        }
+        else
+        {
+            conversationContexts.remove();
+        }
+    }
+
     /**
      * Creates the session context at the session start.
      * @param startupObject HttpSession object
@@ -503,8 +713,11 @@ public class WebContextsService extends AbstractContextsService
                         session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
                         sessionContexts.set(currentSessionContext);
                         
-                        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                            session, InitializedLiteral.INSTANCE_SESSION_SCOPED);
+                        if (hasContextLifecycleObserver(InitializedLiteral.INSTANCE_SESSION_SCOPED))
+                        {
+                            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                                session, InitializedLiteral.INSTANCE_SESSION_SCOPED);
+                        }
                     }
                 }
             }
@@ -562,13 +775,19 @@ public class WebContextsService extends AbstractContextsService
                 || requestContext.getServletRequest().getSession(false) == null
                 || sessionIsExpiring)
             {
-                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                    session != null ? session : new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
+                if (hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED))
+                {
+                    webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                        session != null ? session : new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
+                }
 
                 context.destroy();
 
-                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                    session != null ? session : new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
+                if (hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_SESSION_SCOPED))
+                {
+                    webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                        session != null ? session : new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
+                }
 
                 // Clear thread locals
                 sessionContexts.set(null);
@@ -636,17 +855,23 @@ public class WebContextsService extends AbstractContextsService
         //Destroy context
         if(applicationContext != null && !applicationContext.isDestroyed())
         {
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                endObject != null ? endObject : new Object(),
-                BeforeDestroyedLiteral.INSTANCE_APPLICATION_SCOPED);
+            if (hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_APPLICATION_SCOPED))
+            {
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                    endObject != null ? endObject : new Object(),
+                    BeforeDestroyedLiteral.INSTANCE_APPLICATION_SCOPED);
+            }
 
             applicationContext.destroy();
             // this is needed to get rid of ApplicationScoped beans which are cached inside the proxies...
             webBeansContext.getBeanManagerImpl().clearCacheProxies();
 
-            Object payload = endObject instanceof ServletContext ? endObject : new Object();
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                payload, DestroyedLiteral.INSTANCE_APPLICATION_SCOPED);
+            if (hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_APPLICATION_SCOPED))
+            {
+                Object payload = endObject instanceof ServletContext ? endObject : new Object();
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                    payload, DestroyedLiteral.INSTANCE_APPLICATION_SCOPED);
+            }
         }
     }
     
@@ -669,8 +894,11 @@ public class WebContextsService extends AbstractContextsService
                 singletonContext.setActive(true);
                 Object payLoad = startupObject instanceof ServletContext
                     ? (ServletContext) startupObject : new Object();
-                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                    payLoad, InitializedLiteral.INSTANCE_SINGLETON_SCOPED);
+                if (hasContextLifecycleObserver(InitializedLiteral.INSTANCE_SINGLETON_SCOPED))
+                {
+                    webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                        payLoad, InitializedLiteral.INSTANCE_SINGLETON_SCOPED);
+                }
             }
         }
     }
@@ -684,14 +912,20 @@ public class WebContextsService extends AbstractContextsService
         if (singletonContext != null)
         {
             Object payload = endObject != null ? endObject : new Object();
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                payload, BeforeDestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+            if (hasContextLifecycleObserver(BeforeDestroyedLiteral.INSTANCE_SINGLETON_SCOPED))
+            {
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                    payload, BeforeDestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+            }
 
             singletonContext.destroy();
 
             singletonContext = null;
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                payload, DestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+            if (hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_SINGLETON_SCOPED))
+            {
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                    payload, DestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+            }
         }
     }
 
@@ -730,8 +964,11 @@ public class WebContextsService extends AbstractContextsService
         if (context != null)
         {
             context.destroy();
-            webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                new Object(), DestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+            if (hasContextLifecycleObserver(DestroyedLiteral.INSTANCE_SINGLETON_SCOPED))
+            {
+                webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                    new Object(), DestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
+            }
         }
 
         conversationContexts.set(null);
@@ -790,9 +1027,12 @@ public class WebContextsService extends AbstractContextsService
 
                 if (conversationContext.getConversation().isTransient())
                 {
-                    webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
-                        conversationManager.getLifecycleEventPayload(conversationContext),
-                        InitializedLiteral.INSTANCE_CONVERSATION_SCOPED);
+                    if (hasContextLifecycleObserver(InitializedLiteral.INSTANCE_CONVERSATION_SCOPED))
+                    {
+                        webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
+                            conversationManager.getLifecycleEventPayload(conversationContext),
+                            InitializedLiteral.INSTANCE_CONVERSATION_SCOPED);
+                    }
                 }
 
 
@@ -869,4 +1109,24 @@ public class WebContextsService extends AbstractContextsService
         }
     }
 
+
+    /**
+     * The contexts of a request which might continue on other threads.
+     */
+    private static final class AsyncRequestState
+    {
+        private final ServletRequestContext requestContext;
+        private SessionContext sessionContext;
+        private ConversationContext conversationContext;
+
+        /**
+         * Whether the request went into async mode and got an {@link AsyncRequestContextListener}
+         */
+        private boolean suspended;
+
+        private AsyncRequestState(ServletRequestContext requestContext)
+        {
+            this.requestContext = requestContext;
+        }
+    }
 }
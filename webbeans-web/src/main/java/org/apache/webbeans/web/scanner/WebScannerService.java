@@ -61,6 +61,12 @@ public class WebScannerService extends AbstractMetaDataDiscovery
         registerBeanArchives(loader);
     }
 
+    @Override
+    protected boolean isScanSnapshotSupported()
+    {
+        return true;
+    }
+
     public OwbAnnotationFinder getFinder()
     {
         return finder;
@@ -19,6 +19,7 @@
 package org.apache.webbeans.web.util;
 
 import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
 
 /**
  * This utility helps to be compatible with Servlet API 2.4
@@ -58,4 +59,54 @@ public final class ServletCompatibilityUtil
             return "null";
         }
     }
+
+    /**
+     * Checks whether the given request might get put into asynchronous mode.
+     * Containers which only implement Servlet API 2.5 or lower never have async requests.
+     *
+     * @param servletRequest A given servlet request or null.
+     * @return {@code true} if the request supports {@link ServletRequest#startAsync()}
+     */
+    public static boolean isAsyncSupported(ServletRequest servletRequest)
+    {
+        if (servletRequest == null)
+        {
+            return false;
+        }
+
+        try
+        {
+            return servletRequest.isAsyncSupported();
+        }
+        catch (AbstractMethodError e)
+        {
+            // pre Servlet 3.0 request implementation
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the given request has been put into asynchronous mode.
+     * Containers which only implement Servlet API 2.5 or lower never have async requests.
+     *
+     * @param servletRequest A given servlet request or null.
+     * @return {@code true} if {@link ServletRequest#startAsync()} got invoked for the current dispatch
+     */
+    public static boolean isAsyncStarted(ServletRequest servletRequest)
+    {
+        if (servletRequest == null)
+        {
+            return false;
+        }
+
+        try
+        {
+            return servletRequest.isAsyncStarted();
+        }
+        catch (AbstractMethodError e)
+        {
+            // pre Servlet 3.0 request implementation
+            return false;
+        }
+    }
 }
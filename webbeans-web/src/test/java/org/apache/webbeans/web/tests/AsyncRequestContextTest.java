@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.tests;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestEvent;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.web.context.ServletRequestContext;
+import org.apache.webbeans.web.context.WebContextsService;
+import org.apache.webbeans.web.lifecycle.test.MockServletContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test that &#064;RequestScoped beans survive the thread hops of an async servlet request.
+ */
+public class AsyncRequestContextTest extends AbstractUnitTest
+{
+    @Test
+    public void testRequestContextSurvivesAsyncCycle() throws Exception
+    {
+        startContainer(AsyncRequestBean.class);
+
+        final WebContextsService contextsService = (WebContextsService) getWebBeansContext().getContextsService();
+        contextsService.endContext(RequestScoped.class, null);
+
+        final AsyncServletRequest request = new AsyncServletRequest();
+        ServletRequestEvent requestEvent = new ServletRequestEvent(new MockServletContext(), request);
+
+        AsyncRequestBean.destroyed = false;
+        contextsService.startContext(RequestScoped.class, requestEvent);
+        getInstance(AsyncRequestBean.class).setValue("async");
+
+        // the servlet went async, the container thread leaves the request
+        request.startAsync();
+        contextsService.endContext(RequestScoped.class, requestEvent);
+        Assert.assertNull(contextsService.getRequestContext(false));
+        Assert.assertFalse(AsyncRequestBean.destroyed);
+
+        // the async work continues on another thread
+        final AtomicReference<String> value = new AtomicReference<>();
+        Thread worker = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                contextsService.resumeRequestContext(request);
+                try
+                {
+                    value.set(getInstance(AsyncRequestBean.class).getValue());
+                }
+                finally
+                {
+                    contextsService.detachRequestContext();
+                }
+            }
+        };
+        worker.start();
+        worker.join();
+        Assert.assertEquals("async", value.get());
+        Assert.assertFalse(AsyncRequestBean.destroyed);
+
+        // an async dispatch re-attaches the very same context
+        request.asyncStarted = false;
+        contextsService.startContext(RequestScoped.class, requestEvent);
+        Assert.assertEquals("async", getInstance(AsyncRequestBean.class).getValue());
+        request.startAsync();
+        contextsService.endContext(RequestScoped.class, requestEvent);
+        Assert.assertFalse(AsyncRequestBean.destroyed);
+
+        // and the async cycle completes
+        request.complete();
+        Assert.assertTrue(AsyncRequestBean.destroyed);
+        Assert.assertNull(contextsService.getRequestContext(false));
+    }
+
+    @Test
+    public void testRequestContextGetsDestroyedOnTimeout()
+    {
+        startContainer(AsyncRequestBean.class);
+
+        WebContextsService contextsService = (WebContextsService) getWebBeansContext().getContextsService();
+        contextsService.endContext(RequestScoped.class, null);
+
+        AsyncServletRequest request = new AsyncServletRequest();
+        ServletRequestEvent requestEvent = new ServletRequestEvent(new MockServletContext(), request);
+
+        AsyncRequestBean.destroyed = false;
+        contextsService.startContext(RequestScoped.class, requestEvent);
+        getInstance(AsyncRequestBean.class).setValue("timeout");
+        request.startAsync();
+        contextsService.endContext(RequestScoped.class, requestEvent);
+        Assert.assertFalse(AsyncRequestBean.destroyed);
+
+        // nobody completes the async cycle in time
+        request.timeout();
+        Assert.assertTrue(AsyncRequestBean.destroyed);
+        Assert.assertNull(request.getAttribute("openWebBeansAsyncRequestContext"));
+        Assert.assertNull(contextsService.getRequestContext(false));
+
+        // a container completing the cycle after the timeout must not fail
+        AsyncRequestBean.destroyed = false;
+        request.complete();
+        Assert.assertFalse(AsyncRequestBean.destroyed);
+        Assert.assertNull(contextsService.getRequestContext(false));
+    }
+
+    @Test
+    public void testSynchronousRequestGetsDestroyed()
+    {
+        startContainer(AsyncRequestBean.class);
+
+        WebContextsService contextsService = (WebContextsService) getWebBeansContext().getContextsService();
+        contextsService.endContext(RequestScoped.class, null);
+
+        AsyncServletRequest request = new AsyncServletRequest();
+        ServletRequestEvent requestEvent = new ServletRequestEvent(new MockServletContext(), request);
+
+        AsyncRequestBean.destroyed = false;
+        contextsService.startContext(RequestScoped.class, requestEvent);
+        getInstance(AsyncRequestBean.class).setValue("sync");
+        contextsService.endContext(RequestScoped.class, requestEvent);
+
+        Assert.assertTrue(AsyncRequestBean.destroyed);
+        Assert.assertNull(request.getAttribute("openWebBeansAsyncRequestContext"));
+    }
+
+
+    @Test
+    public void testRequestEndNotifiedOnAnotherThread() throws Exception
+    {
+        startContainer(AsyncRequestBean.class);
+
+        final WebContextsService contextsService = (WebContextsService) getWebBeansContext().getContextsService();
+        contextsService.endContext(RequestScoped.class, null);
+
+        final AsyncServletRequest request = new AsyncServletRequest();
+        final ServletRequestEvent requestEvent = new ServletRequestEvent(new MockServletContext(), request);
+
+        AsyncRequestBean.destroyed = false;
+        contextsService.startContext(RequestScoped.class, requestEvent);
+        ServletRequestContext requestContext = contextsService.getRequestContext(false);
+        getInstance(AsyncRequestBean.class).setValue("deferred");
+
+        // the container neither suspends the context nor notifies the end of the dispatch on this thread
+        request.startAsync();
+
+        final AtomicReference<String> value = new AtomicReference<>();
+        Thread worker = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                contextsService.resumeRequestContext(request);
+                try
+                {
+                    value.set(getInstance(AsyncRequestBean.class).getValue());
+                }
+                finally
+                {
+                    contextsService.detachRequestContext();
+                }
+            }
+        };
+        worker.start();
+        worker.join();
+        Assert.assertEquals("deferred", value.get());
+
+        // once the async cycle completed the container notifies the end of the request on yet another thread
+        request.complete();
+        Assert.assertFalse(AsyncRequestBean.destroyed);
+        Thread containerThread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                contextsService.endContext(RequestScoped.class, requestEvent);
+            }
+        };
+        containerThread.start();
+        containerThread.join();
+        Assert.assertTrue(AsyncRequestBean.destroyed);
+        Assert.assertNull(request.getAttribute("openWebBeansAsyncRequestContext"));
+
+        // the next request on the original thread must not see the stale context
+        ServletRequestEvent nextRequestEvent = new ServletRequestEvent(new MockServletContext(), new AsyncServletRequest());
+        contextsService.startContext(RequestScoped.class, nextRequestEvent);
+        Assert.assertNotSame(requestContext, contextsService.getRequestContext(false));
+        Assert.assertNull(getInstance(AsyncRequestBean.class).getValue());
+        contextsService.endContext(RequestScoped.class, nextRequestEvent);
+    }
+
+    @Test
+    public void testTimeoutRestoresTheContextsOfTheCurrentThread()
+    {
+        startContainer(AsyncRequestBean.class);
+
+        WebContextsService contextsService = (WebContextsService) getWebBeansContext().getContextsService();
+        contextsService.endContext(RequestScoped.class, null);
+
+        AsyncServletRequest request = new AsyncServletRequest();
+        ServletRequestEvent requestEvent = new ServletRequestEvent(new MockServletContext(), request);
+
+        AsyncRequestBean.destroyed = false;
+        contextsService.startContext(RequestScoped.class, requestEvent);
+        contextsService.startContext(SessionScoped.class, new MockHttpSession());
+        Context asyncSessionContext = contextsService.getCurrentContext(SessionScoped.class, false);
+        getInstance(AsyncRequestBean.class).setValue("timeout");
+        request.startAsync();
+        contextsService.endContext(RequestScoped.class, requestEvent);
+
+        // the container thread serves another request of another session when the async request times out
+        ServletRequestEvent otherRequestEvent = new ServletRequestEvent(new MockServletContext(), new AsyncServletRequest());
+        contextsService.startContext(RequestScoped.class, otherRequestEvent);
+        contextsService.startContext(SessionScoped.class, new MockHttpSession());
+        ServletRequestContext otherRequestContext = contextsService.getRequestContext(false);
+        Context otherSessionContext = contextsService.getCurrentContext(SessionScoped.class, false);
+        Assert.assertNotSame(asyncSessionContext, otherSessionContext);
+
+        request.timeout();
+        Assert.assertTrue(AsyncRequestBean.destroyed);
+        Assert.assertSame(asyncSessionContext, AsyncRequestBean.sessionContextOnDestroy);
+
+        Assert.assertSame(otherRequestContext, contextsService.getRequestContext(false));
+        Assert.assertSame(otherSessionContext, contextsService.getCurrentContext(SessionScoped.class, false));
+        contextsService.endContext(RequestScoped.class, otherRequestEvent);
+    }
+
+
+    @RequestScoped
+    public static class AsyncRequestBean
+    {
+        public static boolean destroyed = false;
+        public static Context sessionContextOnDestroy;
+
+        private String value;
+
+        public String getValue()
+        {
+            return value;
+        }
+
+        public void setValue(String value)
+        {
+            this.value = value;
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed = true;
+            sessionContextOnDestroy = WebBeansContext.currentInstance().getContextsService().getCurrentContext(SessionScoped.class, false);
+        }
+    }
+
+    private static class AsyncServletRequest extends MockServletRequest implements AsyncContext
+    {
+        private final Map<String, Object> attributes = new HashMap<>();
+        private List<AsyncListener> listeners = new ArrayList<>();
+        private boolean asyncStarted;
+
+        @Override
+        public Object getAttribute(String name)
+        {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object o)
+        {
+            attributes.put(name, o);
+        }
+
+        @Override
+        public void removeAttribute(String name)
+        {
+            attributes.remove(name);
+        }
+
+        @Override
+        public boolean isAsyncStarted()
+        {
+            return asyncStarted;
+        }
+
+        @Override
+        public boolean isAsyncSupported()
+        {
+            return true;
+        }
+
+        @Override
+        public AsyncContext getAsyncContext()
+        {
+            return this;
+        }
+
+        @Override
+        public AsyncContext startAsync()
+        {
+            asyncStarted = true;
+
+            List<AsyncListener> previousListeners = listeners;
+            listeners = new ArrayList<>();
+            for (AsyncListener listener : previousListeners)
+            {
+                try
+                {
+                    listener.onStartAsync(new AsyncEvent(this));
+                }
+                catch (IOException e)
+                {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public ServletRequest getRequest()
+        {
+            return this;
+        }
+
+        @Override
+        public ServletResponse getResponse()
+        {
+            return null;
+        }
+
+        @Override
+        public boolean hasOriginalRequestAndResponse()
+        {
+            return true;
+        }
+
+        @Override
+        public void dispatch()
+        {
+        }
+
+        @Override
+        public void dispatch(String path)
+        {
+        }
+
+        @Override
+        public void dispatch(ServletContext context, String path)
+        {
+        }
+
+        @Override
+        public void complete()
+        {
+            asyncStarted = false;
+            for (AsyncListener listener : listeners)
+            {
+                try
+                {
+                    listener.onComplete(new AsyncEvent(this));
+                }
+                catch (IOException e)
+                {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        public void timeout()
+        {
+            for (AsyncListener listener : listeners)
+            {
+                try
+                {
+                    listener.onTimeout(new AsyncEvent(this));
+                }
+                catch (IOException e)
+                {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public void start(Runnable run)
+        {
+            run.run();
+        }
+
+        @Override
+        public void addListener(AsyncListener listener)
+        {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void addListener(AsyncListener listener, ServletRequest servletRequest, ServletResponse servletResponse)
+        {
+            listeners.add(listener);
+        }
+
+        @Override
+        public <T extends AsyncListener> T createListener(Class<T> clazz)
+        {
+            return null;
+        }
+
+        @Override
+        public void setTimeout(long timeout)
+        {
+        }
+
+        @Override
+        public long getTimeout()
+        {
+            return 0;
+        }
+    }
+}